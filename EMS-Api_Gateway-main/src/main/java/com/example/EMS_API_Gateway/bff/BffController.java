@@ -0,0 +1,118 @@
+package com.example.EMS_API_Gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Backend-for-frontend endpoints: each one fans out to the services in parallel
+ * and returns a single merged document, so a dashboard screen costs one client
+ * round trip instead of a chain of sequential calls.
+ *
+ * The caller's Authorization header is forwarded to every leg, so each service
+ * still does its own authorization. The screen is useless without the primary
+ * leg (the employee / profile), so if that fails the composite fails too: a
+ * downstream error status is returned as-is, a timeout as 504 and an unreachable
+ * service as 502. Failures of the other legs only mark the response as partial.
+ */
+@RestController
+@RequestMapping("/bff")
+public class BffController {
+
+	private final WebClient backend;
+	private final WebClient experience;
+	private final Duration legTimeout;
+
+	public BffController(WebClient.Builder webClientBuilder,
+	                     @Value("${bff.backend-url}") String backendUrl,
+	                     @Value("${bff.experience-url}") String experienceUrl,
+	                     @Value("${bff.leg-timeout-ms:2000}") long legTimeoutMs) {
+		this.backend = webClientBuilder.clone().baseUrl(backendUrl).build();
+		this.experience = webClientBuilder.clone().baseUrl(experienceUrl).build();
+		this.legTimeout = Duration.ofMillis(legTimeoutMs);
+	}
+
+	// Admin "open employee": details + experience list + tech-stack summary
+	@GetMapping("/employees/{id}")
+	public Mono<ResponseEntity<CompositeResponse>> employeeDetails(
+			@PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+
+		return compose(
+				fetch(backend, "employee", "/api/employees/{id}", id, authorization),
+				List.of(
+						fetch(experience, "experience", "/api/experience/employee/{id}", id, authorization),
+						fetch(experience, "summary", "/api/experience/employee/summary/{id}", id, authorization)));
+	}
+
+	// User dashboard: own profile + own experience
+	@GetMapping("/me")
+	public Mono<ResponseEntity<CompositeResponse>> me(
+			@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+
+		return compose(
+				fetch(backend, "profile", "/api/profile/me", null, authorization),
+				List.of(fetch(experience, "experience", "/api/experience/me", null, authorization)));
+	}
+
+	private Mono<ResponseEntity<CompositeResponse>> compose(Mono<LegResult> primary, List<Mono<LegResult>> secondary) {
+		List<Mono<LegResult>> legs = new ArrayList<>();
+		legs.add(primary);
+		legs.addAll(secondary);
+
+		return Mono.zip(legs, results -> results)
+				.map(results -> {
+					CompositeResponse response = new CompositeResponse();
+					for (Object result : results) {
+						response.add((LegResult) result);
+					}
+
+					LegResult head = (LegResult) results[0];
+					if (head.getError() != null) {
+						return ResponseEntity.status(head.getStatus()).body(response);
+					}
+					return ResponseEntity.ok(response);
+				});
+	}
+
+	private Mono<LegResult> fetch(WebClient client, String name, String path, Long id, String authorization) {
+		return client.get()
+				.uri(path, id == null ? new Object[0] : new Object[]{id})
+				.headers(headers -> {
+					if (authorization != null) {
+						headers.set(HttpHeaders.AUTHORIZATION, authorization);
+					}
+				})
+				.retrieve()
+				.bodyToMono(JsonNode.class)
+				.timeout(legTimeout)
+				.map(body -> LegResult.ok(name, body))
+				.defaultIfEmpty(LegResult.ok(name, null))
+				.onErrorResume(e -> Mono.just(failure(name, e)));
+	}
+
+	private static LegResult failure(String name, Throwable e) {
+		if (e instanceof WebClientResponseException responseError) {
+			return LegResult.failed(name, "HTTP " + responseError.getStatusCode().value(), responseError.getStatusCode());
+		}
+		if (e instanceof TimeoutException) {
+			return LegResult.failed(name, "timeout", HttpStatus.GATEWAY_TIMEOUT);
+		}
+		return LegResult.failed(name, "unavailable", HttpStatus.BAD_GATEWAY);
+	}
+}
@@ -0,0 +1,35 @@
+package com.example.EMS_API_Gateway.bff;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One screen's worth of data merged from several downstream calls.
+ * A leg that failed or timed out is left null and described in {@code errors};
+ * {@code partial} is true whenever at least one leg is missing. A missing
+ * primary leg fails the whole request (see BffController), so it is never null
+ * in a 200 response.
+ */
+public class CompositeResponse {
+
+	private final Map<String, JsonNode> data = new LinkedHashMap<>();
+	private final Map<String, String> errors = new LinkedHashMap<>();
+
+	// Each leg is serialized as a top-level field named after it
+	@JsonAnyGetter
+	public Map<String, JsonNode> getData() { return data; }
+
+	public Map<String, String> getErrors() { return errors; }
+
+	public boolean isPartial() { return !errors.isEmpty(); }
+
+	void add(LegResult leg) {
+		data.put(leg.getName(), leg.getBody());
+		if (leg.getError() != null) {
+			errors.put(leg.getName(), leg.getError());
+		}
+	}
+}
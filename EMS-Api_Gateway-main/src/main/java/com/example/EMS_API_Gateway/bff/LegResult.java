@@ -0,0 +1,39 @@
+package com.example.EMS_API_Gateway.bff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Outcome of one downstream call: either a body or an error description.
+ */
+class LegResult {
+
+	private final String name;
+	private final JsonNode body;
+	private final String error;
+	private final HttpStatusCode status;
+
+	private LegResult(String name, JsonNode body, String error, HttpStatusCode status) {
+		this.name = name;
+		this.body = body;
+		this.error = error;
+		this.status = status;
+	}
+
+	static LegResult ok(String name, JsonNode body) {
+		return new LegResult(name, body, null, null);
+	}
+
+	static LegResult failed(String name, String error, HttpStatusCode status) {
+		return new LegResult(name, null, error, status);
+	}
+
+	String getName() { return name; }
+
+	JsonNode getBody() { return body; }
+
+	String getError() { return error; }
+
+	// Downstream status for HTTP errors, 504 for timeouts, 502 for connection failures; null on success
+	HttpStatusCode getStatus() { return status; }
+}
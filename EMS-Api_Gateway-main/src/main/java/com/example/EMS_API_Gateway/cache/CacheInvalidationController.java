@@ -0,0 +1,112 @@
+package com.example.EMS_API_Gateway.cache;
+
+import com.example.EMS_API_Gateway.security.InternalAuthHeaders;
+import com.example.EMS_API_Gateway.security.RevokedTokens;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purge hook for the services: after a committed write they POST the path
+ * prefixes that changed, e.g. {"prefixes":["/ems/api/employees"],"timestamp":1700000000}.
+ * The backend also sends "revocations":[{"subject":"jdoe","issuedBefore":1700000000}]
+ * after a password change or deletion, recorded in {@link RevokedTokens}.
+ *
+ * The raw body is HMAC-signed with GATEWAY_SIGNING_SECRET (same scheme as
+ * {@link InternalAuthHeaders}) and must be recent; without a secret the
+ * endpoint answers 404.
+ */
+@RestController
+@RequestMapping("/internal/cache")
+public class CacheInvalidationController {
+
+	public static final String SIGNATURE_HEADER = "X-Cache-Signature";
+
+	private static final long MAX_SKEW_SECONDS = 300;
+
+	private final GatewayResponseCache cache;
+	private final RevokedTokens revokedTokens;
+	private final ObjectMapper objectMapper;
+	private final byte[] signingSecret;
+	private final Clock clock;
+
+	public CacheInvalidationController(GatewayResponseCache cache,
+	                                   RevokedTokens revokedTokens,
+	                                   ObjectMapper objectMapper,
+	                                   @Value("${gateway.internal-auth.signing-secret:}") String signingSecret) {
+		this(cache, revokedTokens, objectMapper, signingSecret, Clock.systemUTC());
+	}
+
+	CacheInvalidationController(GatewayResponseCache cache, RevokedTokens revokedTokens, ObjectMapper objectMapper,
+	                            String signingSecret, Clock clock) {
+		this.cache = cache;
+		this.revokedTokens = revokedTokens;
+		this.objectMapper = objectMapper;
+		this.signingSecret = signingSecret.getBytes(StandardCharsets.UTF_8);
+		this.clock = clock;
+	}
+
+	@PostMapping("/invalidate")
+	public ResponseEntity<Map<String, Integer>> invalidate(
+			@RequestBody String body,
+			@RequestHeader(value = SIGNATURE_HEADER, required = false) String signature) {
+
+		if (signingSecret.length == 0) {
+			return ResponseEntity.notFound().build();
+		}
+		if (signature == null || !MessageDigest.isEqual(
+				InternalAuthHeaders.sign(signingSecret, body).getBytes(StandardCharsets.UTF_8),
+				signature.getBytes(StandardCharsets.UTF_8))) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		InvalidationRequest request;
+		try {
+			request = objectMapper.readValue(body, InvalidationRequest.class);
+		} catch (JsonProcessingException e) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		long now = clock.instant().getEpochSecond();
+		if (Math.abs(now - request.timestamp) > MAX_SKEW_SECONDS) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+
+		if (request.revocations != null) {
+			for (Revocation revocation : request.revocations) {
+				if (revocation != null && revocation.subject != null) {
+					revokedTokens.revoke(revocation.subject, revocation.issuedBefore);
+				}
+			}
+		}
+
+		List<String> prefixes = request.prefixes == null ? List.of()
+				: request.prefixes.stream().filter(prefix -> prefix != null && prefix.startsWith("/")).toList();
+		int removed = prefixes.isEmpty() ? 0 : cache.invalidatePrefixes(prefixes);
+		return ResponseEntity.ok(Map.of("removed", removed));
+	}
+
+	static class InvalidationRequest {
+		public List<String> prefixes;
+		public List<Revocation> revocations;
+		public long timestamp;
+	}
+
+	static class Revocation {
+		public String subject;
+		public long issuedBefore;
+	}
+}
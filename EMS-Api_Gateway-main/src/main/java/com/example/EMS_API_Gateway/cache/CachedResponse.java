@@ -0,0 +1,30 @@
+package com.example.EMS_API_Gateway.cache;
+
+import org.springframework.http.MediaType;
+
+/**
+ * A successful GET response body held by {@link GatewayResponseCache}.
+ */
+public class CachedResponse {
+
+	private final String path;
+	private final MediaType contentType;
+	private final byte[] body;
+	private final String etag;
+
+	public CachedResponse(String path, MediaType contentType, byte[] body, String etag) {
+		this.path = path;
+		this.contentType = contentType;
+		this.body = body;
+		this.etag = etag;
+	}
+
+	// Request path without query; invalidation matches on its prefix
+	public String getPath() { return path; }
+
+	public MediaType getContentType() { return contentType; }
+
+	public byte[] getBody() { return body; }
+
+	public String getEtag() { return etag; }
+}
@@ -0,0 +1,96 @@
+package com.example.EMS_API_Gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * In-memory store for cached GET responses.
+ *
+ * Bounded by total body bytes rather than entry count, with a write TTL;
+ * Caffeine evicts by recency/frequency once the byte budget is reached.
+ * Services purge entries through {@link CacheInvalidationController}.
+ */
+@Component
+public class GatewayResponseCache {
+
+	// Rough per-entry overhead (key, headers, object headers) added to the body size
+	private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+	private final Cache<String, CachedResponse> responses;
+	private final int maxEntryBytes;
+
+	public GatewayResponseCache(@Value("${gateway.cache.max-bytes:67108864}") long maxBytes,
+	                            @Value("${gateway.cache.max-entry-bytes:1048576}") int maxEntryBytes,
+	                            @Value("${gateway.cache.ttl-ms:30000}") long ttlMs,
+	                            MeterRegistry meterRegistry) {
+		this.maxEntryBytes = maxEntryBytes;
+		this.responses = Caffeine.newBuilder()
+				.maximumWeight(maxBytes)
+				.weigher((String key, CachedResponse value) -> value.getBody().length + key.length() + ENTRY_OVERHEAD_BYTES)
+				.expireAfterWrite(Duration.ofMillis(ttlMs))
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, responses, "gateway.responses");
+	}
+
+	public CachedResponse get(String key) {
+		return responses.getIfPresent(key);
+	}
+
+	public void put(String key, CachedResponse response) {
+		responses.put(key, response);
+	}
+
+	public boolean fits(int bodyBytes) {
+		return bodyBytes <= maxEntryBytes;
+	}
+
+	/**
+	 * Drops every entry whose path starts with one of the prefixes.
+	 *
+	 * @return number of entries removed
+	 */
+	public int invalidatePrefixes(Collection<String> prefixes) {
+		int removed = 0;
+		Iterator<CachedResponse> entries = responses.asMap().values().iterator();
+		while (entries.hasNext()) {
+			String path = entries.next().getPath();
+			if (prefixes.stream().anyMatch(path::startsWith)) {
+				entries.remove();
+				removed++;
+			}
+		}
+		return removed;
+	}
+
+	// Strong validator: a quoted digest of the exact body bytes
+	public static String etagFor(byte[] body) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+			return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	// role|path?query - responses differ by role, never by the individual user on cached paths
+	static String key(String role, String path, String query) {
+		StringBuilder key = new StringBuilder(role).append('|').append(path);
+		if (query != null && !query.isEmpty()) {
+			key.append('?').append(query);
+		}
+		return key.toString();
+	}
+}
@@ -0,0 +1,174 @@
+package com.example.EMS_API_Gateway.cache;
+
+import com.example.EMS_API_Gateway.security.JwtAuthGlobalFilter;
+import com.example.EMS_API_Gateway.security.RequestIdentity;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves repeated dashboard GETs from {@link GatewayResponseCache}.
+ *
+ * Only {@link RoleScopedPaths} are considered, and only when the caller is
+ * either anonymous or carries a token the gateway has verified: the key is
+ * role + path + query.
+ * Every cached response carries a strong ETag; a matching If-None-Match gets
+ * a 304 straight from the gateway, on both hits and misses.
+ */
+@Component
+public class ResponseCacheGlobalFilter implements GlobalFilter, Ordered {
+
+	// Runs after JwtAuthGlobalFilter so the verified role is available
+	public static final int ORDER = JwtAuthGlobalFilter.ORDER + 10;
+
+	public static final String CACHE_HEADER = "X-Cache";
+
+	private final GatewayResponseCache cache;
+	private final RoleScopedPaths paths;
+	private final boolean enabled;
+
+	public ResponseCacheGlobalFilter(GatewayResponseCache cache,
+	                                 RoleScopedPaths paths,
+	                                 @Value("${gateway.cache.enabled:true}") boolean enabled) {
+		this.cache = cache;
+		this.paths = paths;
+		this.enabled = enabled;
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		ServerHttpRequest request = exchange.getRequest();
+		if (!enabled || request.getMethod() != HttpMethod.GET || !paths.matches(request.getPath().pathWithinApplication())) {
+			return chain.filter(exchange);
+		}
+
+		String role = RequestIdentity.role(exchange);
+		if (role == null) {
+			return chain.filter(exchange);
+		}
+
+		String path = request.getPath().value();
+		String key = GatewayResponseCache.key(role, path, request.getURI().getRawQuery());
+
+		CachedResponse cached = cache.get(key);
+		if (cached != null) {
+			return writeHit(exchange, cached);
+		}
+		return chain.filter(exchange.mutate().response(new CachingResponse(exchange, key, path)).build());
+	}
+
+	private Mono<Void> writeHit(ServerWebExchange exchange, CachedResponse cached) {
+		ServerHttpResponse response = exchange.getResponse();
+		HttpHeaders headers = response.getHeaders();
+		headers.setETag(cached.getEtag());
+		headers.setCacheControl("no-cache");
+		headers.set(CACHE_HEADER, "HIT");
+
+		if (notModified(exchange.getRequest(), cached.getEtag())) {
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			return response.setComplete();
+		}
+
+		response.setStatusCode(HttpStatus.OK);
+		if (cached.getContentType() != null) {
+			headers.setContentType(cached.getContentType());
+		}
+		headers.setContentLength(cached.getBody().length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+	}
+
+	static boolean notModified(ServerHttpRequest request, String etag) {
+		for (String candidate : request.getHeaders().getIfNoneMatch()) {
+			// If-None-Match uses weak comparison, so W/"x" matches "x"
+			String value = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+			if (value.equals("*") || value.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Buffers a cacheable upstream body, stores it and answers with an ETag.
+	 * Non-200s, oversized bodies and responses marked private or setting cookies pass through
+	 * untouched. no-store is not honoured: Spring Security stamps it on every service response,
+	 * and the paths here are opted in explicitly.
+	 */
+	private class CachingResponse extends ServerHttpResponseDecorator {
+
+		private final ServerWebExchange exchange;
+		private final String key;
+		private final String path;
+
+		CachingResponse(ServerWebExchange exchange, String key, String path) {
+			super(exchange.getResponse());
+			this.exchange = exchange;
+			this.key = key;
+			this.path = path;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			if (!storable()) {
+				return super.writeWith(body);
+			}
+
+			return DataBufferUtils.join(body).flatMap(joined -> {
+				byte[] bytes = new byte[joined.readableByteCount()];
+				joined.read(bytes);
+				DataBufferUtils.release(joined);
+
+				HttpHeaders headers = getHeaders();
+				if (cache.fits(bytes.length)) {
+					String etag = GatewayResponseCache.etagFor(bytes);
+					cache.put(key, new CachedResponse(path, headers.getContentType(), bytes, etag));
+					headers.setETag(etag);
+					headers.setCacheControl("no-cache");
+
+					if (notModified(exchange.getRequest(), etag)) {
+						headers.remove(HttpHeaders.CONTENT_LENGTH);
+						headers.set(CACHE_HEADER, "MISS");
+						setStatusCode(HttpStatus.NOT_MODIFIED);
+						return getDelegate().setComplete();
+					}
+				}
+
+				headers.set(CACHE_HEADER, "MISS");
+				headers.setContentLength(bytes.length);
+				return getDelegate().writeWith(Mono.just(bufferFactory().wrap(bytes)));
+			});
+		}
+
+		private boolean storable() {
+			if (!HttpStatus.OK.equals(getStatusCode())) {
+				return false;
+			}
+			HttpHeaders headers = getHeaders();
+			long declaredLength = headers.getContentLength();
+			if (declaredLength >= 0 && !cache.fits((int) Math.min(declaredLength, Integer.MAX_VALUE))) {
+				return false;
+			}
+			String cacheControl = headers.getCacheControl();
+			return headers.get(HttpHeaders.SET_COOKIE) == null
+					&& (cacheControl == null || !cacheControl.contains("private"));
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.EMS_API_Gateway.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Paths whose responses depend only on the caller's role, never on the
+ * individual user (gateway.cache.paths). Responses for these may be shared
+ * between users of the same role, by the response cache and by request coalescing.
+ */
+@Component
+public class RoleScopedPaths {
+
+	// /me endpoints and the export stream are deliberately absent
+	private static final List<String> DEFAULT_PATHS = List.of(
+			"/ems/public/stats",
+			"/ems/api/employees",
+			"/ems/api/employees/{id:[0-9]+}",
+			"/experience/api/experience/filter",
+			"/experience/api/experience/employee/**");
+
+	private final List<PathPattern> patterns;
+
+	public RoleScopedPaths(@Value("${gateway.cache.paths:}") List<String> paths) {
+		List<String> configured = paths.stream().filter(path -> !path.isBlank()).toList();
+		this.patterns = (configured.isEmpty() ? DEFAULT_PATHS : configured).stream()
+				.map(PathPatternParser.defaultInstance::parse)
+				.toList();
+	}
+
+	public boolean matches(PathContainer path) {
+		for (PathPattern pattern : patterns) {
+			if (pattern.matches(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
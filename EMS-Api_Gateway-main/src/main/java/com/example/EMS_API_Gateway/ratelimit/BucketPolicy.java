@@ -0,0 +1,14 @@
+package com.example.EMS_API_Gateway.ratelimit;
+
+/**
+ * Token-bucket budget: up to {@code capacity} requests in a burst, refilled
+ * continuously at {@code refillPerSecond}.
+ */
+public record BucketPolicy(long capacity, double refillPerSecond) {
+
+	public BucketPolicy {
+		if (capacity < 1 || refillPerSecond <= 0) {
+			throw new IllegalArgumentException("Rate limit needs capacity >= 1 and a positive refill rate");
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.example.EMS_API_Gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets in gateway memory.
+ *
+ * Each bucket is an immutable (tokens, updatedAt) pair swapped with CAS; tokens
+ * are refilled lazily from the elapsed time on every call, so there is no
+ * background refill task. Idle buckets expire, which is equivalent to them
+ * having refilled as long as the idle expiry exceeds the time to fill.
+ * Budgets are per instance; with N gateways a client gets up to N times the budget.
+ */
+@Component
+public class InMemoryTokenBucketStore implements RateLimitStore {
+
+	private record Bucket(double tokens, long updatedAtMillis) {
+	}
+
+	private final Cache<String, AtomicReference<Bucket>> buckets;
+	private final LongSupplier clockMillis;
+
+	@Autowired
+	public InMemoryTokenBucketStore(@Value("${gateway.rate-limit.max-buckets:100000}") long maxBuckets,
+	                                @Value("${gateway.rate-limit.idle-expiry-ms:600000}") long idleExpiryMs) {
+		this(maxBuckets, idleExpiryMs, System::currentTimeMillis);
+	}
+
+	InMemoryTokenBucketStore(long maxBuckets, long idleExpiryMs, LongSupplier clockMillis) {
+		this.clockMillis = clockMillis;
+		this.buckets = Caffeine.newBuilder()
+				.maximumSize(maxBuckets)
+				.expireAfterAccess(Duration.ofMillis(idleExpiryMs))
+				.build();
+	}
+
+	@Override
+	public RateLimitDecision tryConsume(String key, BucketPolicy policy) {
+		AtomicReference<Bucket> ref = buckets.get(key,
+				k -> new AtomicReference<>(new Bucket(policy.capacity(), clockMillis.getAsLong())));
+
+		while (true) {
+			Bucket current = ref.get();
+			long now = Math.max(clockMillis.getAsLong(), current.updatedAtMillis());
+			double elapsedSeconds = (now - current.updatedAtMillis()) / 1000.0;
+			double tokens = Math.min(policy.capacity(), current.tokens() + elapsedSeconds * policy.refillPerSecond());
+
+			if (tokens < 1) {
+				// Nothing to take; the state doesn't need to change since refill is computed from time
+				long retryAfter = (long) Math.ceil((1 - tokens) / policy.refillPerSecond());
+				return new RateLimitDecision(false, policy.capacity(), 0, Math.max(1, retryAfter),
+						resetSeconds(tokens, policy));
+			}
+
+			Bucket next = new Bucket(tokens - 1, now);
+			if (ref.compareAndSet(current, next)) {
+				return new RateLimitDecision(true, policy.capacity(), (long) Math.floor(next.tokens()), 0,
+						resetSeconds(next.tokens(), policy));
+			}
+		}
+	}
+
+	private static long resetSeconds(double tokens, BucketPolicy policy) {
+		return (long) Math.ceil((policy.capacity() - tokens) / policy.refillPerSecond());
+	}
+}
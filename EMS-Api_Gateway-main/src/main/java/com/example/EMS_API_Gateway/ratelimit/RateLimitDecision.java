@@ -0,0 +1,13 @@
+package com.example.EMS_API_Gateway.ratelimit;
+
+/**
+ * Outcome of one {@link RateLimitStore#tryConsume} call.
+ *
+ * @param allowed           whether the request may proceed
+ * @param limit             bucket capacity
+ * @param remaining         whole tokens left after this request
+ * @param retryAfterSeconds when denied, seconds until one token is available
+ * @param resetSeconds      seconds until the bucket is full again
+ */
+public record RateLimitDecision(boolean allowed, long limit, long remaining, long retryAfterSeconds, long resetSeconds) {
+}
@@ -0,0 +1,162 @@
+package com.example.EMS_API_Gateway.ratelimit;
+
+import com.example.EMS_API_Gateway.security.JwtAuthGlobalFilter;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-route token-bucket rate limiting.
+ *
+ * Budgets come from route metadata, so only routes that declare one are limited:
+ * <pre>
+ * metadata.rate-limit-capacity=10            burst size
+ * metadata.rate-limit-refill-per-second=0.2  sustained rate
+ * metadata.rate-limit-key=ip|subject         subject = verified JWT subject, falling back to IP
+ * </pre>
+ * The metadata is read once, from the configured route definitions, so a bad
+ * value stops the gateway at startup instead of failing requests. Every limited
+ * response carries X-RateLimit-Limit / -Remaining / -Reset; a request over budget
+ * gets 429 with Retry-After and never reaches the service.
+ */
+@Component
+public class RateLimitGlobalFilter implements GlobalFilter, Ordered {
+
+	// After JWT verification (subject keys), before the response cache and coalescing
+	public static final int ORDER = JwtAuthGlobalFilter.ORDER + 5;
+
+	public static final String CAPACITY_METADATA = "rate-limit-capacity";
+	public static final String REFILL_METADATA = "rate-limit-refill-per-second";
+	public static final String KEY_METADATA = "rate-limit-key";
+
+	public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String RESET_HEADER = "X-RateLimit-Reset";
+
+	private final RateLimitStore store;
+	private final MeterRegistry meterRegistry;
+	private final RemoteAddressResolver addressResolver;
+	private final boolean enabled;
+	private final Map<String, RouteBudget> budgets = new HashMap<>();
+
+	private record RouteBudget(BucketPolicy policy, boolean bySubject) {
+	}
+
+	public RateLimitGlobalFilter(RateLimitStore store,
+	                             MeterRegistry meterRegistry,
+	                             GatewayProperties gatewayProperties,
+	                             @Value("${gateway.rate-limit.enabled:true}") boolean enabled,
+	                             @Value("${gateway.rate-limit.trusted-proxies:0}") int trustedProxies) {
+		this.store = store;
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		for (RouteDefinition route : gatewayProperties.getRoutes()) {
+			RouteBudget budget = budget(route.getId(), route.getMetadata());
+			if (budget != null) {
+				budgets.put(route.getId(), budget);
+			}
+		}
+		// Behind N proxies, trust the last N X-Forwarded-For entries; otherwise use the socket address
+		this.addressResolver = trustedProxies > 0
+				? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+				: new RemoteAddressResolver() { };
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (!enabled || route == null) {
+			return chain.filter(exchange);
+		}
+		RouteBudget budget = budgets.get(route.getId());
+		if (budget == null) {
+			return chain.filter(exchange);
+		}
+
+		String key = route.getId() + "|" + clientKey(exchange, budget.bySubject());
+		RateLimitDecision decision = store.tryConsume(key, budget.policy());
+
+		HttpHeaders headers = exchange.getResponse().getHeaders();
+		headers.set(LIMIT_HEADER, String.valueOf(decision.limit()));
+		headers.set(REMAINING_HEADER, String.valueOf(decision.remaining()));
+		headers.set(RESET_HEADER, String.valueOf(decision.resetSeconds()));
+
+		if (decision.allowed()) {
+			return chain.filter(exchange);
+		}
+
+		meterRegistry.counter("gateway.ratelimit.rejected", "route", route.getId()).increment();
+		return reject(exchange.getResponse(), decision);
+	}
+
+	private static RouteBudget budget(String routeId, Map<String, Object> metadata) {
+		Object capacity = metadata.get(CAPACITY_METADATA);
+		Object refill = metadata.get(REFILL_METADATA);
+		if (capacity == null && refill == null) {
+			return null;
+		}
+		Object keyType = metadata.getOrDefault(KEY_METADATA, "ip");
+		try {
+			if (capacity == null || refill == null) {
+				throw new IllegalArgumentException(CAPACITY_METADATA + " and " + REFILL_METADATA + " go together");
+			}
+			if (!"ip".equals(keyType.toString()) && !"subject".equals(keyType.toString())) {
+				throw new IllegalArgumentException(KEY_METADATA + " must be ip or subject, not " + keyType);
+			}
+			BucketPolicy policy = new BucketPolicy(Long.parseLong(capacity.toString().trim()),
+					Double.parseDouble(refill.toString().trim()));
+			return new RouteBudget(policy, "subject".equals(keyType.toString()));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid rate limit on route " + routeId + ": " + e.getMessage(), e);
+		}
+	}
+
+	private String clientKey(ServerWebExchange exchange, boolean bySubject) {
+		if (bySubject) {
+			Claims claims = exchange.getAttribute(JwtAuthGlobalFilter.CLAIMS_ATTRIBUTE);
+			if (claims != null && claims.getSubject() != null) {
+				return "sub:" + claims.getSubject();
+			}
+		}
+		InetSocketAddress address = addressResolver.resolve(exchange);
+		if (address == null) {
+			return "ip:unknown";
+		}
+		return "ip:" + (address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString());
+	}
+
+	private static Mono<Void> reject(ServerHttpResponse response, RateLimitDecision decision) {
+		response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+		response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+		response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+		DataBuffer body = response.bufferFactory().wrap("Too many requests".getBytes(StandardCharsets.UTF_8));
+		return response.writeWith(Mono.just(body));
+	}
+}
@@ -0,0 +1,14 @@
+package com.example.EMS_API_Gateway.ratelimit;
+
+/**
+ * Holds token-bucket state. The in-process {@link InMemoryTokenBucketStore} is
+ * the default; a shared implementation (e.g. Redis) can replace the bean when
+ * several gateway instances must share one budget.
+ */
+public interface RateLimitStore {
+
+	/**
+	 * Takes one token from the bucket for {@code key}, creating a full bucket on first use.
+	 */
+	RateLimitDecision tryConsume(String key, BucketPolicy policy);
+}
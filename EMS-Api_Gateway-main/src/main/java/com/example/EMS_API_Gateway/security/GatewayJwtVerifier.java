@@ -0,0 +1,124 @@
+package com.example.EMS_API_Gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies JWTs issued by ems-backend. Pure CPU work (no I/O), so it is safe to call
+ * on the event loop; repeated tokens are served from a claims cache keyed by
+ * SHA-256(token) with each entry expiring at the token's exp.
+ */
+@Component
+public class GatewayJwtVerifier {
+
+	// Tokens without an exp claim are re-verified at least this often
+	private static final long MAX_CACHE_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+
+	private final JwtParser parser;
+	private final Cache<String, Claims> claimsCache;
+
+	// Signature checks only (cache hits are counted under cache.gets{cache=gateway.jwt.claims})
+	private final Timer verifyValid;
+	private final Timer verifyInvalid;
+
+	public GatewayJwtVerifier(@Value("${gateway.jwt.secret:}") String secret,
+	                          @Value("${gateway.jwt.cache.max-size:10000}") long cacheMaxSize,
+	                          MeterRegistry meterRegistry) {
+		// Blank secret = verification disabled, requests pass through untouched
+		this.parser = secret.isBlank()
+				? null
+				: Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(secret.getBytes())).build();
+		this.claimsCache = Caffeine.newBuilder()
+				.maximumSize(cacheMaxSize)
+				.expireAfter(new UntilTokenExpiry())
+				.recordStats()
+				.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "gateway.jwt.claims");
+		this.verifyValid = Timer.builder("gateway.jwt.verify").tag("outcome", "valid").register(meterRegistry);
+		this.verifyInvalid = Timer.builder("gateway.jwt.verify").tag("outcome", "invalid").register(meterRegistry);
+	}
+
+	public boolean isEnabled() {
+		return parser != null;
+	}
+
+	/**
+	 * @throws io.jsonwebtoken.JwtException for expired, malformed or forged tokens (never cached)
+	 */
+	public Claims parseClaims(String token) {
+		String key = digest(token);
+		Claims cached = claimsCache.getIfPresent(key);
+		if (cached != null && !isExpired(cached)) {
+			return cached;
+		}
+		long start = System.nanoTime();
+		Claims claims;
+		try {
+			claims = parser.parseClaimsJws(token).getBody();
+		} catch (RuntimeException e) {
+			verifyInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			throw e;
+		}
+		verifyValid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		claimsCache.put(key, claims);
+		return claims;
+	}
+
+	Cache<String, Claims> claimsCache() {
+		return claimsCache;
+	}
+
+	private static boolean isExpired(Claims claims) {
+		Date exp = claims.getExpiration();
+		return exp != null && exp.before(new Date());
+	}
+
+	private static String digest(String token) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().withoutPadding().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+		@Override
+		public long expireAfterCreate(String key, Claims claims, long currentTime) {
+			Date exp = claims.getExpiration();
+			long ttlMs = exp == null
+					? MAX_CACHE_TTL_MS
+					: Math.max(0, exp.getTime() - System.currentTimeMillis());
+			return TimeUnit.MILLISECONDS.toNanos(ttlMs);
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, claims, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
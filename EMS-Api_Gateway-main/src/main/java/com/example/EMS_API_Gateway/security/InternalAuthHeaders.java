@@ -0,0 +1,56 @@
+package com.example.EMS_API_Gateway.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Identity headers the gateway attaches after verifying a JWT.
+ *
+ * The values are HMAC-SHA256 signed with GATEWAY_SIGNING_SECRET over a
+ * newline-joined canonical string, so downstream services can trust them
+ * without re-parsing the token. The services carry a matching verifier
+ * (GatewayHeaderVerifier); keep the two in sync.
+ */
+public final class InternalAuthHeaders {
+
+	public static final String PREFIX = "X-Auth-";
+
+	public static final String SUBJECT = "X-Auth-Subject";
+	public static final String ROLE = "X-Auth-Role";
+	public static final String EMPLOYEE_ID = "X-Auth-Employee-Id";
+	public static final String ISSUED_AT = "X-Auth-Issued-At";
+	public static final String EXPIRES = "X-Auth-Expires";
+	public static final String SIGNATURE = "X-Auth-Signature";
+
+	private InternalAuthHeaders() {
+	}
+
+	public static boolean isInternal(String headerName) {
+		return headerName.regionMatches(true, 0, PREFIX, 0, PREFIX.length());
+	}
+
+	// subject \n role \n employeeId \n issuedAt \n expires (epoch seconds, "" when absent)
+	public static String canonical(String subject, String role, String employeeId, String issuedAt, String expires) {
+		return String.join("\n",
+				nullToEmpty(subject), nullToEmpty(role), nullToEmpty(employeeId),
+				nullToEmpty(issuedAt), nullToEmpty(expires));
+	}
+
+	public static String sign(byte[] secret, String canonical) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+			byte[] signature = mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("HmacSHA256 not available", e);
+		}
+	}
+
+	private static String nullToEmpty(String value) {
+		return value == null ? "" : value;
+	}
+}
@@ -0,0 +1,143 @@
+package com.example.EMS_API_Gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Verifies the bearer token once at the edge.
+ *
+ * - Incoming X-Auth-* headers are always removed, so clients cannot forge an identity.
+ * - Invalid or expired tokens get a 401 here, without a hop to the backend, and so do
+ *   tokens revoked by a password change or deletion ({@link RevokedTokens}); this runs
+ *   before the response cache and single-flight, which would otherwise still serve them.
+ * - Valid tokens are forwarded with signed X-Auth-* identity headers (see
+ *   {@link InternalAuthHeaders}) when GATEWAY_SIGNING_SECRET is set.
+ *
+ * Requests without a bearer token pass through; the services decide what is public.
+ */
+@Component
+public class JwtAuthGlobalFilter implements GlobalFilter, Ordered {
+
+	public static final int ORDER = -100;
+
+	// Verified claims for later filters (e.g. the response cache keys on role)
+	public static final String CLAIMS_ATTRIBUTE = JwtAuthGlobalFilter.class.getName() + ".claims";
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final GatewayJwtVerifier verifier;
+	private final RevokedTokens revokedTokens;
+	private final byte[] signingSecret;
+
+	public JwtAuthGlobalFilter(GatewayJwtVerifier verifier,
+	                           RevokedTokens revokedTokens,
+	                           @Value("${gateway.internal-auth.signing-secret:}") String signingSecret) {
+		this.verifier = verifier;
+		this.revokedTokens = revokedTokens;
+		this.signingSecret = signingSecret.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		ServerHttpRequest request = exchange.getRequest();
+		String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+		if (!verifier.isEnabled() || authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+			return chain.filter(withHeaders(exchange, null));
+		}
+
+		Claims claims;
+		try {
+			claims = verifier.parseClaims(authHeader.substring(BEARER_PREFIX.length()));
+		} catch (ExpiredJwtException e) {
+			return reject(exchange, "Token expired");
+		} catch (JwtException | IllegalArgumentException e) {
+			return reject(exchange, "Invalid token");
+		}
+		if (revokedTokens.isRevoked(claims)) {
+			return reject(exchange, "Token revoked");
+		}
+
+		exchange.getAttributes().put(CLAIMS_ATTRIBUTE, claims);
+		return chain.filter(withHeaders(exchange, claims));
+	}
+
+	private ServerWebExchange withHeaders(ServerWebExchange exchange, Claims claims) {
+		ServerHttpRequest request = exchange.getRequest().mutate()
+				.headers(headers -> {
+					List<String> internal = new ArrayList<>();
+					for (String name : headers.keySet()) {
+						if (InternalAuthHeaders.isInternal(name)) {
+							internal.add(name);
+						}
+					}
+					internal.forEach(headers::remove);
+
+					if (claims != null && signingSecret.length > 0) {
+						addIdentity(headers, claims);
+					}
+				})
+				.build();
+		return exchange.mutate().request(request).build();
+	}
+
+	private void addIdentity(HttpHeaders headers, Claims claims) {
+		String subject = claims.getSubject();
+		String role = claims.get("role", String.class);
+		Long employeeId = claims.get("employeeId", Long.class);
+		String employeeIdValue = employeeId != null ? employeeId.toString() : null;
+		String issuedAt = epochSeconds(claims.getIssuedAt());
+		String expires = epochSeconds(claims.getExpiration());
+
+		String canonical = InternalAuthHeaders.canonical(subject, role, employeeIdValue, issuedAt, expires);
+
+		setIfPresent(headers, InternalAuthHeaders.SUBJECT, subject);
+		setIfPresent(headers, InternalAuthHeaders.ROLE, role);
+		setIfPresent(headers, InternalAuthHeaders.EMPLOYEE_ID, employeeIdValue);
+		setIfPresent(headers, InternalAuthHeaders.ISSUED_AT, issuedAt);
+		setIfPresent(headers, InternalAuthHeaders.EXPIRES, expires);
+		headers.set(InternalAuthHeaders.SIGNATURE, InternalAuthHeaders.sign(signingSecret, canonical));
+	}
+
+	private static void setIfPresent(HttpHeaders headers, String name, String value) {
+		if (value != null) {
+			headers.set(name, value);
+		}
+	}
+
+	private static String epochSeconds(Date date) {
+		return date != null ? String.valueOf(date.getTime() / 1000) : null;
+	}
+
+	private Mono<Void> reject(ServerWebExchange exchange, String message) {
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.UNAUTHORIZED);
+		response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+		DataBuffer body = response.bufferFactory().wrap(message.getBytes(StandardCharsets.UTF_8));
+		return response.writeWith(Mono.just(body));
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.EMS_API_Gateway.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * How a request is authorized, reduced to a string that can go into a key
+ * for sharing responses between requests.
+ */
+public final class RequestIdentity {
+
+	public static final String ANONYMOUS = "anonymous";
+
+	private RequestIdentity() {
+	}
+
+	/**
+	 * The caller's role as verified by {@link JwtAuthGlobalFilter}, {@link #ANONYMOUS}
+	 * without an Authorization header, or null when a token is present but the
+	 * gateway did not verify it.
+	 */
+	public static String role(ServerWebExchange exchange) {
+		if (exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION) == null) {
+			return ANONYMOUS;
+		}
+		Claims claims = exchange.getAttribute(JwtAuthGlobalFilter.CLAIMS_ATTRIBUTE);
+		if (claims == null) {
+			return null;
+		}
+		String role = claims.get("role", String.class);
+		return "role:" + (role != null ? role : "");
+	}
+
+	// Identical Authorization header = identical authorization downstream; hashed so tokens don't sit in keys
+	public static String credentials(ServerWebExchange exchange) {
+		String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		if (authorization == null) {
+			return ANONYMOUS;
+		}
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(authorization.getBytes(StandardCharsets.UTF_8));
+			return "auth:" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
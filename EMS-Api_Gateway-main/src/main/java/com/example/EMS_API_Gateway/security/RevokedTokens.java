@@ -0,0 +1,51 @@
+package com.example.EMS_API_Gateway.security;
+
+import com.example.EMS_API_Gateway.cache.CacheInvalidationController;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * Per-user "tokens issued before" marks, pushed by ems-backend through
+ * {@link CacheInvalidationController} when a user is deleted or their password changes.
+ *
+ * Cached and coalesced responses never reach the backend's own revocation check,
+ * so {@link JwtAuthGlobalFilter} rejects these tokens before either lookup.
+ * A mark is kept for the token lifetime, after which every token it covers has expired.
+ * In memory and best effort, like the purges that carry it.
+ */
+@Component
+public class RevokedTokens {
+
+	// subject -> epoch second; tokens issued in an earlier second are rejected
+	private final Cache<String, Long> issuedBefore;
+
+	public RevokedTokens(@Value("${gateway.jwt.revocation-ttl-ms:18000000}") long ttlMs) {
+		this.issuedBefore = Caffeine.newBuilder()
+				.expireAfterWrite(Duration.ofMillis(ttlMs))
+				.build();
+	}
+
+	public void revoke(String subject, long issuedBeforeEpochSecond) {
+		issuedBefore.asMap().merge(subject, issuedBeforeEpochSecond, Math::max);
+	}
+
+	/**
+	 * Same whole-second comparison as the backend, so a token issued right after
+	 * the reset (in the mark's second) is accepted.
+	 */
+	public boolean isRevoked(Claims claims) {
+		String subject = claims.getSubject();
+		Long mark = subject != null ? issuedBefore.getIfPresent(subject) : null;
+		if (mark == null) {
+			return false;
+		}
+		Date issuedAt = claims.getIssuedAt();
+		return issuedAt == null || issuedAt.getTime() / 1000 < mark;
+	}
+}
@@ -0,0 +1,27 @@
+package com.example.EMS_API_Gateway.singleflight;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * An upstream response captured by the leader of a coalesced request,
+ * replayed to every follower.
+ */
+public class SharedResponse {
+
+	private final HttpStatusCode status;
+	private final HttpHeaders headers;
+	private final byte[] body;
+
+	public SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+		this.status = status;
+		this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+		this.body = body;
+	}
+
+	public HttpStatusCode getStatus() { return status; }
+
+	public HttpHeaders getHeaders() { return headers; }
+
+	public byte[] getBody() { return body; }
+}
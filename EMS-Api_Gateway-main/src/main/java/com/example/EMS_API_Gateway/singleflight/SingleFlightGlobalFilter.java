@@ -0,0 +1,325 @@
+package com.example.EMS_API_Gateway.singleflight;
+
+import com.example.EMS_API_Gateway.cache.ResponseCacheGlobalFilter;
+import com.example.EMS_API_Gateway.security.RequestIdentity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses identical concurrent GETs into one upstream call.
+ *
+ * The first request for a key (the leader) goes upstream; requests arriving
+ * while it is in flight (followers) wait for its response and get a copy.
+ * Keys are method + path + query + the exact Authorization header. Not the role,
+ * even where the response cache shares by role: a follower never reaches the
+ * backend's revocation check, so it may only get a response made for its own token.
+ *
+ * Enabled per route with route metadata {@code single-flight: true}; the wait
+ * can be tuned with {@code single-flight-max-wait-ms}. Paths listed in
+ * gateway.single-flight.excluded-paths (the export stream by default) are never
+ * coalesced. If the leader fails, streams, returns an oversized body or the wait
+ * runs out, followers make their own upstream call instead.
+ *
+ * Metrics: gateway.singleflight.requests{route, role=leader|follower} (collapse
+ * ratio = follower / total) and gateway.singleflight.fallbacks{route}.
+ */
+@Component
+public class SingleFlightGlobalFilter implements GlobalFilter, Ordered {
+
+	// After the response cache: hits never reach here, and a leader's response still gets cached
+	public static final int ORDER = ResponseCacheGlobalFilter.ORDER + 10;
+
+	public static final String ENABLED_METADATA = "single-flight";
+	public static final String MAX_WAIT_METADATA = "single-flight-max-wait-ms";
+
+	private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+	private final Map<String, RouteMeters> meters = new ConcurrentHashMap<>();
+
+	private final MeterRegistry meterRegistry;
+	private final boolean enabled;
+	private final long defaultMaxWaitMs;
+	private final int maxBodyBytes;
+	private final List<PathPattern> excludedPaths;
+
+	public SingleFlightGlobalFilter(MeterRegistry meterRegistry,
+	                                @Value("${gateway.single-flight.enabled:true}") boolean enabled,
+	                                @Value("${gateway.single-flight.max-wait-ms:5000}") long defaultMaxWaitMs,
+	                                @Value("${gateway.single-flight.max-body-bytes:1048576}") int maxBodyBytes,
+	                                @Value("${gateway.single-flight.excluded-paths:/ems/api/employees/export}") List<String> excludedPaths) {
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.defaultMaxWaitMs = defaultMaxWaitMs;
+		this.maxBodyBytes = maxBodyBytes;
+		this.excludedPaths = excludedPaths.stream()
+				.filter(path -> !path.isBlank())
+				.map(PathPatternParser.defaultInstance::parse)
+				.toList();
+	}
+
+	@Override
+	public int getOrder() {
+		return ORDER;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		ServerHttpRequest request = exchange.getRequest();
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		if (!enabled || route == null || request.getMethod() != HttpMethod.GET
+				|| !Boolean.parseBoolean(String.valueOf(route.getMetadata().get(ENABLED_METADATA)))
+				|| excluded(request.getPath().pathWithinApplication())) {
+			return chain.filter(exchange);
+		}
+
+		String key = key(exchange);
+		RouteMeters routeMeters = meters.computeIfAbsent(route.getId(), this::routeMeters);
+		Duration maxWait = Duration.ofMillis(maxWait(route));
+
+		return Mono.defer(() -> {
+			Flight flight = new Flight();
+			Flight existing = inFlight.putIfAbsent(key, flight);
+
+			if (existing != null) {
+				routeMeters.followers.increment();
+				return existing.result()
+						.timeout(maxWait)
+						.map(Optional::of)
+						.defaultIfEmpty(Optional.empty())
+						.onErrorReturn(Optional.empty())
+						.flatMap(shared -> {
+							if (shared.isPresent()) {
+								return replay(exchange.getResponse(), shared.get());
+							}
+							routeMeters.fallbacks.increment();
+							return chain.filter(exchange);
+						});
+			}
+
+			routeMeters.leaders.increment();
+			return chain.filter(exchange.mutate().response(new CapturingResponse(exchange.getResponse(), flight)).build())
+					.doFinally(signal -> {
+						inFlight.remove(key, flight);
+						// No-op if the response was captured; otherwise releases followers to go upstream
+						flight.abandon();
+					});
+		});
+	}
+
+	private boolean excluded(PathContainer path) {
+		for (PathPattern pattern : excludedPaths) {
+			if (pattern.matches(path)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String key(ServerWebExchange exchange) {
+		ServerHttpRequest request = exchange.getRequest();
+		StringBuilder key = new StringBuilder(request.getMethod().name())
+				.append('|').append(RequestIdentity.credentials(exchange))
+				.append('|').append(request.getPath().value());
+		String query = request.getURI().getRawQuery();
+		if (query != null && !query.isEmpty()) {
+			key.append('?').append(query);
+		}
+		return key.toString();
+	}
+
+	private long maxWait(Route route) {
+		Object value = route.getMetadata().get(MAX_WAIT_METADATA);
+		if (value == null) {
+			return defaultMaxWaitMs;
+		}
+		try {
+			return Long.parseLong(value.toString());
+		} catch (NumberFormatException e) {
+			return defaultMaxWaitMs;
+		}
+	}
+
+	private static Mono<Void> replay(ServerHttpResponse response, SharedResponse shared) {
+		response.setStatusCode(shared.getStatus());
+		HttpHeaders headers = response.getHeaders();
+		shared.getHeaders().forEach((name, values) -> {
+			if (!HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name)) {
+				headers.put(name, values);
+			}
+		});
+		headers.setContentLength(shared.getBody().length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.getBody())));
+	}
+
+	// Streams are written as they are produced; holding one back would defeat the point
+	private static boolean streaming(MediaType contentType) {
+		return contentType != null && (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+				|| MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+				|| MediaType.APPLICATION_OCTET_STREAM.isCompatibleWith(contentType));
+	}
+
+	// Outer filters may still add headers to the leader's response; followers get the upstream ones
+	private static HttpHeaders snapshot(HttpHeaders headers) {
+		HttpHeaders copy = new HttpHeaders();
+		copy.addAll(headers);
+		return copy;
+	}
+
+	private RouteMeters routeMeters(String routeId) {
+		return new RouteMeters(
+				Counter.builder("gateway.singleflight.requests").tag("route", routeId).tag("role", "leader")
+						.description("Coalescible requests that went upstream").register(meterRegistry),
+				Counter.builder("gateway.singleflight.requests").tag("route", routeId).tag("role", "follower")
+						.description("Requests served from another request's upstream call").register(meterRegistry),
+				Counter.builder("gateway.singleflight.fallbacks").tag("route", routeId)
+						.description("Followers that had to go upstream themselves").register(meterRegistry));
+	}
+
+	private record RouteMeters(Counter leaders, Counter followers, Counter fallbacks) {
+	}
+
+	/**
+	 * One in-flight upstream call. Completes with the captured response, or empty
+	 * when it could not be shared.
+	 */
+	private static final class Flight {
+
+		private final Sinks.One<SharedResponse> sink = Sinks.one();
+
+		Mono<SharedResponse> result() {
+			return sink.asMono();
+		}
+
+		void complete(SharedResponse response) {
+			sink.tryEmitValue(response);
+		}
+
+		void abandon() {
+			sink.tryEmitEmpty();
+		}
+	}
+
+	/**
+	 * Buffers the leader's body so it can be handed to the followers as well.
+	 * At most maxBodyBytes are held back: a body without Content-Length that grows
+	 * past the limit abandons the flight, and what was held goes out ahead of the
+	 * rest of the stream.
+	 */
+	private class CapturingResponse extends ServerHttpResponseDecorator {
+
+		private final Flight flight;
+		private final List<DataBuffer> held = new ArrayList<>();
+		private int heldBytes;
+		private boolean overflowed;
+
+		CapturingResponse(ServerHttpResponse delegate, Flight flight) {
+			super(delegate);
+			this.flight = flight;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			HttpHeaders headers = getHeaders();
+			if (headers.getContentLength() > maxBodyBytes || streaming(headers.getContentType())) {
+				flight.abandon();
+				return super.writeWith(body);
+			}
+
+			Flux<DataBuffer> bounded = Flux.from(body)
+					.concatMap(this::hold)
+					.concatWith(Mono.defer(this::share))
+					.doFinally(signal -> releaseHeld());
+			return getDelegate().writeWith(bounded);
+		}
+
+		// Nothing is passed on until the body is complete or over the limit
+		private Flux<DataBuffer> hold(DataBuffer buffer) {
+			if (overflowed) {
+				return Flux.just(buffer);
+			}
+			held.add(buffer);
+			heldBytes += buffer.readableByteCount();
+			if (heldBytes <= maxBodyBytes) {
+				return Flux.empty();
+			}
+			overflowed = true;
+			flight.abandon();
+			List<DataBuffer> release = List.copyOf(held);
+			held.clear();
+			return Flux.fromIterable(release);
+		}
+
+		private Mono<DataBuffer> share() {
+			if (overflowed) {
+				return Mono.empty();
+			}
+			byte[] bytes = new byte[heldBytes];
+			int offset = 0;
+			for (DataBuffer buffer : held) {
+				int length = buffer.readableByteCount();
+				buffer.read(bytes, offset, length);
+				offset += length;
+				DataBufferUtils.release(buffer);
+			}
+			held.clear();
+
+			if (getStatusCode() != null) {
+				flight.complete(new SharedResponse(getStatusCode(), snapshot(getHeaders()), bytes));
+			} else {
+				flight.abandon();
+			}
+			getHeaders().setContentLength(bytes.length);
+			return Mono.just(bufferFactory().wrap(bytes));
+		}
+
+		// Cancelled or failed before the body was complete
+		private void releaseHeld() {
+			held.forEach(DataBufferUtils::release);
+			held.clear();
+		}
+
+		@Override
+		public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			// Streaming responses are not shared
+			flight.abandon();
+			return super.writeAndFlushWith(body);
+		}
+
+		@Override
+		public Mono<Void> setComplete() {
+			if (getStatusCode() != null) {
+				flight.complete(new SharedResponse(getStatusCode(), snapshot(getHeaders()), new byte[0]));
+			}
+			return super.setComplete();
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.example.EMS_API_Gateway.bff;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BffControllerTest {
+
+	private final Set<String> authorizations = ConcurrentHashMap.newKeySet();
+
+	private BffController controller(HttpStatus employeeStatus, long summaryDelayMs) {
+		return controller(employeeStatus, 0, summaryDelayMs);
+	}
+
+	private BffController controller(HttpStatus employeeStatus, long employeeDelayMs, long summaryDelayMs) {
+		WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+			authorizations.add(String.valueOf(request.headers().getFirst(HttpHeaders.AUTHORIZATION)));
+			String path = request.url().getPath();
+			if (path.equals("/api/employees/7")) {
+				return Mono.delay(Duration.ofMillis(employeeDelayMs))
+						.map(tick -> json(employeeStatus, "{\"id\":7,\"name\":\"Test\"}"));
+			}
+			if (path.equals("/api/experience/employee/summary/7")) {
+				return Mono.delay(Duration.ofMillis(summaryDelayMs))
+						.map(tick -> json(HttpStatus.OK, "[{\"techStack\":\"Java\",\"totalYears\":5}]"));
+			}
+			return Mono.just(json(HttpStatus.OK, "[{\"id\":1,\"techStack\":\"Java\",\"years\":5}]"));
+		});
+		return new BffController(builder, "http://backend", "http://experience", 200);
+	}
+
+	@Test
+	void employeeDetails_AllLegsSucceed() {
+		ResponseEntity<CompositeResponse> response =
+				controller(HttpStatus.OK, 0).employeeDetails(7L, "Bearer abc").block();
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		CompositeResponse body = response.getBody();
+		assertFalse(body.isPartial());
+		assertEquals("Test", body.getData().get("employee").get("name").asText());
+		assertEquals(1, body.getData().get("experience").size());
+		assertEquals(5, body.getData().get("summary").get(0).get("totalYears").asInt());
+		assertEquals(Set.of("Bearer abc"), authorizations);
+	}
+
+	@Test
+	void employeeDetails_SlowLeg_ReturnsPartialResult() {
+		ResponseEntity<CompositeResponse> response =
+				controller(HttpStatus.OK, 2000).employeeDetails(7L, "Bearer abc").block(Duration.ofSeconds(1));
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		CompositeResponse body = response.getBody();
+		assertTrue(body.isPartial());
+		assertEquals("timeout", body.getErrors().get("summary"));
+		assertNull(body.getData().get("summary"));
+		assertNotNull(body.getData().get("employee"));
+	}
+
+	@Test
+	void employeeDetails_PrimaryLegRejected_PropagatesStatus() {
+		ResponseEntity<CompositeResponse> response =
+				controller(HttpStatus.NOT_FOUND, 0).employeeDetails(7L, "Bearer abc").block();
+
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+		assertEquals("HTTP 404", response.getBody().getErrors().get("employee"));
+	}
+
+	@Test
+	void employeeDetails_PrimaryLegServerError_PropagatesStatus() {
+		ResponseEntity<CompositeResponse> response =
+				controller(HttpStatus.SERVICE_UNAVAILABLE, 0).employeeDetails(7L, "Bearer abc").block();
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+		assertEquals("HTTP 503", response.getBody().getErrors().get("employee"));
+	}
+
+	@Test
+	void employeeDetails_PrimaryLegTimesOut_ReturnsGatewayTimeout() {
+		ResponseEntity<CompositeResponse> response =
+				controller(HttpStatus.OK, 2000, 0).employeeDetails(7L, "Bearer abc").block(Duration.ofSeconds(1));
+
+		assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+		assertEquals("timeout", response.getBody().getErrors().get("employee"));
+		assertNull(response.getBody().getData().get("employee"));
+	}
+
+	private static ClientResponse json(HttpStatus status, String body) {
+		return ClientResponse.create(status)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.body(body)
+				.build();
+	}
+}
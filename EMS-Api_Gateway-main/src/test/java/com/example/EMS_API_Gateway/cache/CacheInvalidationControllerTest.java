@@ -0,0 +1,104 @@
+package com.example.EMS_API_Gateway.cache;
+
+import com.example.EMS_API_Gateway.security.InternalAuthHeaders;
+import com.example.EMS_API_Gateway.security.RevokedTokens;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheInvalidationControllerTest {
+
+	private static final String SECRET = "gatewaySigningSecret";
+	private static final Instant NOW = Instant.parse("2025-01-15T10:00:00Z");
+
+	private GatewayResponseCache cache;
+	private RevokedTokens revokedTokens;
+	private CacheInvalidationController controller;
+
+	@BeforeEach
+	void setUp() {
+		cache = new GatewayResponseCache(1_000_000, 10_000, 60_000, new SimpleMeterRegistry());
+		cache.put("ADMIN|/ems/api/employees", entry("/ems/api/employees"));
+		cache.put("anonymous|/ems/public/stats", entry("/ems/public/stats"));
+		revokedTokens = new RevokedTokens(3600_000);
+		controller = new CacheInvalidationController(cache, revokedTokens, new ObjectMapper(), SECRET,
+				Clock.fixed(NOW, ZoneOffset.UTC));
+	}
+
+	@Test
+	void signedRequest_RemovesMatchingEntries() {
+		String body = "{\"prefixes\":[\"/ems/api/employees\"],\"timestamp\":" + NOW.getEpochSecond() + "}";
+
+		var response = controller.invalidate(body, sign(body));
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(1, response.getBody().get("removed"));
+		assertNull(cache.get("ADMIN|/ems/api/employees"));
+		assertNotNull(cache.get("anonymous|/ems/public/stats"));
+	}
+
+	@Test
+	void signedRevocation_Recorded() {
+		String body = "{\"prefixes\":[],\"revocations\":[{\"subject\":\"jdoe\",\"issuedBefore\":"
+				+ NOW.getEpochSecond() + "}],\"timestamp\":" + NOW.getEpochSecond() + "}";
+
+		assertEquals(HttpStatus.OK, controller.invalidate(body, sign(body)).getStatusCode());
+
+		assertTrue(revokedTokens.isRevoked(claims("jdoe", NOW.minusSeconds(60))));
+		assertFalse(revokedTokens.isRevoked(claims("jdoe", NOW)));
+		assertFalse(revokedTokens.isRevoked(claims("someoneelse", NOW.minusSeconds(60))));
+	}
+
+	@Test
+	void badSignature_Rejected() {
+		String body = "{\"prefixes\":[\"/ems\"],\"timestamp\":" + NOW.getEpochSecond() + "}";
+
+		var response = controller.invalidate(body, "forged");
+
+		assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+		assertNotNull(cache.get("ADMIN|/ems/api/employees"));
+	}
+
+	@Test
+	void unsignedRevocation_Ignored() {
+		String body = "{\"revocations\":[{\"subject\":\"jdoe\",\"issuedBefore\":"
+				+ NOW.getEpochSecond() + "}],\"timestamp\":" + NOW.getEpochSecond() + "}";
+
+		assertEquals(HttpStatus.UNAUTHORIZED, controller.invalidate(body, "forged").getStatusCode());
+		assertFalse(revokedTokens.isRevoked(claims("jdoe", NOW.minusSeconds(60))));
+	}
+
+	@Test
+	void staleTimestamp_Rejected() {
+		String body = "{\"prefixes\":[\"/ems\"],\"timestamp\":" + (NOW.getEpochSecond() - 3600) + "}";
+
+		assertEquals(HttpStatus.UNAUTHORIZED, controller.invalidate(body, sign(body)).getStatusCode());
+	}
+
+	private static String sign(String body) {
+		return InternalAuthHeaders.sign(SECRET.getBytes(StandardCharsets.UTF_8), body);
+	}
+
+	private static Claims claims(String subject, Instant issuedAt) {
+		return Jwts.claims().setSubject(subject).setIssuedAt(Date.from(issuedAt));
+	}
+
+	private static CachedResponse entry(String path) {
+		byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+		return new CachedResponse(path, MediaType.APPLICATION_JSON, body, GatewayResponseCache.etagFor(body));
+	}
+}
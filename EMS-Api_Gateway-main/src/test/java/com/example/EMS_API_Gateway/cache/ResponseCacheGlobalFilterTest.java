@@ -0,0 +1,157 @@
+package com.example.EMS_API_Gateway.cache;
+
+import com.example.EMS_API_Gateway.security.GatewayJwtVerifier;
+import com.example.EMS_API_Gateway.security.JwtAuthGlobalFilter;
+import com.example.EMS_API_Gateway.security.RevokedTokens;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheGlobalFilterTest {
+
+	private static final String BODY = "{\"totalEmployees\":3}";
+
+	private GatewayResponseCache cache;
+	private ResponseCacheGlobalFilter filter;
+	private AtomicInteger upstreamCalls;
+	private GatewayFilterChain chain;
+
+	@BeforeEach
+	void setUp() {
+		cache = new GatewayResponseCache(1_000_000, 10_000, 60_000, new SimpleMeterRegistry());
+		filter = new ResponseCacheGlobalFilter(cache, new RoleScopedPaths(List.of()), true);
+		upstreamCalls = new AtomicInteger();
+		chain = exchange -> {
+			upstreamCalls.incrementAndGet();
+			ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(HttpStatus.OK);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+		};
+	}
+
+	@Test
+	void secondRequest_ServedFromCache() {
+		MockServerWebExchange first = get("/ems/public/stats");
+		filter.filter(first, chain).block();
+		MockServerWebExchange second = get("/ems/public/stats");
+		filter.filter(second, chain).block();
+
+		assertEquals(1, upstreamCalls.get());
+		assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheGlobalFilter.CACHE_HEADER));
+		assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGlobalFilter.CACHE_HEADER));
+		assertEquals(BODY, second.getResponse().getBodyAsString().block());
+		assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+	}
+
+	@Test
+	void matchingIfNoneMatch_Returns304() {
+		MockServerWebExchange first = get("/ems/public/stats");
+		filter.filter(first, chain).block();
+		String etag = first.getResponse().getHeaders().getETag();
+
+		MockServerWebExchange revalidate = MockServerWebExchange.from(MockServerHttpRequest.get("/ems/public/stats")
+				.header(HttpHeaders.IF_NONE_MATCH, etag));
+		filter.filter(revalidate, chain).block();
+
+		assertEquals(HttpStatus.NOT_MODIFIED, revalidate.getResponse().getStatusCode());
+		assertEquals(1, upstreamCalls.get());
+	}
+
+	@Test
+	void queryString_IsPartOfKey() {
+		filter.filter(get("/experience/api/experience/filter?techStack=java"), chain).block();
+		filter.filter(get("/experience/api/experience/filter?techStack=react"), chain).block();
+
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void unverifiedToken_BypassesCache() {
+		for (int i = 0; i < 2; i++) {
+			MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/ems/api/employees")
+					.header(HttpHeaders.AUTHORIZATION, "Bearer abc"));
+			filter.filter(exchange, chain).block();
+		}
+
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void unlistedPath_NotCached() {
+		filter.filter(get("/ems/api/employees/export"), chain).block();
+		filter.filter(get("/ems/api/employees/export"), chain).block();
+
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void invalidatePrefix_ForcesRefetch() {
+		filter.filter(get("/ems/public/stats"), chain).block();
+		assertEquals(1, cache.invalidatePrefixes(List.of("/ems/public")));
+		filter.filter(get("/ems/public/stats"), chain).block();
+
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void revokedToken_RejectedWhileItsRoleIsCached() {
+		String jwtSecret = "myTestSecretKeyThatIsLongEnoughForHS256_12345";
+		RevokedTokens revokedTokens = new RevokedTokens(3600_000);
+		JwtAuthGlobalFilter auth = new JwtAuthGlobalFilter(
+				new GatewayJwtVerifier(jwtSecret, 100, new SimpleMeterRegistry()), revokedTokens, "");
+		GatewayFilterChain cached = exchange -> filter.filter(exchange, chain);
+
+		MockServerWebExchange colleague = withToken(token(jwtSecret, "colleague"));
+		auth.filter(colleague, cached).block();
+		assertEquals("MISS", colleague.getResponse().getHeaders().getFirst(ResponseCacheGlobalFilter.CACHE_HEADER));
+
+		revokedTokens.revoke("revoked", System.currentTimeMillis() / 1000 + 1);
+		MockServerWebExchange revoked = withToken(token(jwtSecret, "revoked"));
+		auth.filter(revoked, cached).block();
+
+		assertEquals(HttpStatus.UNAUTHORIZED, revoked.getResponse().getStatusCode());
+		assertNull(revoked.getResponse().getHeaders().getFirst(ResponseCacheGlobalFilter.CACHE_HEADER));
+		assertEquals(1, upstreamCalls.get());
+
+		MockServerWebExchange again = withToken(token(jwtSecret, "colleague"));
+		auth.filter(again, cached).block();
+		assertEquals("HIT", again.getResponse().getHeaders().getFirst(ResponseCacheGlobalFilter.CACHE_HEADER));
+	}
+
+	private static MockServerWebExchange withToken(String token) {
+		return MockServerWebExchange.from(MockServerHttpRequest.get("/ems/api/employees")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+	}
+
+	private static String token(String secret, String subject) {
+		return Jwts.builder()
+				.setSubject(subject)
+				.claim("role", "USER")
+				.setIssuedAt(new Date())
+				.setExpiration(new Date(System.currentTimeMillis() + 3600_000))
+				.signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+				.compact();
+	}
+
+	private static MockServerWebExchange get(String uri) {
+		return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+	}
+}
@@ -0,0 +1,94 @@
+package com.example.EMS_API_Gateway.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTokenBucketStoreTest {
+
+	private static final BucketPolicy POLICY = new BucketPolicy(3, 0.5);
+
+	private AtomicLong now;
+	private InMemoryTokenBucketStore store;
+
+	@BeforeEach
+	void setUp() {
+		now = new AtomicLong(1_000_000);
+		store = new InMemoryTokenBucketStore(1000, 600_000, now::get);
+	}
+
+	@Test
+	void burstUpToCapacity_ThenDenied() {
+		assertEquals(2, store.tryConsume("k", POLICY).remaining());
+		assertEquals(1, store.tryConsume("k", POLICY).remaining());
+		assertEquals(0, store.tryConsume("k", POLICY).remaining());
+
+		RateLimitDecision denied = store.tryConsume("k", POLICY);
+		assertFalse(denied.allowed());
+		assertEquals(2, denied.retryAfterSeconds());
+		assertEquals(6, denied.resetSeconds());
+	}
+
+	@Test
+	void tokensRefillOverTime() {
+		for (int i = 0; i < 3; i++) {
+			store.tryConsume("k", POLICY);
+		}
+		now.addAndGet(2_000);
+
+		assertTrue(store.tryConsume("k", POLICY).allowed());
+		assertFalse(store.tryConsume("k", POLICY).allowed());
+	}
+
+	@Test
+	void refillNeverExceedsCapacity() {
+		store.tryConsume("k", POLICY);
+		now.addAndGet(3_600_000);
+
+		assertEquals(2, store.tryConsume("k", POLICY).remaining());
+	}
+
+	@Test
+	void keysAreIndependent() {
+		for (int i = 0; i < 3; i++) {
+			store.tryConsume("a", POLICY);
+		}
+
+		assertFalse(store.tryConsume("a", POLICY).allowed());
+		assertTrue(store.tryConsume("b", POLICY).allowed());
+	}
+
+	@Test
+	void concurrentCallers_NeverOverspend() throws InterruptedException {
+		BucketPolicy policy = new BucketPolicy(100, 0.001);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger allowed = new AtomicInteger();
+
+		for (int i = 0; i < 1000; i++) {
+			pool.execute(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				if (store.tryConsume("shared", policy).allowed()) {
+					allowed.incrementAndGet();
+				}
+			});
+		}
+		start.countDown();
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(100, allowed.get());
+	}
+}
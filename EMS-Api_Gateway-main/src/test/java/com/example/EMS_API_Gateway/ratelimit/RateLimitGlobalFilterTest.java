@@ -0,0 +1,127 @@
+package com.example.EMS_API_Gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitGlobalFilterTest {
+
+	private static final Map<String, Object> LOGIN_BUDGET = Map.of(
+			RateLimitGlobalFilter.CAPACITY_METADATA, "2",
+			RateLimitGlobalFilter.REFILL_METADATA, "0.1",
+			RateLimitGlobalFilter.KEY_METADATA, "ip");
+
+	private InMemoryTokenBucketStore store;
+	private RateLimitGlobalFilter filter;
+	private AtomicInteger forwarded;
+	private GatewayFilterChain chain;
+
+	@BeforeEach
+	void setUp() {
+		store = new InMemoryTokenBucketStore(1000, 600_000, new AtomicLong(0)::get);
+		filter = new RateLimitGlobalFilter(store, new SimpleMeterRegistry(),
+				routes(route("ems-auth", LOGIN_BUDGET), route("ems-backend", Map.of())), true, 0);
+		forwarded = new AtomicInteger();
+		chain = exchange -> {
+			forwarded.incrementAndGet();
+			return Mono.empty();
+		};
+	}
+
+	@Test
+	void overBudget_Returns429WithRetryAfter() {
+		filter.filter(login("10.0.0.1", "ems-auth"), chain).block();
+		MockServerWebExchange second = login("10.0.0.1", "ems-auth");
+		filter.filter(second, chain).block();
+		MockServerWebExchange third = login("10.0.0.1", "ems-auth");
+		filter.filter(third, chain).block();
+
+		assertEquals(2, forwarded.get());
+		assertEquals("0", second.getResponse().getHeaders().getFirst(RateLimitGlobalFilter.REMAINING_HEADER));
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+		assertEquals("10", third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals("2", third.getResponse().getHeaders().getFirst(RateLimitGlobalFilter.LIMIT_HEADER));
+	}
+
+	@Test
+	void clientsHaveSeparateBudgets() {
+		for (int i = 0; i < 3; i++) {
+			filter.filter(login("10.0.0.1", "ems-auth"), chain).block();
+		}
+		MockServerWebExchange other = login("10.0.0.2", "ems-auth");
+		filter.filter(other, chain).block();
+
+		assertEquals(3, forwarded.get());
+		assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, other.getResponse().getStatusCode());
+	}
+
+	@Test
+	void routeWithoutBudget_NotLimited() {
+		for (int i = 0; i < 5; i++) {
+			filter.filter(login("10.0.0.1", "ems-backend"), chain).block();
+		}
+
+		assertEquals(5, forwarded.get());
+	}
+
+	@Test
+	void invalidBudget_RejectedAtStartup() {
+		Map<String, Object> typo = Map.of(
+				RateLimitGlobalFilter.CAPACITY_METADATA, "ten",
+				RateLimitGlobalFilter.REFILL_METADATA, "0.1");
+		Map<String, Object> halfConfigured = Map.of(RateLimitGlobalFilter.CAPACITY_METADATA, "10");
+		Map<String, Object> unknownKey = Map.of(
+				RateLimitGlobalFilter.CAPACITY_METADATA, "10",
+				RateLimitGlobalFilter.REFILL_METADATA, "0.1",
+				RateLimitGlobalFilter.KEY_METADATA, "header");
+
+		for (Map<String, Object> metadata : List.of(typo, halfConfigured, unknownKey)) {
+			IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new RateLimitGlobalFilter(
+					store, new SimpleMeterRegistry(), routes(route("ems-auth", metadata)), true, 0));
+			assertTrue(e.getMessage().contains("ems-auth"), e.getMessage());
+		}
+	}
+
+	private static RouteDefinition route(String id, Map<String, Object> metadata) {
+		RouteDefinition route = new RouteDefinition();
+		route.setId(id);
+		route.setMetadata(metadata);
+		return route;
+	}
+
+	private static GatewayProperties routes(RouteDefinition... routes) {
+		GatewayProperties properties = new GatewayProperties();
+		properties.setRoutes(List.of(routes));
+		return properties;
+	}
+
+	private static MockServerWebExchange login(String ip, String routeId) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/ems/auth/user/login")
+				.remoteAddress(new InetSocketAddress(ip, 40000)));
+		Route route = Route.async()
+				.id(routeId)
+				.uri("http://localhost:8081")
+				.predicate(e -> true)
+				.build();
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+}
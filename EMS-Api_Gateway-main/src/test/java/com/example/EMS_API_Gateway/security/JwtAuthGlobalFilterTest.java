@@ -0,0 +1,136 @@
+package com.example.EMS_API_Gateway.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthGlobalFilterTest {
+
+	private static final String JWT_SECRET = "myTestSecretKeyThatIsLongEnoughForHS256_12345";
+	private static final String SIGNING_SECRET = "gatewaySigningSecret";
+
+	private RevokedTokens revokedTokens;
+	private JwtAuthGlobalFilter filter;
+	private AtomicReference<ServerWebExchange> forwarded;
+	private GatewayFilterChain chain;
+
+	@BeforeEach
+	void setUp() {
+		GatewayJwtVerifier verifier = new GatewayJwtVerifier(JWT_SECRET, 100, new SimpleMeterRegistry());
+		revokedTokens = new RevokedTokens(3600_000);
+		filter = new JwtAuthGlobalFilter(verifier, revokedTokens, SIGNING_SECRET);
+		forwarded = new AtomicReference<>();
+		chain = exchange -> {
+			forwarded.set(exchange);
+			return Mono.empty();
+		};
+	}
+
+	@Test
+	void validToken_ForwardsSignedIdentityHeaders() {
+		String token = token(JWT_SECRET, 3600_000);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/ems/api/profile/me")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+		filter.filter(exchange, chain).block();
+
+		HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+		assertEquals("testuser", headers.getFirst(InternalAuthHeaders.SUBJECT));
+		assertEquals("USER", headers.getFirst(InternalAuthHeaders.ROLE));
+		assertEquals("10", headers.getFirst(InternalAuthHeaders.EMPLOYEE_ID));
+
+		String canonical = InternalAuthHeaders.canonical("testuser", "USER", "10",
+				headers.getFirst(InternalAuthHeaders.ISSUED_AT), headers.getFirst(InternalAuthHeaders.EXPIRES));
+		assertEquals(InternalAuthHeaders.sign(SIGNING_SECRET.getBytes(StandardCharsets.UTF_8), canonical),
+				headers.getFirst(InternalAuthHeaders.SIGNATURE));
+	}
+
+	@Test
+	void spoofedHeaders_AreStripped() {
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/ems/public/home-stats")
+				.header(InternalAuthHeaders.SUBJECT, "admin")
+				.header("x-auth-role", "ADMIN"));
+
+		filter.filter(exchange, chain).block();
+
+		HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+		assertNull(headers.getFirst(InternalAuthHeaders.SUBJECT));
+		assertNull(headers.getFirst(InternalAuthHeaders.ROLE));
+	}
+
+	@Test
+	void forgedToken_RejectedAtEdge() {
+		String token = token("someOtherSecretKeyThatIsLongEnoughForHS256", 3600_000);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/ems/api/employees")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+		filter.filter(exchange, chain).block();
+
+		assertNull(forwarded.get());
+		assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+	}
+
+	@Test
+	void expiredToken_RejectedAtEdge() {
+		String token = token(JWT_SECRET, -60_000);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/ems/api/employees")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+		filter.filter(exchange, chain).block();
+
+		assertNull(forwarded.get());
+		assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+		assertEquals("Token expired", exchange.getResponse().getBodyAsString().block());
+	}
+
+	@Test
+	void revokedToken_RejectedAtEdge() {
+		String token = token(JWT_SECRET, 3600_000);
+		revokedTokens.revoke("testuser", System.currentTimeMillis() / 1000 + 1);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/ems/api/employees")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+		filter.filter(exchange, chain).block();
+
+		assertNull(forwarded.get());
+		assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+		assertEquals("Token revoked", exchange.getResponse().getBodyAsString().block());
+	}
+
+	@Test
+	void tokenIssuedAfterRevocation_Forwarded() {
+		revokedTokens.revoke("testuser", System.currentTimeMillis() / 1000 - 60);
+		MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/ems/api/employees")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + token(JWT_SECRET, 3600_000)));
+
+		filter.filter(exchange, chain).block();
+
+		assertNotNull(forwarded.get());
+	}
+
+	private String token(String secret, long ttlMs) {
+		return Jwts.builder()
+				.setSubject("testuser")
+				.claim("role", "USER")
+				.claim("employeeId", 10L)
+				.setIssuedAt(new Date())
+				.setExpiration(new Date(System.currentTimeMillis() + ttlMs))
+				.signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+				.compact();
+	}
+}
@@ -0,0 +1,168 @@
+package com.example.EMS_API_Gateway.singleflight;
+
+import com.example.EMS_API_Gateway.security.JwtAuthGlobalFilter;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightGlobalFilterTest {
+
+	private static final String BODY = "[{\"id\":1}]";
+
+	private SimpleMeterRegistry meterRegistry;
+	private SingleFlightGlobalFilter filter;
+	private AtomicInteger upstreamCalls;
+	private GatewayFilterChain slowUpstream;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new SingleFlightGlobalFilter(meterRegistry, true, 5000, 1_000_000,
+				List.of("/ems/api/employees/export"));
+		upstreamCalls = new AtomicInteger();
+		slowUpstream = exchange -> {
+			upstreamCalls.incrementAndGet();
+			return Mono.delay(Duration.ofMillis(100)).then(Mono.defer(() -> {
+				ServerHttpResponse response = exchange.getResponse();
+				response.setStatusCode(HttpStatus.OK);
+				response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+				return response.writeWith(Mono.just(response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+			}));
+		};
+	}
+
+	@Test
+	void concurrentIdenticalRequests_ShareOneUpstreamCall() {
+		MockServerWebExchange first = exchange("/ems/api/employees", "Bearer a", true);
+		MockServerWebExchange second = exchange("/ems/api/employees", "Bearer a", true);
+
+		Mono.when(filter.filter(first, slowUpstream), filter.filter(second, slowUpstream)).block();
+
+		assertEquals(1, upstreamCalls.get());
+		assertEquals(BODY, first.getResponse().getBodyAsString().block());
+		assertEquals(BODY, second.getResponse().getBodyAsString().block());
+		assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+		assertEquals(1.0, meterRegistry.get("gateway.singleflight.requests").tag("role", "follower").counter().count());
+	}
+
+	@Test
+	void differentCredentials_NotCoalesced() {
+		MockServerWebExchange first = exchange("/ems/api/profile/me", "Bearer a", true);
+		MockServerWebExchange second = exchange("/ems/api/profile/me", "Bearer b", true);
+
+		Mono.when(filter.filter(first, slowUpstream), filter.filter(second, slowUpstream)).block();
+
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void sameRoleDifferentTokens_NotCoalesced() {
+		MockServerWebExchange first = exchange("/ems/api/employees", "Bearer a", true);
+		MockServerWebExchange second = exchange("/ems/api/employees", "Bearer b", true);
+		// Both verified as USER: the response cache would share between them, coalescing must not
+		first.getAttributes().put(JwtAuthGlobalFilter.CLAIMS_ATTRIBUTE, Jwts.claims(Map.of("sub", "a", "role", "USER")));
+		second.getAttributes().put(JwtAuthGlobalFilter.CLAIMS_ATTRIBUTE, Jwts.claims(Map.of("sub", "b", "role", "USER")));
+
+		Mono.when(filter.filter(first, slowUpstream), filter.filter(second, slowUpstream)).block();
+
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void routeWithoutMetadata_NotCoalesced() {
+		MockServerWebExchange first = exchange("/ems/public/stats", null, false);
+		MockServerWebExchange second = exchange("/ems/public/stats", null, false);
+
+		Mono.when(filter.filter(first, slowUpstream), filter.filter(second, slowUpstream)).block();
+
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void leaderFailure_FollowersGoUpstreamThemselves() {
+		AtomicInteger calls = new AtomicInteger();
+		GatewayFilterChain failingOnce = exchange -> calls.incrementAndGet() == 1
+				? Mono.delay(Duration.ofMillis(100)).then(Mono.error(new IllegalStateException("connection refused")))
+				: slowUpstream.filter(exchange);
+
+		MockServerWebExchange first = exchange("/ems/public/stats", null, true);
+		MockServerWebExchange second = exchange("/ems/public/stats", null, true);
+
+		Mono.when(filter.filter(first, failingOnce).onErrorResume(e -> Mono.empty()),
+				filter.filter(second, failingOnce)).block();
+
+		assertEquals(2, calls.get());
+		assertEquals(BODY, second.getResponse().getBodyAsString().block());
+	}
+
+	@Test
+	void excludedPath_NotCoalesced() {
+		MockServerWebExchange first = exchange("/ems/api/employees/export", "Bearer a", true);
+		MockServerWebExchange second = exchange("/ems/api/employees/export", "Bearer a", true);
+
+		Mono.when(filter.filter(first, slowUpstream), filter.filter(second, slowUpstream)).block();
+
+		assertEquals(2, upstreamCalls.get());
+	}
+
+	@Test
+	void chunkedBodyOverLimit_PassedThroughAndNotShared() {
+		filter = new SingleFlightGlobalFilter(meterRegistry, true, 5000, 8, List.of());
+		GatewayFilterChain chunkedUpstream = exchange -> {
+			upstreamCalls.incrementAndGet();
+			return Mono.delay(Duration.ofMillis(100)).then(Mono.defer(() -> {
+				ServerHttpResponse response = exchange.getResponse();
+				response.setStatusCode(HttpStatus.OK);
+				// No Content-Length: the size is only known once the body has been read
+				return response.writeWith(Flux.just("[{\"id\":1},", "{\"id\":2},", "{\"id\":3}]")
+						.map(chunk -> response.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+			}));
+		};
+
+		MockServerWebExchange first = exchange("/ems/api/employees", "Bearer a", true);
+		MockServerWebExchange second = exchange("/ems/api/employees", "Bearer a", true);
+
+		Mono.when(filter.filter(first, chunkedUpstream), filter.filter(second, chunkedUpstream)).block();
+
+		assertEquals(2, upstreamCalls.get());
+		assertEquals("[{\"id\":1},{\"id\":2},{\"id\":3}]", first.getResponse().getBodyAsString().block());
+		assertEquals("[{\"id\":1},{\"id\":2},{\"id\":3}]", second.getResponse().getBodyAsString().block());
+		assertEquals(1.0, meterRegistry.get("gateway.singleflight.fallbacks").counter().count());
+	}
+
+	private static MockServerWebExchange exchange(String path, String authorization, boolean singleFlight) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+		if (authorization != null) {
+			request.header(HttpHeaders.AUTHORIZATION, authorization);
+		}
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		Route route = Route.async()
+				.id("ems-backend")
+				.uri("http://localhost:8081")
+				.predicate(e -> true)
+				.metadata(singleFlight ? Map.of(SingleFlightGlobalFilter.ENABLED_METADATA, "true") : Map.of())
+				.build();
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+		return exchange;
+	}
+}
@@ -0,0 +1,54 @@
+package com.capstone.ems.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing the GET /api/employees body; the mapper is configured like
+ * Spring Boot's (ISO dates instead of timestamps).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmployeeJsonBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private List<EmployeeDto> employees;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            employees.add(new EmployeeDto((long) i, "Employee " + i, "employee" + i + "@ems.com",
+                    i % 3 == 0 ? "Developer" : "Tester", BigDecimal.valueOf(40_000 + i),
+                    LocalDate.of(1980 + i % 20, 1 + i % 12, 1 + i % 28)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+}
@@ -0,0 +1,53 @@
+package com.capstone.ems.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification cost. cachedClaims is what a repeat request pays
+ * (digest + cache lookup); verifySignature is the first-sight cost the cache saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsLongEnoughForHS256_12345";
+
+    private JwtUtil jwtUtil;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000);
+        parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+        token = jwtUtil.generateToken("benchmark.user", "USER", 42L);
+        jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("benchmark.user", "USER", 42L);
+    }
+
+    @Benchmark
+    public Object cachedClaims() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Object verifySignature() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
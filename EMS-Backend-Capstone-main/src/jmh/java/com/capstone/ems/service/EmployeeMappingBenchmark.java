@@ -0,0 +1,72 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.dto.EmployeeDto;
+import com.capstone.ems.model.Employee;
+import com.capstone.ems.repo.EmployeeRepository;
+import com.capstone.ems.service.impl.EmployeeServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping through GET /api/employees/{id} and GET /api/employees,
+ * over an in-memory repository so only the service's own work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmployeeMappingBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    private EmployeeServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        List<Employee> employees = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setName("Benchmark Employee " + id);
+            employee.setEmail("benchmark" + id + "@ems.com");
+            employee.setDesignation("Developer");
+            employee.setSalary(new BigDecimal("50000.00"));
+            employee.setBirthDate(LocalDate.of(1990, 1, 1));
+            employees.add(employee);
+        }
+
+        EmployeeRepository repository = (EmployeeRepository) Proxy.newProxyInstance(
+                EmployeeRepository.class.getClassLoader(), new Class<?>[]{EmployeeRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.of(employees.get(0));
+                    case "findAll" -> employees;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        // The read paths touch none of the other collaborators
+        service = new EmployeeServiceImpl(repository, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public EmployeeDto getEmployeeById() {
+        return service.getEmployeeById(1L);
+    }
+
+    @Benchmark
+    public List<EmployeeDto> getAllEmployees() {
+        return service.getAllEmployees();
+    }
+}
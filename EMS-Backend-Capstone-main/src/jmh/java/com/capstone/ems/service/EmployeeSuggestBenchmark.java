@@ -0,0 +1,85 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.dto.EmployeeSuggestionDto;
+import com.capstone.ems.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeSuggestBenchmark {
+
+    private static final String[] FIRST = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael",
+            "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica"};
+    private static final String[] LAST = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas"};
+    private static final String[] DESIGNATIONS = {"Engineer", "Manager", "Analyst", "Designer", "Tester"};
+
+    @Param({"100000", "1000000"})
+    private int employees;
+
+    private EmployeeSuggestIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // The read path touches neither the repository nor the transaction manager
+        index = new EmployeeSuggestIndex(null, null, new SimpleMeterRegistry(), employees, 20_000, Long.MAX_VALUE);
+
+        Random random = new Random(7);
+        List<EmployeeSuggestIndex.Row> rows = new ArrayList<>(employees);
+        for (long id = 1; id <= employees; id++) {
+            String first = FIRST[random.nextInt(FIRST.length)];
+            String last = LAST[random.nextInt(LAST.length)];
+            rows.add(new EmployeeSuggestIndex.Row(id, first + " " + last,
+                    first.toLowerCase() + "." + last.toLowerCase() + id + "@ems.com",
+                    DESIGNATIONS[random.nextInt(DESIGNATIONS.length)]));
+        }
+        index.install(index.build(rows.iterator()), 0);
+
+        // A handful of recent writes, so the merge with the delta is part of the measurement
+        for (long id = 1; id <= 100; id++) {
+            Employee employee = new Employee();
+            employee.setId(id);
+            employee.setName("Renamed Person" + id);
+            employee.setEmail("renamed" + id + "@ems.com");
+            employee.setDesignation("Engineer");
+            index.onEmployeeSaved(employee);
+        }
+    }
+
+    // Broad prefix: thousands of matches, only the first ten are read
+    @Benchmark
+    public List<EmployeeSuggestionDto> suggestShortPrefix() {
+        return index.suggest("ma", 10);
+    }
+
+    @Benchmark
+    public List<EmployeeSuggestionDto> suggestLongPrefix() {
+        return index.suggest("rodrig", 10);
+    }
+
+    // Email prefix narrowed to one employee
+    @Benchmark
+    public List<EmployeeSuggestionDto> suggestEmail() {
+        return index.suggest("mary.smith12", 10);
+    }
+
+    @Benchmark
+    public List<EmployeeSuggestionDto> suggestNoMatch() {
+        return index.suggest("zzz", 10);
+    }
+}
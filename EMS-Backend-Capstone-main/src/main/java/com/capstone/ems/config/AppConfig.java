@@ -1,15 +1,22 @@
 package com.capstone.ems.config;
 
+import com.capstone.ems.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class AppConfig {
 
+    // BCrypt runs on its own bounded pool; raising the strength rehashes users on their next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${ems.security.bcrypt-strength:10}") int strength,
+                                           @Value("${ems.security.password-hashing.threads:0}") int threads,
+                                           @Value("${ems.security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${ems.security.password-hashing.timeout-ms:5000}") long timeoutMs,
+                                           MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, timeoutMs, meterRegistry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,30 @@
+package com.capstone.ems.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+import java.sql.SQLException;
+
+/**
+ * Read-only transactions may be answered by a lagging replica, so their sessions
+ * only read the second-level cache (CacheMode.GET) and never put what they loaded
+ * into it; otherwise a row deleted or changed on the primary a moment ago could be
+ * cached again for the whole region TTL. Read-write transactions keep the normal
+ * mode. Relies on open-in-view being off: each transaction gets its own session.
+ */
+class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        entityManager.unwrap(Session.class)
+                .setCacheMode(definition.isReadOnly() ? CacheMode.GET : CacheMode.NORMAL);
+        return transactionData;
+    }
+}
@@ -0,0 +1,147 @@
+package com.capstone.ems.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hibernate second-level cache for the read-mostly Employee and UserEntity rows, the
+ * username natural-id lookup and a few cacheable queries. Regions live in-process
+ * (Caffeine through JCache), each bounded by ems.cache.l2.&lt;region&gt;.max-size / ttl-ms;
+ * with several backend instances the TTL bounds how stale another instance's copy can be.
+ * That is why the user regions (password hash, role) default to a few seconds.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String EMPLOYEES = "employees";
+    public static final String USERS = "users";
+    public static final String USERS_BY_USERNAME = "users-by-username";
+    public static final String QUERIES = "queries";
+
+    static final List<String> REGIONS = List.of(EMPLOYEES, USERS, USERS_BY_USERNAME, QUERIES);
+
+    // Hibernate's own regions; they must exist because missing regions fail startup
+    private static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private static final long DEFAULT_MAX_SIZE = 10_000;
+    private static final long DEFAULT_TTL_MS = 600_000;
+    private static final long DEFAULT_USER_TTL_MS = 5_000;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(Environment environment) {
+        boolean enabled = environment.getProperty("ems.cache.l2.enabled", Boolean.class, true);
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            // Per-region hit/miss counts for the metrics below
+            properties.put(AvailableSettings.GENERATE_STATISTICS, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, createCacheManager(environment));
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+
+    static CacheManager createCacheManager(Environment environment) {
+        // Own manager per session factory (Hibernate closes it on shutdown)
+        CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("ems-l2:" + UUID.randomUUID()), SecondLevelCacheConfig.class.getClassLoader());
+
+        for (String region : REGIONS) {
+            long maxSize = environment.getProperty("ems.cache.l2." + region + ".max-size", Long.class, DEFAULT_MAX_SIZE);
+            long defaultTtlMs = region.equals(USERS) || region.equals(USERS_BY_USERNAME) ? DEFAULT_USER_TTL_MS : DEFAULT_TTL_MS;
+            long ttlMs = environment.getProperty("ems.cache.l2." + region + ".ttl-ms", Long.class, defaultTtlMs);
+            cacheManager.createCache(region, regionConfig(OptionalLong.of(maxSize), OptionalLong.of(ttlMs)));
+        }
+
+        long queryMaxSize = environment.getProperty("ems.cache.l2." + QUERIES + ".max-size", Long.class, DEFAULT_MAX_SIZE);
+        long queryTtlMs = environment.getProperty("ems.cache.l2." + QUERIES + ".ttl-ms", Long.class, DEFAULT_TTL_MS);
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS, regionConfig(OptionalLong.of(queryMaxSize), OptionalLong.of(queryTtlMs)));
+
+        // One entry per table; evicting one would make cached query results look fresher than they are
+        cacheManager.createCache(UPDATE_TIMESTAMPS, regionConfig(OptionalLong.empty(), OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfig(OptionalLong maxSize, OptionalLong ttlMs) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setStoreByValue(false);
+        config.setMaximumSize(maxSize);
+        if (ttlMs.isPresent()) {
+            config.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs.getAsLong())));
+        }
+        return config;
+    }
+
+    /**
+     * ems.l2cache.requests{region,result=hit|miss}, ems.l2cache.puts{region} and
+     * ems.l2cache.hit.ratio{region} (cumulative since startup).
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            if (!statistics.isStatisticsEnabled()) {
+                return;
+            }
+            for (String region : REGIONS) {
+                FunctionCounter.builder("ems.l2cache.requests", statistics,
+                                s -> regionCount(s, region, CacheRegionStatistics::getHitCount))
+                        .tag("region", region).tag("result", "hit")
+                        .register(registry);
+                FunctionCounter.builder("ems.l2cache.requests", statistics,
+                                s -> regionCount(s, region, CacheRegionStatistics::getMissCount))
+                        .tag("region", region).tag("result", "miss")
+                        .register(registry);
+                FunctionCounter.builder("ems.l2cache.puts", statistics,
+                                s -> regionCount(s, region, CacheRegionStatistics::getPutCount))
+                        .tag("region", region)
+                        .register(registry);
+                Gauge.builder("ems.l2cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    static double hitRatio(Statistics statistics, String region) {
+        long hits = regionCount(statistics, region, CacheRegionStatistics::getHitCount);
+        long misses = regionCount(statistics, region, CacheRegionStatistics::getMissCount);
+        return hits + misses == 0 ? Double.NaN : (double) hits / (hits + misses);
+    }
+
+    private static long regionCount(Statistics statistics, String region, ToLongFunction<CacheRegionStatistics> count) {
+        try {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            return regionStatistics == null ? 0 : count.applyAsLong(regionStatistics);
+        } catch (IllegalArgumentException e) {
+            // Region not built (e.g. no cacheable query has run yet)
+            return 0;
+        }
+    }
+}
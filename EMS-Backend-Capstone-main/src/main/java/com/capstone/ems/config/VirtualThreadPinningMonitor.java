@@ -0,0 +1,93 @@
+package com.capstone.ems.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier (blocking inside
+ * synchronized or a native frame) for longer than the threshold.
+ *
+ * Listens to the JFR jdk.VirtualThreadPinned event in-process, counts every
+ * occurrence in jvm.threads.virtual.pinned and logs each distinct location
+ * once, attributed to the first frame in our own packages when there is one.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final String appPackage;
+    private final Counter pinned;
+    private final Set<String> reportedLocations = ConcurrentHashMap.newKeySet();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, String appPackage, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.appPackage = appPackage;
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to a carrier longer than " + threshold.toMillis() + " ms")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinned.increment();
+        String location = location(event.getStackTrace());
+        if (reportedLocations.add(location)) {
+            System.err.println("Virtual thread pinned for " + event.getDuration().toMillis()
+                    + " ms at " + location + " (further pins here are only counted)");
+        }
+    }
+
+    private String location(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.getMethod() != null && frame.getMethod().getType().getName().startsWith(appPackage)) {
+                return describe(frame);
+            }
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        if (frame.getMethod() == null) {
+            return "unknown";
+        }
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
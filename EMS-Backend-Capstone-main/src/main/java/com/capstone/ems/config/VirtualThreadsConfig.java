@@ -0,0 +1,79 @@
+package com.capstone.ems.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extras for spring.threads.virtual.enabled=true (Tomcat, @Async and
+ * @Scheduled then run on virtual threads): a JDBC concurrency limit in front
+ * of each Hikari pool and an optional pinning monitor. With a read replica,
+ * ReadReplicaConfig puts one limiter on each of its two pools instead.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    static boolean enabled(Environment environment) {
+        return environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+    }
+
+    // One limiter per physical pool: max-concurrency defaults to that pool's size, so its permits match its connections
+    static ConcurrencyLimitingDataSource limit(DataSource pool, String maxConcurrencyProperty, int poolSize,
+                                               Environment environment) {
+        int maxConcurrency = environment.getProperty(maxConcurrencyProperty, Integer.class, poolSize);
+        int maxWaiting = environment.getProperty("ems.jdbc.max-waiting", Integer.class, 1000);
+        long acquireTimeoutMs = environment.getProperty("ems.jdbc.acquire-timeout-ms", Long.class, 3000L);
+        return new ConcurrencyLimitingDataSource(pool, maxConcurrency, maxWaiting, acquireTimeoutMs);
+    }
+
+    static void bindMetrics(ConcurrencyLimitingDataSource limited, String pool, MeterRegistry registry) {
+        Gauge.builder("ems.jdbc.limiter.waiting", limited, ConcurrencyLimitingDataSource::waitingThreads)
+                .description("Threads queued for a database connection permit")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("ems.jdbc.limiter.available", limited, ConcurrencyLimitingDataSource::availablePermits)
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    // Static: BeanPostProcessors are created before regular beans, so read settings from the Environment.
+    // Only Spring Boot's single pool is a Hikari bean; the replica setup's routing proxy is left alone.
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    return limit(pool, "ems.jdbc.max-concurrency", pool.getMaximumPoolSize(), environment);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder jdbcLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitingDataSource limited) {
+                bindMetrics(limited, "primary", registry);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "ems.threads.pinning-monitor.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(Environment environment, MeterRegistry meterRegistry) {
+        long thresholdMs = environment.getProperty("ems.threads.pinning-monitor.threshold-ms", Long.class, 20L);
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(thresholdMs), "com.capstone", meterRegistry);
+    }
+}
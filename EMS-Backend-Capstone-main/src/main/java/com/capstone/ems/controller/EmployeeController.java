@@ -1,8 +1,11 @@
 package com.capstone.ems.controller;
 
+import java.io.InputStream;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,10 +15,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.capstone.ems.dto.EmployeeDto;
+import com.capstone.ems.dto.EmployeePageDto;
+import com.capstone.ems.dto.EmployeeSearchPageDto;
+import com.capstone.ems.dto.EmployeeSuggestionDto;
+import com.capstone.ems.dto.ImportReportDto;
+import com.capstone.ems.service.EmployeeExportService;
+import com.capstone.ems.service.EmployeeImportService;
 import com.capstone.ems.service.EmployeeService;
 
 import jakarta.validation.Valid;
@@ -26,10 +38,16 @@ import jakarta.validation.Valid;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeExportService employeeExportService;
+    private final EmployeeImportService employeeImportService;
 
     //Constructor injection
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService,
+                              EmployeeExportService employeeExportService,
+                              EmployeeImportService employeeImportService) {
         this.employeeService = employeeService;
+        this.employeeExportService = employeeExportService;
+        this.employeeImportService = employeeImportService;
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
@@ -39,6 +57,81 @@ public class EmployeeController {
         return ResponseEntity.ok(employees);
     }
 
+    // Paged mode: only used when the client asks for a page size, so the plain list above keeps working
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping(params = "size")
+    public ResponseEntity<EmployeePageDto> getEmployeePage(
+            @RequestParam Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String designation,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false, defaultValue = "id") String sortBy,
+            @RequestParam(required = false, defaultValue = "asc") String sortDir) {
+
+        EmployeePageDto page = employeeService.getEmployeePage(cursor, size, designation, namePrefix, sortBy, sortDir);
+        return ResponseEntity.ok(page);
+    }
+
+    // Ranked fuzzy search over name, email and designation, with matched spans per hit
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/search")
+    public ResponseEntity<EmployeeSearchPageDto> searchEmployees(
+            @RequestParam String q,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+
+        EmployeeSearchPageDto results = employeeService.searchEmployees(q, page, size);
+        return ResponseEntity.ok(results);
+    }
+
+    // Typeahead: top matches by name word or email prefix, from memory on every keystroke
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<EmployeeSuggestionDto>> suggestEmployees(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+
+        List<EmployeeSuggestionDto> suggestions = employeeService.suggestEmployees(q, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    // Full directory export for payroll/HR, streamed row by row (format=ndjson|csv)
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestParam(required = false, defaultValue = "ndjson") String format,
+            @RequestParam(required = false, defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) String designation,
+            @RequestParam(required = false) String namePrefix) {
+
+        EmployeeExportService.Format exportFormat = EmployeeExportService.Format.from(format);
+
+        StreamingResponseBody body = out ->
+                employeeExportService.export(exportFormat, designation, namePrefix, gzip, out);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"employees." + exportFormat.getExtension() + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    // Bulk onboarding from a CSV file (header row) or a JSON array; the body is read as a stream
+    // and the response lists every row as CREATED or FAILED
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ImportReportDto> importEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+
+        ImportReportDto report = employeeImportService.importEmployees(
+                EmployeeImportService.Format.from(contentType), body);
+        return ResponseEntity.ok(report);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @GetMapping("/{id}")
     public ResponseEntity<EmployeeDto> getEmployeeById(@PathVariable Long id) {
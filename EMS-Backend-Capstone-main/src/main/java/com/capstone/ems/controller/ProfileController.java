@@ -3,7 +3,7 @@ package com.capstone.ems.controller;
 
 
 import com.capstone.ems.dto.EmployeeDto;
-import com.capstone.ems.model.UserEntity;
+import com.capstone.ems.security.JwtPrincipal;
 import com.capstone.ems.service.EmployeeService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,13 +28,13 @@ public class ProfileController {
  public ResponseEntity<EmployeeDto> getMyProfile() {
 
      Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-     UserEntity user = (UserEntity) auth.getPrincipal(); // you set UserEntity in JwtAuthFilter
+     JwtPrincipal principal = (JwtPrincipal) auth.getPrincipal(); // set from token claims in JwtAuthFilter
 
-     if (user.getEmployee() == null) {
+     Long employeeId = principal.getEmployeeId();
+     if (employeeId == null) {
          return ResponseEntity.notFound().build();
      }
 
-     Long employeeId = user.getEmployee().getId();
      EmployeeDto employeeDto = employeeService.getEmployeeById(employeeId);
 
      return ResponseEntity.ok(employeeDto);
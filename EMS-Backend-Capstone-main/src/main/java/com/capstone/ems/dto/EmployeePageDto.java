@@ -0,0 +1,33 @@
+package com.capstone.ems.dto;
+
+import java.util.List;
+
+public class EmployeePageDto {
+
+    private List<EmployeeDto> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+
+    public EmployeePageDto() {
+    }
+
+    public EmployeePageDto(List<EmployeeDto> items, int size, boolean hasMore, String nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<EmployeeDto> getItems() { return items; }
+    public void setItems(List<EmployeeDto> items) { this.items = items; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,28 @@
+package com.capstone.ems.dto;
+
+import java.util.List;
+
+public class EmployeeSearchHitDto {
+
+    private EmployeeDto employee;
+    private double score;
+    private List<HighlightDto> highlights;
+
+    public EmployeeSearchHitDto() {
+    }
+
+    public EmployeeSearchHitDto(EmployeeDto employee, double score, List<HighlightDto> highlights) {
+        this.employee = employee;
+        this.score = score;
+        this.highlights = highlights;
+    }
+
+    public EmployeeDto getEmployee() { return employee; }
+    public void setEmployee(EmployeeDto employee) { this.employee = employee; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public List<HighlightDto> getHighlights() { return highlights; }
+    public void setHighlights(List<HighlightDto> highlights) { this.highlights = highlights; }
+}
@@ -0,0 +1,33 @@
+package com.capstone.ems.dto;
+
+import java.util.List;
+
+public class EmployeeSearchPageDto {
+
+    private List<EmployeeSearchHitDto> items;
+    private int page;
+    private int size;
+    private boolean hasMore;
+
+    public EmployeeSearchPageDto() {
+    }
+
+    public EmployeeSearchPageDto(List<EmployeeSearchHitDto> items, int page, int size, boolean hasMore) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+    }
+
+    public List<EmployeeSearchHitDto> getItems() { return items; }
+    public void setItems(List<EmployeeSearchHitDto> items) { this.items = items; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,30 @@
+package com.capstone.ems.dto;
+
+/**
+ * Matched span inside one field of a search hit: value.substring(start, end).
+ * Offsets rather than markup, so the client decides how to render them.
+ */
+public class HighlightDto {
+
+    private String field;
+    private int start;
+    private int end;
+
+    public HighlightDto() {
+    }
+
+    public HighlightDto(String field, int start, int end) {
+        this.field = field;
+        this.start = start;
+        this.end = end;
+    }
+
+    public String getField() { return field; }
+    public void setField(String field) { this.field = field; }
+
+    public int getStart() { return start; }
+    public void setStart(int start) { this.start = start; }
+
+    public int getEnd() { return end; }
+    public void setEnd(int end) { this.end = end; }
+}
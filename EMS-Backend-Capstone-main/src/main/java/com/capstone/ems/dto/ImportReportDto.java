@@ -0,0 +1,46 @@
+package com.capstone.ems.dto;
+
+import java.util.List;
+
+public class ImportReportDto {
+
+    private int totalRows;
+    private int created;
+    private int failed;
+    // True when the file had more rows than the import limit; the rest were not read
+    private boolean truncated;
+    // Set when the file became unreadable part-way; rows before that point are reported as usual
+    private String error;
+    private List<ImportRowResultDto> rows;
+
+    public ImportReportDto() {
+    }
+
+    public ImportReportDto(int totalRows, int created, int failed, boolean truncated, String error,
+                           List<ImportRowResultDto> rows) {
+        this.totalRows = totalRows;
+        this.created = created;
+        this.failed = failed;
+        this.truncated = truncated;
+        this.error = error;
+        this.rows = rows;
+    }
+
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public List<ImportRowResultDto> getRows() { return rows; }
+    public void setRows(List<ImportRowResultDto> rows) { this.rows = rows; }
+}
@@ -0,0 +1,53 @@
+package com.capstone.ems.dto;
+
+import java.util.List;
+
+public class ImportRowResultDto {
+
+    public enum Status { CREATED, FAILED }
+
+    private int row;
+    private Status status;
+    private Long employeeId;
+    private String email;
+    private String username;
+    private List<String> errors;
+
+    public ImportRowResultDto() {
+    }
+
+    public ImportRowResultDto(int row, Status status, Long employeeId, String email, String username, List<String> errors) {
+        this.row = row;
+        this.status = status;
+        this.employeeId = employeeId;
+        this.email = email;
+        this.username = username;
+        this.errors = errors;
+    }
+
+    public static ImportRowResultDto created(int row, Long employeeId, String email, String username) {
+        return new ImportRowResultDto(row, Status.CREATED, employeeId, email, username, List.of());
+    }
+
+    public static ImportRowResultDto failed(int row, String email, List<String> errors) {
+        return new ImportRowResultDto(row, Status.FAILED, null, email, null, errors);
+    }
+
+    public int getRow() { return row; }
+    public void setRow(int row) { this.row = row; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
@@ -1,16 +1,28 @@
 // UserEntity.java
 package com.capstone.ems.model;
 
+import com.capstone.ems.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
+@NaturalIdCache(region = SecondLevelCacheConfig.USERS_BY_USERNAME)
 public class UserEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (V6) so Hibernate can batch inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
+    // Never changes once created; username -> id is cached (see UserRepositoryCustom)
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String username;
 
@@ -0,0 +1,22 @@
+package com.capstone.ems.repo;
+
+import com.capstone.ems.model.EmailOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // Row-locks due messages; SKIP LOCKED lets several instances drain the outbox without
+    // blocking on (or double-sending) each other's batches. SENDING rows whose lease has
+    // run out belong to a dispatcher that died mid-batch and are picked up again.
+    @Query(value = "SELECT * FROM email_outbox " +
+                   "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at, id " +
+                   "LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<EmailOutbox> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
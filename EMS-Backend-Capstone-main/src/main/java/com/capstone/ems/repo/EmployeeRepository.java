@@ -1,13 +1,63 @@
 package com.capstone.ems.repo;
 
+import com.capstone.ems.config.SecondLevelCacheConfig;
 import com.capstone.ems.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
 
+    // Must match the idx_employees_search_trgm expression (V8) for the index to be used
+    String SEARCH_TEXT = "(e.name || ' ' || e.email || ' ' || e.designation)";
+
+    // Result ids cached in the query region; any write to employees invalidates it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.QUERIES)
+    })
     Optional<Employee> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    // Which of these emails are already taken (bulk import duplicate check)
+    @Query("SELECT e.email FROM Employee e WHERE e.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Single row: [headcount, salary sum]
+    @Query("SELECT COUNT(e), COALESCE(SUM(e.salary), 0) FROM Employee e")
+    List<Object[]> aggregateHeadcountAndSalary();
+
+    // One row per day: [day, joiners]
+    @Query("SELECT CAST(e.createdAt AS LocalDate), COUNT(e) FROM Employee e " +
+           "WHERE e.createdAt >= :since GROUP BY CAST(e.createdAt AS LocalDate)")
+    List<Object[]> countJoinersPerDaySince(@Param("since") LocalDateTime since);
+
+    // Typeahead index (re)build: plain tuples in id order, so nothing piles up in the
+    // persistence context; the fetch size keeps the driver on a cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.id AS id, e.name AS name, e.email AS email, e.designation AS designation " +
+           "FROM Employee e ORDER BY e.id")
+    Stream<EmployeeSuggestRow> streamSuggestRows();
+
+    // Trigram search, best match first: <% keeps rows with a word similar to :q and
+    // <<-> (1 - word similarity) ranks them, both served by the GiST index. Fetch
+    // limit + offset stays small, so only the top of the KNN scan is read.
+    @Query(value = "SELECT e.id AS id, CAST(1 - (:q <<-> " + SEARCH_TEXT + ") AS double precision) AS score " +
+                   "FROM employees e WHERE :q <% " + SEARCH_TEXT + " " +
+                   "ORDER BY :q <<-> " + SEARCH_TEXT + ", e.id " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<EmployeeSearchMatch> searchRanked(@Param("q") String query,
+                                           @Param("limit") int limit,
+                                           @Param("offset") int offset);
 }
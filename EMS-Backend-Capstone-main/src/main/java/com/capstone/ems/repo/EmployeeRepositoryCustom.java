@@ -0,0 +1,32 @@
+package com.capstone.ems.repo;
+
+import com.capstone.ems.model.Employee;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Hand-built queries for the employee listing that Spring Data cannot derive:
+ * optional filters plus keyset ("seek") pagination on a whitelisted sort column.
+ */
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Returns at most {@code limit} employees matching the filters, ordered by
+     * {@code sortBy} and then {@code id}, strictly after the given cursor position.
+     * A {@code null} {@code lastId} means "start from the first row".
+     */
+    List<Employee> findPageAfter(String designation,
+                                 String namePrefix,
+                                 String sortBy,
+                                 boolean ascending,
+                                 Object lastSortValue,
+                                 Long lastId,
+                                 int limit);
+
+    /**
+     * Streams every employee matching the filters in id order over a server-side
+     * cursor of {@code fetchSize} rows. Must be consumed inside a transaction and closed.
+     */
+    Stream<Employee> streamFiltered(String designation, String namePrefix, int fetchSize);
+}
@@ -0,0 +1,119 @@
+package com.capstone.ems.repo;
+
+import com.capstone.ems.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Employee> findPageAfter(String designation,
+                                        String namePrefix,
+                                        String sortBy,
+                                        boolean ascending,
+                                        Object lastSortValue,
+                                        Long lastId,
+                                        int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+
+        List<Predicate> predicates = filterPredicates(cb, root, designation, namePrefix);
+        if (lastId != null) {
+            predicates.add(afterCursor(cb, root, sortBy, ascending, lastSortValue, lastId));
+        }
+
+        query.select(root).where(predicates.toArray(new Predicate[0]));
+
+        // id is always the tie-breaker so the order is total and the cursor is unambiguous
+        if ("id".equals(sortBy)) {
+            query.orderBy(ascending ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+        } else {
+            query.orderBy(
+                    ascending ? cb.asc(root.get(sortBy)) : cb.desc(root.get(sortBy)),
+                    ascending ? cb.asc(root.get("id")) : cb.desc(root.get("id"))
+            );
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Employee> streamFiltered(String designation, String namePrefix, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+        Root<Employee> root = query.from(Employee.class);
+
+        query.select(root)
+                .where(filterPredicates(cb, root, designation, namePrefix).toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+
+        // Fetch size makes the driver use a cursor instead of buffering the whole result set;
+        // read-only skips the dirty-checking snapshots
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Employee> root,
+                                             String designation, String namePrefix) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (designation != null && !designation.isBlank()) {
+            predicates.add(cb.equal(root.get("designation"), designation));
+        }
+
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            predicates.add(cb.like(
+                    cb.lower(root.get("name")),
+                    escapeLike(namePrefix.toLowerCase()) + "%",
+                    '\\'
+            ));
+        }
+
+        return predicates;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate afterCursor(CriteriaBuilder cb, Root<Employee> root, String sortBy,
+                                  boolean ascending, Object lastSortValue, Long lastId) {
+
+        Path<Long> id = root.get("id");
+        Predicate idAfter = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+
+        if ("id".equals(sortBy)) {
+            return idAfter;
+        }
+
+        // (col > v) OR (col = v AND id > lastId), mirrored for descending order
+        Path<Comparable> column = root.get(sortBy);
+        Comparable value = (Comparable) lastSortValue;
+        Predicate beyond = ascending ? cb.greaterThan(column, value) : cb.lessThan(column, value);
+
+        return cb.or(beyond, cb.and(cb.equal(column, value), idAfter));
+    }
+
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
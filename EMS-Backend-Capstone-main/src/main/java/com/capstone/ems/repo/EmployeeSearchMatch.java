@@ -0,0 +1,12 @@
+package com.capstone.ems.repo;
+
+/**
+ * One ranked hit of EmployeeRepository.searchRanked: the employee id and its
+ * word similarity to the query (0..1, higher is better).
+ */
+public interface EmployeeSearchMatch {
+
+    Long getId();
+
+    Double getScore();
+}
@@ -0,0 +1,15 @@
+package com.capstone.ems.repo;
+
+/**
+ * The columns the typeahead index keeps per employee (EmployeeRepository.streamSuggestRows).
+ */
+public interface EmployeeSuggestRow {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    String getDesignation();
+}
@@ -1,15 +1,27 @@
 package com.capstone.ems.repo;
 
+import com.capstone.ems.config.SecondLevelCacheConfig;
 import com.capstone.ems.model.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+// findByUsername / existsByUsername are natural-id lookups in UserRepositoryCustom
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserRepositoryCustom {
 
-    Optional<UserEntity> findByUsername(String username);
+    @Query("SELECT u.username FROM UserEntity u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
 
-    boolean existsByUsername(String username);
-    
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.QUERIES)
+    })
     Optional<UserEntity> findByEmployeeId(Long employeeId);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.capstone.ems.repo;
+
+import com.capstone.ems.model.UserEntity;
+
+import java.util.Optional;
+
+/**
+ * Username lookups resolved through Hibernate's natural-id API, so repeat lookups
+ * (login, JWT user-state checks, credential resets) are answered from the
+ * second-level cache instead of a {@code WHERE username = ?} query each time.
+ */
+public interface UserRepositoryCustom {
+
+    Optional<UserEntity> findByUsername(String username);
+
+    boolean existsByUsername(String username);
+}
@@ -0,0 +1,36 @@
+package com.capstone.ems.repo;
+
+import com.capstone.ems.model.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Transactional so the unwrapped Session is the bound one, not a throw-away shared-EM target.
+    // Read-write on purpose: login and the user-state check must see the primary, and only a
+    // primary read may fill the users / users-by-username regions (a replica read could bring
+    // back a user deleted a moment ago and keep it cached for the region TTL).
+    @Override
+    @Transactional
+    public Optional<UserEntity> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .loadOptional(username);
+    }
+
+    @Override
+    @Transactional
+    public boolean existsByUsername(String username) {
+        return findByUsername(username).isPresent();
+    }
+}
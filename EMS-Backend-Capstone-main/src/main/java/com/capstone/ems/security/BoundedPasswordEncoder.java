@@ -0,0 +1,157 @@
+package com.capstone.ems.security;
+
+import com.capstone.ems.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt on a dedicated, bounded worker pool.
+ *
+ * Hashing is pure CPU, so the pool is sized to the cores and request threads
+ * only hand work to it and wait. When more than queueCapacity hashes are
+ * already waiting, callers fail immediately with {@link ServiceUnavailableException}
+ * (503) instead of piling up; a login storm therefore cannot occupy every
+ * servlet thread. Queue wait and hashing time are recorded as
+ * ems.password.queue-wait and ems.password.hash{operation}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final Timer queueWait;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMs, MeterRegistry meterRegistry) {
+        this(new BCryptPasswordEncoder(strength), threads, queueCapacity, timeoutMs, meterRegistry);
+    }
+
+    BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMs,
+                           MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIds = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWait = Timer.builder("ems.password.queue-wait")
+                .description("Time a hash request waited for a worker")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("ems.password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("ems.password.hash").tag("operation", "matches").register(meterRegistry);
+        this.rejected = Counter.builder("ems.password.rejected")
+                .description("Hash requests refused because the queue was full or the wait timed out")
+                .register(meterRegistry);
+        Gauge.builder("ems.password.queue-depth", executor, pool -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Cheap (parses the hash prefix), so it runs on the caller's thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hashes a batch on the pool. At most one task per worker is in flight at a
+     * time, so a large batch never fills the queue that interactive logins share.
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        int window = executor.getMaximumPoolSize();
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        for (int from = 0; from < rawPasswords.size(); from += window) {
+            List<Future<String>> inFlight = new ArrayList<>(window);
+            try {
+                for (CharSequence raw : rawPasswords.subList(from, Math.min(from + window, rawPasswords.size()))) {
+                    inFlight.add(submit(encodeTimer, () -> delegate.encode(raw)));
+                }
+            } catch (ServiceUnavailableException e) {
+                inFlight.forEach(future -> future.cancel(true));
+                throw e;
+            }
+            for (Future<String> future : inFlight) {
+                hashes.add(await(future));
+            }
+        }
+        return hashes;
+    }
+
+    private <T> T run(Timer timer, Callable<T> work) {
+        return await(submit(timer, work));
+    }
+
+    private <T> Future<T> submit(Timer timer, Callable<T> work) {
+        long submittedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Server is busy, please retry shortly");
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ServiceUnavailableException("Server is busy, please retry shortly");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while hashing password");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
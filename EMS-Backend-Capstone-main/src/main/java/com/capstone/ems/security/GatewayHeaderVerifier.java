@@ -0,0 +1,97 @@
+package com.capstone.ems.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Fast path for requests that came through the API gateway.
+ *
+ * The gateway verifies the JWT and forwards the claims as X-Auth-* headers
+ * signed with HMAC-SHA256 (GATEWAY_SIGNING_SECRET). When
+ * ems.security.gateway-headers.enabled is set, a valid signature lets
+ * JwtAuthFilter skip parsing the token itself. Anything missing, unsigned or
+ * expired returns null, and the filter falls back to full JWT verification.
+ * Must stay in sync with the gateway's InternalAuthHeaders.
+ */
+@Component
+public class GatewayHeaderVerifier {
+
+    public static final String SUBJECT = "X-Auth-Subject";
+    public static final String ROLE = "X-Auth-Role";
+    public static final String EMPLOYEE_ID = "X-Auth-Employee-Id";
+    public static final String ISSUED_AT = "X-Auth-Issued-At";
+    public static final String EXPIRES = "X-Auth-Expires";
+    public static final String SIGNATURE = "X-Auth-Signature";
+
+    private final boolean enabled;
+    private final byte[] secret;
+
+    public GatewayHeaderVerifier(@Value("${ems.security.gateway-headers.enabled:false}") boolean enabled,
+                                 @Value("${ems.security.gateway-headers.secret:}") String secret) {
+        this.enabled = enabled && !secret.isBlank();
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public Claims verifiedClaims(HttpServletRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        String signature = request.getHeader(SIGNATURE);
+        if (signature == null) {
+            return null;
+        }
+
+        String subject = request.getHeader(SUBJECT);
+        String role = request.getHeader(ROLE);
+        String employeeId = request.getHeader(EMPLOYEE_ID);
+        String issuedAt = request.getHeader(ISSUED_AT);
+        String expires = request.getHeader(EXPIRES);
+
+        String expected = sign(canonical(subject, role, employeeId, issuedAt, expires));
+        if (!GatewaySignatures.matches(expected, signature)) {
+            return null;
+        }
+
+        try {
+            if (subject == null || expires == null
+                    || Long.parseLong(expires) * 1000 < System.currentTimeMillis()) {
+                return null;
+            }
+
+            Claims claims = Jwts.claims();
+            claims.setSubject(subject);
+            claims.put("role", role);
+            if (employeeId != null) {
+                claims.put("employeeId", Long.valueOf(employeeId));
+            }
+            if (issuedAt != null) {
+                claims.setIssuedAt(new Date(Long.parseLong(issuedAt) * 1000));
+            }
+            claims.setExpiration(new Date(Long.parseLong(expires) * 1000));
+            return claims;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // subject \n role \n employeeId \n issuedAt \n expires, "" for absent values
+    static String canonical(String subject, String role, String employeeId, String issuedAt, String expires) {
+        return String.join("\n",
+                nullToEmpty(subject), nullToEmpty(role), nullToEmpty(employeeId),
+                nullToEmpty(issuedAt), nullToEmpty(expires));
+    }
+
+    String sign(String canonical) {
+        return GatewaySignatures.sign(secret, canonical);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
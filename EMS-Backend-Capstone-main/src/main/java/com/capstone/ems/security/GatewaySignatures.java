@@ -0,0 +1,36 @@
+package com.capstone.ems.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 over GATEWAY_SIGNING_SECRET, base64url without padding: the scheme of
+ * the gateway's InternalAuthHeaders.sign. Used for the signed X-Auth-* headers the
+ * gateway sends us and for the cache purges we send the gateway.
+ */
+public final class GatewaySignatures {
+
+    private GatewaySignatures() {
+    }
+
+    public static String sign(byte[] secret, String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    // Constant time, so a forged signature can't be found byte by byte
+    public static boolean matches(String expected, String signature) {
+        return signature != null && MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.US_ASCII), signature.getBytes(StandardCharsets.US_ASCII));
+    }
+}
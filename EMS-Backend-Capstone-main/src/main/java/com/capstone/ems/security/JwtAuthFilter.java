@@ -1,7 +1,6 @@
 package com.capstone.ems.security;
 
-import com.capstone.ems.model.UserEntity;
-import com.capstone.ems.repo.UserRepository;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
@@ -24,11 +23,15 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final UserStateCache userStateCache;
+    private final GatewayHeaderVerifier gatewayHeaderVerifier;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthFilter(JwtUtil jwtUtil,
+                         UserStateCache userStateCache,
+                         GatewayHeaderVerifier gatewayHeaderVerifier) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.userStateCache = userStateCache;
+        this.gatewayHeaderVerifier = gatewayHeaderVerifier;
     }
 
     @Override
@@ -46,17 +49,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         final String token = authHeader.substring(7);
-        String username = null;
+        Claims claims;
 
         try {
-            // Validate token using improved JwtUtil methods
-            if (!jwtUtil.isTokenValid(token)) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                return;
+            // Fast path: identity already verified and signed by the gateway
+            claims = gatewayHeaderVerifier.verifiedClaims(request);
+            if (claims == null) {
+                // Single (cached) signature check; throws for expired or invalid tokens
+                claims = jwtUtil.parseClaims(token);
             }
 
-            username = jwtUtil.extractUsername(token);
-
         } catch (ExpiredJwtException e) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Token expired");
@@ -73,31 +75,35 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
+        String username = claims.getSubject();
+
         // If username is extracted and no authentication exists yet
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserEntity user = userRepository.findByUsername(username).orElse(null);
-
-            if (user != null) {
+            // No-op unless ems.security.user-state-check.enabled; otherwise a cached lookup
+            if (!userStateCache.isActive(username, claims.getIssuedAt())) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("Token revoked");
+                return;
+            }
 
-                // Extract role after confirming user exists
-                String role = jwtUtil.extractRole(token);
+            String role = claims.get("role", String.class);
+            JwtPrincipal principal = new JwtPrincipal(username, role, claims.get("employeeId", Long.class));
 
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                user,
-                                null,
-                                List.of(new SimpleGrantedAuthority("ROLE_" + role))
-                        );
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            principal,
+                            null,
+                            List.of(new SimpleGrantedAuthority("ROLE_" + role))
+                    );
 
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
 
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.capstone.ems.security;
+
+import java.security.Principal;
+
+/**
+ * Authenticated caller, built straight from verified JWT claims.
+ * Replaces the UserEntity principal so authentication needs no database lookup.
+ */
+public class JwtPrincipal implements Principal {
+
+    private final String username;
+    private final String role;
+    private final Long employeeId;
+
+    public JwtPrincipal(String username, String role, Long employeeId) {
+        this.username = username;
+        this.role = role;
+        this.employeeId = employeeId;
+    }
+
+    @Override
+    public String getName() { return username; }
+
+    public String getUsername() { return username; }
+
+    public String getRole() { return role; }
+
+    public Long getEmployeeId() { return employeeId; }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal{username='" + username + "', role='" + role + "', employeeId=" + employeeId + "}";
+    }
+}
@@ -1,16 +1,25 @@
 package com.capstone.ems.security;
 
 import com.capstone.ems.repo.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -44,6 +53,36 @@ public class SecurityConfig {
                         .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
+    // Prometheus scrapes with HTTP basic (ems.metrics.scrape.*) rather than a JWT. Without a
+    // password this chain is not registered and /actuator/prometheus stays ADMIN-only.
+    @Bean
+    @Order(1)
+    @ConditionalOnExpression("!'${ems.metrics.scrape.password:}'.isBlank()")
+    public SecurityFilterChain metricsScrapeFilterChain(HttpSecurity http,
+                                                        @Value("${ems.metrics.scrape.username:prometheus}") String username,
+                                                        @Value("${ems.metrics.scrape.password}") String password)
+            throws Exception {
+        PasswordEncoder scrapeEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        DaoAuthenticationProvider scraper = new DaoAuthenticationProvider();
+        scraper.setPasswordEncoder(scrapeEncoder);
+        scraper.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                .password(scrapeEncoder.encode(password))
+                .roles("METRICS")
+                .build()));
+
+        http
+            .securityMatcher("/actuator/prometheus")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session ->
+                    session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+            )
+            .authenticationManager(new ProviderManager(scraper))
+            .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"))
+            .httpBasic(Customizer.withDefaults());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -59,8 +98,10 @@ public class SecurityConfig {
                             "/swagger-ui/**",
                             "/v3/api-docs/**",
                             "/swagger-ui.html",
-                            "/error"
+                            "/error",
+                            "/actuator/health/**"
                     ).permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     .requestMatchers("/auth/create-user").hasRole("ADMIN")
                     .requestMatchers("/auth/reset-credentials/**").hasRole("ADMIN")
                     .anyRequest().authenticated()
@@ -0,0 +1,90 @@
+package com.capstone.ems.security;
+
+import com.capstone.ems.repo.UserRepository;
+import com.capstone.ems.service.GatewayCacheInvalidator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Revocation check for JWTs (ems.security.user-state-check.enabled, on by default).
+ *
+ * Tokens are self-contained, so a deleted user or a reset password would otherwise
+ * keep working until exp. When enabled, each request is checked against
+ * a short-TTL "user still exists" cache and a per-user "tokens issued before" mark
+ * set by {@link #invalidate(String)}. Marks are local to this instance; on other
+ * instances the existence check catches deletions within one TTL. Each mark is also
+ * pushed to the gateway after commit, since its cached responses skip this check.
+ */
+@Component
+public class UserStateCache {
+
+    private final UserRepository userRepository;
+    private final GatewayCacheInvalidator gatewayCacheInvalidator;
+    private final boolean enabled;
+
+    // username -> exists in the users table
+    private final Cache<String, Boolean> activeUsers;
+
+    // username -> epoch second of the last credential change; tokens from earlier seconds are rejected
+    private final Cache<String, Long> revokedBefore;
+
+    public UserStateCache(UserRepository userRepository,
+                          GatewayCacheInvalidator gatewayCacheInvalidator,
+                          @Value("${ems.security.user-state-check.enabled:true}") boolean enabled,
+                          @Value("${ems.security.user-state-check.ttl-ms:30000}") long ttlMs,
+                          @Value("${JWT_EXPIRATION_MS:18000000}") long tokenLifetimeMs) {
+        this.userRepository = userRepository;
+        this.gatewayCacheInvalidator = gatewayCacheInvalidator;
+        this.enabled = enabled;
+        this.activeUsers = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        // A mark only matters while tokens issued before it can still be unexpired
+        this.revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(tokenLifetimeMs))
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return false if the user no longer exists or the token predates a credential change
+     */
+    public boolean isActive(String username, Date issuedAt) {
+        if (!enabled) {
+            return true;
+        }
+
+        Long mark = revokedBefore.getIfPresent(username);
+        // iat has second precision: compare whole seconds, so the token a user gets by logging in
+        // right after a reset (same second as the mark) is accepted
+        if (mark != null && (issuedAt == null || issuedAt.toInstant().getEpochSecond() < mark)) {
+            return false;
+        }
+
+        return activeUsers.get(username, userRepository::existsByUsername);
+    }
+
+    /**
+     * Called after a user is deleted or their password changes: drops the cached
+     * state and rejects every token issued before the current second.
+     */
+    public void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+        long mark = Instant.now().getEpochSecond();
+        activeUsers.invalidate(username);
+        revokedBefore.put(username, mark);
+        gatewayCacheInvalidator.revokeAfterCommit(username, mark);
+    }
+}
@@ -3,14 +3,18 @@ package com.capstone.ems.service;
 import com.capstone.ems.dto.AuthRequest;
 import com.capstone.ems.dto.AuthResponse;
 import com.capstone.ems.dto.CreateUserRequest;
+import com.capstone.ems.exception.ServiceUnavailableException;
 import com.capstone.ems.model.Employee;
 import com.capstone.ems.model.UserEntity;
 import com.capstone.ems.repo.EmployeeRepository;
 import com.capstone.ems.repo.UserRepository;
 import com.capstone.ems.security.JwtUtil;
+import com.capstone.ems.security.UserStateCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.annotation.PostConstruct;
@@ -23,19 +27,25 @@ public class AuthService {
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final UserStateCache userStateCache;
+    private final TransactionTemplate transactionTemplate;
 
     
     public AuthService(UserRepository userRepository,
                        EmployeeRepository employeeRepository,
                        PasswordEncoder passwordEncoder,
                        JwtUtil jwtUtil,
-                       EmailService emailService) {
+                       EmailOutboxService emailOutboxService,
+                       UserStateCache userStateCache,
+                       PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
         this.employeeRepository = employeeRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
+        this.userStateCache = userStateCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @PostConstruct
@@ -69,6 +79,18 @@ public class AuthService {
         if (!user.getRole().equalsIgnoreCase(requiredRole)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied: wrong login portal");
         }
+
+        // Hash was made with an older cost factor: re-encode now that we have the raw password.
+        // Same password, so existing tokens stay valid (no userStateCache invalidation).
+        // Optional work: if the hashing pool is saturated, skip it and try again on a later login.
+        if (passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            try {
+                user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+                userRepository.save(user);
+            } catch (ServiceUnavailableException e) {
+                // The password was verified; the login goes ahead on the old hash
+            }
+        }
         Long employeeId = user.getEmployee() != null ? user.getEmployee().getId() : null;
         String token = jwtUtil.generateToken(user.getUsername(), user.getRole(), employeeId);
         return new AuthResponse(token, user.getRole(), employeeId);
@@ -119,6 +141,7 @@ public class AuthService {
         //Update Password
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userStateCache.invalidate(user.getUsername());
     }
 
     // -------------------- UPDATED: ADMIN RESET CREDENTIALS --------------------
@@ -126,28 +149,35 @@ public class AuthService {
         Employee emp = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee not found"));
         
-        String derivedUsername = emp.getEmail().split("@")[0];
+        String derivedUsername = DefaultCredentials.username(emp.getEmail());
         
-        UserEntity user = userRepository.findByUsername(derivedUsername)
+        UserEntity existing = userRepository.findByUsername(derivedUsername)
                  .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Linked user account not found"));
 
         
-        int day = emp.getBirthDate().getDayOfMonth();
-        String datePart = String.format("%02d", day);
-        
-        String defaultPass = user.getUsername() + "$$" + datePart;
-
-        user.setPasswordHash(passwordEncoder.encode(defaultPass));
-        userRepository.save(user);
+        String defaultPass = DefaultCredentials.password(existing.getUsername(), emp.getBirthDate());
+
+        // Hash outside the transaction, so no pooled connection is held while BCrypt runs
+        String passwordHash = passwordEncoder.encode(defaultPass);
+
+        // Password change and queued reset email commit together
+        transactionTemplate.executeWithoutResult(status -> {
+            // Re-read on the primary, so saving it cannot write back columns from a lagging replica
+            UserEntity user = userRepository.findByUsername(derivedUsername)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Linked user account not found"));
+            user.setPasswordHash(passwordHash);
+            userRepository.save(user);
+            userStateCache.invalidate(user.getUsername());
+
+            //QUEUE RESET NOTIFICATION EMAIL (sent by EmailOutboxDispatcher after commit)
+            emailOutboxService.enqueueResetNotification(
+                emp.getEmail(),
+                emp.getName(),
+                user.getUsername(),
+                defaultPass 
+            );
+        });
         
-        System.out.println("Admin reset password for " + user.getUsername() + " to: " + defaultPass);
-
-        //SEND RESET NOTIFICATION EMAIL
-        emailService.sendResetNotification(
-            emp.getEmail(),
-            emp.getName(),
-            user.getUsername(),
-            defaultPass 
-        );
+        System.out.println("Admin reset password for " + existing.getUsername() + " to: " + defaultPass);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.capstone.ems.service;
+
+import java.time.LocalDate;
+
+/**
+ * The initial login handed to every new employee (and restored by an admin reset):
+ * username = local part of the email, password = username + "$$" + two-digit birth day.
+ */
+public final class DefaultCredentials {
+
+    private DefaultCredentials() {
+    }
+
+    public static String username(String email) {
+        return email.split("@")[0];
+    }
+
+    public static String password(String username, LocalDate birthDate) {
+        return username + "$$" + String.format("%02d", birthDate.getDayOfMonth());
+    }
+}
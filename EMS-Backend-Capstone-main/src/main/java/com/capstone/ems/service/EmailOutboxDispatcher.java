@@ -0,0 +1,131 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.model.EmailOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Background sender for {@link EmailOutbox} rows.
+ *
+ * Each batch goes out through a single {@code JavaMailSender.send(SimpleMailMessage...)}
+ * call, which reuses one SMTP connection for the whole batch instead of a
+ * connect / STARTTLS / AUTH handshake per mail. Per-message failures are
+ * rescheduled individually; the rest of the batch is still marked sent.
+ * Each SMTP round is timed as ems.mail.send{outcome}; delivered and failed
+ * messages are counted as ems.mail.messages{result}.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxService outboxService;
+    private final EmailService emailService;
+    private final JavaMailSender mailSender;
+
+    @Value("${ems.mail.outbox.batch-size:50}")
+    private int batchSize = 50;
+
+    // Upper bound on batches per tick so one run can't monopolise the scheduler thread
+    @Value("${ems.mail.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter messagesSent;
+    private final Counter messagesFailed;
+
+    @Autowired
+    public EmailOutboxDispatcher(EmailOutboxService outboxService,
+                                 EmailService emailService,
+                                 JavaMailSender mailSender,
+                                 MeterRegistry meterRegistry) {
+        this.outboxService = outboxService;
+        this.emailService = emailService;
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.messagesSent = Counter.builder("ems.mail.messages").tag("result", "sent").register(meterRegistry);
+        this.messagesFailed = Counter.builder("ems.mail.messages").tag("result", "failed").register(meterRegistry);
+    }
+
+    public EmailOutboxDispatcher(EmailOutboxService outboxService,
+                                 EmailService emailService,
+                                 JavaMailSender mailSender) {
+        this(outboxService, emailService, mailSender, new SimpleMeterRegistry());
+    }
+
+    @Scheduled(fixedDelayString = "${ems.mail.outbox.poll-interval-ms:2000}")
+    public void dispatchPending() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            if (dispatchBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claims and sends one batch.
+     *
+     * @return number of rows claimed
+     */
+    public int dispatchBatch() {
+        List<EmailOutbox> batch = outboxService.claimBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<SimpleMailMessage, EmailOutbox> byMessage = new IdentityHashMap<>();
+        for (EmailOutbox mail : batch) {
+            byMessage.put(emailService.buildMessage(mail.getRecipient(), mail.getSubject(), mail.getBody()), mail);
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(byMessage.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            // Keys are the original SimpleMailMessage instances; a connection failure lists every message
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                byMessage.keySet().forEach(message -> failures.put(message, e));
+            }
+        } catch (MailException e) {
+            // Authentication / preparation errors abort the whole batch
+            byMessage.keySet().forEach(message -> failures.put(message, e));
+        }
+
+        String outcome = failures.isEmpty() ? "success" : failures.size() < byMessage.size() ? "partial" : "failure";
+        sample.stop(meterRegistry.timer("ems.mail.send", "outcome", outcome));
+
+        List<Long> sent = new ArrayList<>();
+        for (Map.Entry<SimpleMailMessage, EmailOutbox> entry : byMessage.entrySet()) {
+            Exception failure = failures.get(entry.getKey());
+            if (failure == null) {
+                sent.add(entry.getValue().getId());
+            } else {
+                outboxService.markFailed(entry.getValue().getId(), failure.getMessage());
+            }
+        }
+        outboxService.markSent(sent);
+        messagesSent.increment(sent.size());
+        messagesFailed.increment(batch.size() - sent.size());
+
+        if (!failures.isEmpty()) {
+            System.err.println("Email outbox: " + failures.size() + " of " + batch.size()
+                    + " messages failed and were rescheduled");
+        }
+        return batch.size();
+    }
+}
@@ -0,0 +1,140 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.model.EmailOutbox;
+import com.capstone.ems.repo.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Persistent queue of outgoing account emails.
+ *
+ * Callers enqueue inside their own transaction, so a mail row exists if and only if
+ * the employee / user change it describes was committed. {@link EmailOutboxDispatcher}
+ * drains the table in the background with retry and exponential backoff.
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final Clock clock;
+
+    @Value("${ems.mail.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${ems.mail.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs = 30_000;
+
+    @Value("${ems.mail.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs = 3_600_000;
+
+    // How long a claimed batch stays invisible to other dispatchers before it is retried
+    @Value("${ems.mail.outbox.lease-ms:120000}")
+    private long leaseMs = 120_000;
+
+    @Autowired
+    public EmailOutboxService(EmailOutboxRepository outboxRepository, EmailService emailService) {
+        this(outboxRepository, emailService, Clock.systemDefaultZone());
+    }
+
+    EmailOutboxService(EmailOutboxRepository outboxRepository, EmailService emailService, Clock clock) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.clock = clock;
+    }
+
+    // -------------------- ENQUEUE (joins the caller's transaction) --------------------
+
+    @Transactional
+    public void enqueueWelcomeEmail(String toEmail, String name, String username, String password) {
+        enqueue(emailService.buildWelcomeEmail(toEmail, name, username, password));
+    }
+
+    @Transactional
+    public void enqueueResetNotification(String toEmail, String name, String username, String newPassword) {
+        enqueue(emailService.buildResetNotification(toEmail, name, username, newPassword));
+    }
+
+    private void enqueue(SimpleMailMessage message) {
+        String recipient = message.getTo()[0];
+        outboxRepository.save(new EmailOutbox(recipient, message.getSubject(), message.getText(), now()));
+    }
+
+    // -------------------- DISPATCH BOOKKEEPING --------------------
+
+    /**
+     * Locks up to {@code limit} due rows, marks them SENDING with a lease and commits,
+     * so the SMTP round trip happens outside any database transaction.
+     */
+    @Transactional
+    public List<EmailOutbox> claimBatch(int limit) {
+        LocalDateTime now = now();
+        List<EmailOutbox> batch = outboxRepository.lockDueBatch(now, limit);
+        for (EmailOutbox mail : batch) {
+            mail.setStatus(EmailOutbox.Status.SENDING);
+            mail.setAttempts(mail.getAttempts() + 1);
+            mail.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMs)));
+        }
+        return batch;
+    }
+
+    @Transactional
+    public void markSent(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = now();
+        for (EmailOutbox mail : outboxRepository.findAllById(ids)) {
+            mail.setStatus(EmailOutbox.Status.SENT);
+            mail.setSentAt(now);
+            mail.setBody(null);
+            mail.setLastError(null);
+        }
+    }
+
+    @Transactional
+    public void markFailed(Long id, String error) {
+        outboxRepository.findById(id).ifPresent(mail -> {
+            mail.setLastError(truncate(error));
+            if (mail.getAttempts() >= maxAttempts) {
+                mail.setStatus(EmailOutbox.Status.FAILED);
+                // Never sent again, so don't keep the plaintext initial password around
+                mail.setBody(null);
+                System.err.println("Giving up on email " + id + " to " + mail.getRecipient()
+                        + " after " + mail.getAttempts() + " attempts: " + error);
+                return;
+            }
+            mail.setStatus(EmailOutbox.Status.PENDING);
+            mail.setNextAttemptAt(now().plus(Duration.ofMillis(backoffMs(mail.getAttempts()))));
+        });
+    }
+
+    // initial * 2^(attempts - 1), capped
+    long backoffMs(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        long delay = initialBackoffMs << shift;
+        return (delay <= 0 || delay > maxBackoffMs) ? maxBackoffMs : delay;
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,182 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.dto.EmployeeDto;
+import com.capstone.ems.exception.BadRequestException;
+import com.capstone.ems.model.Employee;
+import com.capstone.ems.repo.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the employee directory straight to an output stream, one row at a time.
+ * Rows come from a database cursor and are detached as soon as they are written,
+ * so memory use does not grow with the size of the table. A slow client simply
+ * blocks the write, which in turn stops the cursor from fetching further rows.
+ */
+@Service
+public class EmployeeExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format from(String value) {
+            if (value == null || value.isBlank()) {
+                return NDJSON;
+            }
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("Unsupported export format: " + value);
+        }
+    }
+
+    private static final String CSV_HEADER = "id,name,email,designation,salary,birthDate";
+
+    // Push buffered bytes to the client every N rows so downloads show progress
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EmployeeExportService(EmployeeRepository employeeRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${ems.employees.export.fetch-size:500}") int fetchSize) {
+        this.employeeRepository = employeeRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    // Runs on the async request thread, so it opens its own (read-only) transaction for the cursor
+    @Transactional(readOnly = true)
+    public void export(Format format, String designation, String namePrefix,
+                       boolean gzip, OutputStream out) throws IOException {
+
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, 8192) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                gzipStream != null ? gzipStream : out, StandardCharsets.UTF_8));
+
+        try (Stream<Employee> rows = employeeRepository.streamFiltered(designation, namePrefix, fetchSize)) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), writer);
+            } else {
+                writeNdjson(rows.iterator(), writer);
+            }
+        }
+
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        out.flush();
+    }
+
+    private void writeNdjson(Iterator<Employee> rows, Writer writer) throws IOException {
+        // Don't let Jackson close the response stream after each value
+        SequenceWriter sequence = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(writer);
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Employee employee = rows.next();
+            sequence.write(toDto(employee));
+            entityManager.detach(employee);
+
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                sequence.flush();
+            }
+        }
+        sequence.flush();
+        if (count > 0) {
+            writer.write('\n');
+        }
+    }
+
+    private void writeCsv(Iterator<Employee> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Employee employee = rows.next();
+            writer.write(String.valueOf(employee.getId()));
+            writer.write(',');
+            writer.write(csvField(employee.getName()));
+            writer.write(',');
+            writer.write(csvField(employee.getEmail()));
+            writer.write(',');
+            writer.write(csvField(employee.getDesignation()));
+            writer.write(',');
+            writer.write(employee.getSalary() != null ? employee.getSalary().toPlainString() : "");
+            writer.write(',');
+            writer.write(employee.getBirthDate() != null ? employee.getBirthDate().toString() : "");
+            writer.write('\n');
+            entityManager.detach(employee);
+
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        // Spreadsheet apps evaluate cells starting with these characters as formulas
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private EmployeeDto toDto(Employee employee) {
+        return new EmployeeDto(
+                employee.getId(),
+                employee.getName(),
+                employee.getEmail(),
+                employee.getDesignation(),
+                employee.getSalary(),
+                employee.getBirthDate()
+        );
+    }
+}
@@ -0,0 +1,435 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.dto.EmployeeDto;
+import com.capstone.ems.dto.ImportReportDto;
+import com.capstone.ems.dto.ImportRowResultDto;
+import com.capstone.ems.exception.BadRequestException;
+import com.capstone.ems.exception.ServiceUnavailableException;
+import com.capstone.ems.model.Employee;
+import com.capstone.ems.model.UserEntity;
+import com.capstone.ems.repo.EmployeeRepository;
+import com.capstone.ems.repo.UserRepository;
+import com.capstone.ems.security.BoundedPasswordEncoder;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk employee onboarding from a CSV file or a JSON array.
+ *
+ * The upload is read and validated one row at a time; valid rows are collected
+ * into chunks of chunkSize. For each chunk the passwords are hashed in parallel
+ * on the BCrypt pool before any connection is taken, then employees and users
+ * are written with saveAll in one short transaction (pooled sequence ids let
+ * Hibernate send them as JDBC batches). Welcome emails go to the outbox in the
+ * same transaction and are sent by EmailOutboxDispatcher after commit.
+ *
+ * Every row ends up in the report as CREATED or FAILED with its reasons; a chunk
+ * that fails to commit reports all of its rows as failed and the import goes on.
+ */
+@Service
+public class EmployeeImportService {
+
+    public enum Format {
+        CSV, JSON;
+
+        public static Format from(String contentType) {
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json")) {
+                return JSON;
+            }
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv")) {
+                return CSV;
+            }
+            throw new BadRequestException("Unsupported import content type: " + contentType);
+        }
+    }
+
+    static final List<String> CSV_COLUMNS = List.of("name", "email", "designation", "salary", "birthDate", "role");
+
+    private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EmailOutboxService emailOutboxService;
+    private final HomeStatsService homeStatsService;
+    private final GatewayCacheInvalidator gatewayCacheInvalidator;
+    private final EmployeeSuggestIndex suggestIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public EmployeeImportService(EmployeeRepository employeeRepository,
+                                 UserRepository userRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 EmailOutboxService emailOutboxService,
+                                 HomeStatsService homeStatsService,
+                                 GatewayCacheInvalidator gatewayCacheInvalidator,
+                                 EmployeeSuggestIndex suggestIndex,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${ems.employees.import.chunk-size:${spring.jpa.properties.hibernate.jdbc.batch_size:50}}") int chunkSize,
+                                 @Value("${ems.employees.import.max-rows:5000}") int maxRows) {
+        this.employeeRepository = employeeRepository;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.emailOutboxService = emailOutboxService;
+        this.homeStatsService = homeStatsService;
+        this.gatewayCacheInvalidator = gatewayCacheInvalidator;
+        this.suggestIndex = suggestIndex;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxRows = maxRows;
+    }
+
+    public ImportReportDto importEmployees(Format format, InputStream in) {
+        Batch batch = new Batch();
+        try {
+            if (format == Format.JSON) {
+                readJson(in, batch);
+            } else {
+                readCsv(in, batch);
+            }
+        } catch (IOException e) {
+            String reason = e instanceof JsonProcessingException json
+                    ? "Malformed JSON at line " + json.getLocation().getLineNr() + ": " + json.getOriginalMessage()
+                    : "Could not read import file: " + e.getMessage();
+            if (batch.results.isEmpty() && batch.pending.isEmpty()) {
+                throw new BadRequestException(reason);
+            }
+            // Earlier chunks may already be committed, so keep going and report where reading stopped
+            batch.error = reason;
+        }
+        flush(batch);
+
+        List<ImportRowResultDto> rows = batch.results;
+        rows.sort(Comparator.comparingInt(ImportRowResultDto::getRow));
+        int created = (int) rows.stream().filter(r -> r.getStatus() == ImportRowResultDto.Status.CREATED).count();
+        return new ImportReportDto(rows.size(), created, rows.size() - created, batch.truncated, batch.error, rows);
+    }
+
+    // -------------------- READERS --------------------
+
+    private void readJson(InputStream in, Batch batch) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("JSON import must be an array of employees");
+            }
+            int rowNumber = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                rowNumber++;
+                if (!batch.accepting(rowNumber, maxRows)) {
+                    return;
+                }
+                JsonNode node = parser.readValueAsTree();
+                EmployeeDto dto;
+                try {
+                    dto = objectMapper.treeToValue(node, EmployeeDto.class);
+                } catch (JsonProcessingException e) {
+                    String email = node.path("email").asText(null);
+                    batch.fail(rowNumber, email, List.of("Invalid value: " + e.getOriginalMessage()));
+                    continue;
+                }
+                accept(rowNumber, dto, batch);
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new JsonParseException(parser, "Element " + (rowNumber + 1) + " is not an employee object");
+            }
+        }
+    }
+
+    private void readCsv(InputStream in, Batch batch) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new BadRequestException("CSV import is empty");
+        }
+        Map<String, Integer> columns = csvColumns(parseCsvLine(stripBom(headerLine)));
+
+        int rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            if (!batch.accepting(rowNumber, maxRows)) {
+                return;
+            }
+            List<String> cells = parseCsvLine(line);
+            List<String> errors = new ArrayList<>();
+            EmployeeDto dto = new EmployeeDto();
+            dto.setName(cell(cells, columns, "name"));
+            dto.setEmail(cell(cells, columns, "email"));
+            dto.setDesignation(cell(cells, columns, "designation"));
+            dto.setRole(cell(cells, columns, "role"));
+
+            String salary = cell(cells, columns, "salary");
+            if (salary != null) {
+                try {
+                    dto.setSalary(new BigDecimal(salary));
+                } catch (NumberFormatException e) {
+                    errors.add("salary: not a number");
+                }
+            }
+            String birthDate = cell(cells, columns, "birthDate");
+            if (birthDate != null) {
+                try {
+                    dto.setBirthDate(LocalDate.parse(birthDate));
+                } catch (DateTimeParseException e) {
+                    errors.add("birthDate: expected yyyy-MM-dd");
+                }
+            }
+
+            if (!errors.isEmpty()) {
+                batch.fail(rowNumber, dto.getEmail(), errors);
+                continue;
+            }
+            accept(rowNumber, dto, batch);
+        }
+    }
+
+    private static Map<String, Integer> csvColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            for (String column : CSV_COLUMNS) {
+                if (column.equalsIgnoreCase(header.get(i).trim())) {
+                    columns.put(column, i);
+                }
+            }
+        }
+        List<String> missing = CSV_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static String cell(List<String> cells, Map<String, Integer> columns, String column) {
+        int index = columns.get(column);
+        if (index >= cells.size()) {
+            return null;
+        }
+        String value = cells.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 within a single line: quoted fields may contain commas and "" escapes
+    static List<String> parseCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        cells.add(current.toString());
+        return cells;
+    }
+
+    private static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    // -------------------- VALIDATION --------------------
+
+    private void accept(int rowNumber, EmployeeDto dto, Batch batch) {
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<EmployeeDto> violation : validator.validate(dto)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (errors.isEmpty()) {
+            String username = DefaultCredentials.username(dto.getEmail());
+            if (!batch.seenEmails.add(dto.getEmail().toLowerCase(Locale.ROOT))) {
+                errors.add("email: duplicated earlier in the file");
+            } else if (!batch.seenUsernames.add(username.toLowerCase(Locale.ROOT))) {
+                errors.add("username '" + username + "' is duplicated earlier in the file");
+            }
+        }
+        if (!errors.isEmpty()) {
+            Collections.sort(errors); // violation order is unspecified
+            batch.fail(rowNumber, dto.getEmail(), errors);
+            return;
+        }
+
+        batch.pending.add(new PendingRow(rowNumber, dto, DefaultCredentials.username(dto.getEmail())));
+        if (batch.pending.size() >= chunkSize) {
+            flush(batch);
+        }
+    }
+
+    // -------------------- WRITES --------------------
+
+    private void flush(Batch batch) {
+        if (batch.pending.isEmpty()) {
+            return;
+        }
+        List<PendingRow> chunk = new ArrayList<>(batch.pending);
+        batch.pending.clear();
+
+        // One IN query per table instead of an exists check per row
+        Set<String> takenEmails = new HashSet<>(employeeRepository.findExistingEmails(
+                chunk.stream().map(row -> row.dto.getEmail()).toList()));
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.username).toList()));
+
+        List<PendingRow> fresh = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            if (takenEmails.contains(row.dto.getEmail())) {
+                batch.fail(row.rowNumber, row.dto.getEmail(), List.of("email: already in use"));
+            } else if (takenUsernames.contains(row.username)) {
+                batch.fail(row.rowNumber, row.dto.getEmail(), List.of("username '" + row.username + "' already exists"));
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes;
+        try {
+            hashes = hashAll(fresh.stream()
+                    .map(row -> DefaultCredentials.password(row.username, row.dto.getBirthDate()))
+                    .toList());
+        } catch (ServiceUnavailableException e) {
+            failAll(batch, fresh, "Not imported: " + e.getMessage());
+            return;
+        }
+
+        try {
+            List<Employee> saved = transactionTemplate.execute(status -> insert(fresh, hashes));
+            for (int i = 0; i < fresh.size(); i++) {
+                PendingRow row = fresh.get(i);
+                batch.results.add(ImportRowResultDto.created(
+                        row.rowNumber, saved.get(i).getId(), row.dto.getEmail(), row.username));
+            }
+        } catch (DataAccessException e) {
+            System.err.println("Employee import chunk rolled back: " + e.getMostSpecificCause().getMessage());
+            failAll(batch, fresh, "Not imported: database error, retry these rows");
+        }
+    }
+
+    private List<Employee> insert(List<PendingRow> rows, List<String> hashes) {
+        List<Employee> employees = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            Employee employee = new Employee();
+            employee.setName(row.dto.getName());
+            employee.setEmail(row.dto.getEmail());
+            employee.setDesignation(row.dto.getDesignation());
+            employee.setSalary(row.dto.getSalary());
+            employee.setBirthDate(row.dto.getBirthDate());
+            employees.add(employee);
+        }
+        List<Employee> saved = employeeRepository.saveAll(employees);
+
+        List<UserEntity> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            UserEntity user = new UserEntity();
+            user.setUsername(rows.get(i).username);
+            user.setPasswordHash(hashes.get(i));
+            user.setRole(rows.get(i).dto.getRole());
+            user.setEmployee(saved.get(i));
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+
+        for (int i = 0; i < rows.size(); i++) {
+            PendingRow row = rows.get(i);
+            Employee employee = saved.get(i);
+            emailOutboxService.enqueueWelcomeEmail(employee.getEmail(), employee.getName(), row.username,
+                    DefaultCredentials.password(row.username, employee.getBirthDate()));
+            homeStatsService.onEmployeeCreated(employee);
+        }
+        suggestIndex.onEmployeesSaved(saved);
+        gatewayCacheInvalidator.invalidateAfterCommit(
+                GatewayCacheInvalidator.EMPLOYEES, GatewayCacheInvalidator.PUBLIC_STATS);
+        return saved;
+    }
+
+    private List<String> hashAll(List<String> rawPasswords) {
+        if (passwordEncoder instanceof BoundedPasswordEncoder bounded) {
+            return bounded.encodeAll(rawPasswords);
+        }
+        return rawPasswords.stream().map(passwordEncoder::encode).toList();
+    }
+
+    private static void failAll(Batch batch, List<PendingRow> rows, String reason) {
+        for (PendingRow row : rows) {
+            batch.fail(row.rowNumber, row.dto.getEmail(), List.of(reason));
+        }
+    }
+
+    private record PendingRow(int rowNumber, EmployeeDto dto, String username) {
+    }
+
+    // Per-import state: rows waiting for the next flush, duplicates seen so far and the report being built
+    private static final class Batch {
+        final List<PendingRow> pending = new ArrayList<>();
+        final Set<String> seenEmails = new HashSet<>();
+        final Set<String> seenUsernames = new HashSet<>();
+        final List<ImportRowResultDto> results = new ArrayList<>();
+        boolean truncated;
+        String error;
+
+        boolean accepting(int rowNumber, int maxRows) {
+            if (rowNumber > maxRows) {
+                truncated = true;
+                return false;
+            }
+            return true;
+        }
+
+        void fail(int rowNumber, String email, List<String> errors) {
+            results.add(ImportRowResultDto.failed(rowNumber, email, errors));
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.capstone.ems.service;
 
 import com.capstone.ems.dto.EmployeeDto;
+import com.capstone.ems.dto.EmployeePageDto;
+import com.capstone.ems.dto.EmployeeSearchPageDto;
+import com.capstone.ems.dto.EmployeeSuggestionDto;
 
 import java.util.List;
 
@@ -8,6 +11,17 @@ public interface EmployeeService {
 
     List<EmployeeDto> getAllEmployees();
 
+    EmployeePageDto getEmployeePage(String cursor,
+                                    Integer size,
+                                    String designation,
+                                    String namePrefix,
+                                    String sortBy,
+                                    String sortDir);
+
+    EmployeeSearchPageDto searchEmployees(String query, int page, Integer size);
+
+    List<EmployeeSuggestionDto> suggestEmployees(String query, Integer limit);
+
     EmployeeDto getEmployeeById(Long id);
 
     EmployeeDto createEmployee(EmployeeDto employeeDto);
@@ -0,0 +1,602 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.dto.EmployeeSuggestionDto;
+import com.capstone.ems.model.Employee;
+import com.capstone.ems.repo.EmployeeRepository;
+import com.capstone.ems.repo.EmployeeSuggestRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead over employee names and emails: per-keystroke suggestions
+ * never touch the database.
+ *
+ * Most entries live in an immutable {@link Segment}: every name and email in one
+ * char pool plus a sorted array of keys pointing into it (one per name word, one
+ * per email), so a key costs 8 bytes and no copy of its text. Writes reported by
+ * EmployeeServiceImpl and the bulk import land after commit in a small sorted delta
+ * that masks the segment's copy of those employees. A rebuild from the database
+ * folds the delta back in: at startup, on an interval (to pick up other instances'
+ * writes) and as soon as the delta outgrows ems.employees.suggest.max-delta.
+ */
+@Service
+public class EmployeeSuggestIndex {
+
+    // Keys per name: "Mary Ann van Dyke" is found by "mary", "ann", "van" and "dyke"
+    static final int MAX_NAME_KEYS = 4;
+
+    // Ends a delta key's text, ahead of the id that keeps keys unique; sorts below any real character
+    private static final char KEY_END = '\u0000';
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxEntries;
+    private final int maxDelta;
+    private final long rebuildIntervalNanos;
+
+    private volatile Segment segment = Segment.EMPTY;
+
+    // Delta: latest state of every employee changed since the segment was built (row == null: deleted)
+    private final ConcurrentHashMap<Long, DeltaRow> deltaRows = new ConcurrentHashMap<>();
+    // ... and the keys of the ones still present, "lower-cased key text \0 id" -> row
+    private final ConcurrentSkipListMap<String, Row> deltaKeys = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Serializes delta writes and the segment swap; readers never take it
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile long lastRebuildNanos = System.nanoTime();
+
+    public EmployeeSuggestIndex(EmployeeRepository employeeRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${ems.employees.suggest.max-entries:2000000}") int maxEntries,
+                                @Value("${ems.employees.suggest.max-delta:20000}") int maxDelta,
+                                @Value("${ems.employees.suggest.rebuild-interval-ms:300000}") long rebuildIntervalMs) {
+        this.employeeRepository = employeeRepository;
+        // Read-write on purpose: routed to the primary, so the rebuild never sees a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxEntries = maxEntries;
+        this.maxDelta = maxDelta;
+        this.rebuildIntervalNanos = TimeUnit.MILLISECONDS.toNanos(rebuildIntervalMs);
+
+        Gauge.builder("ems.suggest.entries", this, index -> index.segment.size())
+                .description("Employees in the typeahead segment (excluding the delta)")
+                .register(meterRegistry);
+        Gauge.builder("ems.suggest.delta", deltaRows, Map::size)
+                .description("Employees changed since the last typeahead rebuild")
+                .register(meterRegistry);
+        Gauge.builder("ems.suggest.memory", this, index -> index.segment.memoryBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // -------------------- READ PATH --------------------
+
+    /**
+     * Up to {@code limit} employees with a name word or email starting with
+     * {@code query} (case-insensitive), in key order, each employee once.
+     */
+    public List<EmployeeSuggestionDto> suggest(String query, int limit) {
+        String prefix = lower(query == null ? "" : query.strip());
+        if (prefix.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        Segment current = segment;
+        List<EmployeeSuggestionDto> results = new ArrayList<>(limit);
+        long[] picked = new long[limit];
+
+        int key = current.lowerBound(prefix);
+        Iterator<Map.Entry<String, Row>> delta = deltaKeys
+                .subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .entrySet().iterator();
+        Map.Entry<String, Row> nextDelta = delta.hasNext() ? delta.next() : null;
+
+        // Merge the segment's and the delta's matching key ranges, both already sorted
+        while (results.size() < limit) {
+            boolean segmentHasNext = key < current.keyCount() && current.startsWith(key, prefix);
+            if (!segmentHasNext && nextDelta == null) {
+                break;
+            }
+            if (segmentHasNext && (nextDelta == null || current.compare(key, nextDelta.getKey()) <= 0)) {
+                int ordinal = current.ordinal(key++);
+                long id = current.id(ordinal);
+                // Changed since the segment was built: the delta has the current version (or none)
+                if (!deltaRows.containsKey(id) && !contains(picked, results.size(), id)) {
+                    picked[results.size()] = id;
+                    results.add(current.toDto(ordinal));
+                }
+            } else {
+                Row row = nextDelta.getValue();
+                nextDelta = delta.hasNext() ? delta.next() : null;
+                if (!contains(picked, results.size(), row.id())) {
+                    picked[results.size()] = row.id();
+                    results.add(row.toDto());
+                }
+            }
+        }
+        return results;
+    }
+
+    private static boolean contains(long[] ids, int count, long id) {
+        for (int i = 0; i < count; i++) {
+            if (ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // -------------------- WRITE PATH (EmployeeServiceImpl, EmployeeImportService) --------------------
+    // Applied after commit when a transaction is active, so rolled-back writes never show up
+
+    public void onEmployeeSaved(Employee employee) {
+        Row row = Row.of(employee);
+        afterCommit(() -> apply(List.of(row), List.of()));
+    }
+
+    public void onEmployeesSaved(List<Employee> employees) {
+        List<Row> rows = employees.stream().map(Row::of).toList();
+        afterCommit(() -> apply(rows, List.of()));
+    }
+
+    public void onEmployeeDeleted(Long id) {
+        afterCommit(() -> apply(List.of(), List.of(id)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void apply(List<Row> saved, List<Long> deleted) {
+        lock.lock();
+        try {
+            for (Row row : saved) {
+                replace(row.id(), row);
+            }
+            for (Long id : deleted) {
+                replace(id, null);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private void replace(long id, Row row) {
+        DeltaRow previous = deltaRows.put(id, new DeltaRow(row, sequence.incrementAndGet()));
+        if (previous != null && previous.row() != null) {
+            removeKeys(previous.row());
+        }
+        if (row != null) {
+            for (String key : deltaKeysOf(row)) {
+                deltaKeys.put(key, row);
+            }
+        }
+    }
+
+    private void removeKeys(Row row) {
+        for (String key : deltaKeysOf(row)) {
+            deltaKeys.remove(key);
+        }
+    }
+
+    private static List<String> deltaKeysOf(Row row) {
+        String suffix = KEY_END + Long.toString(row.id());
+        String name = lower(row.name());
+        List<String> keys = new ArrayList<>(MAX_NAME_KEYS + 1);
+        for (int start : nameKeyStarts(row.name())) {
+            keys.add(name.substring(start) + suffix);
+        }
+        keys.add(lower(row.email()) + suffix);
+        return keys;
+    }
+
+    // -------------------- REBUILD --------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${ems.employees.suggest.check-interval-ms:5000}",
+               initialDelayString = "${ems.employees.suggest.check-interval-ms:5000}")
+    public void maintain() {
+        if (deltaRows.size() > maxDelta || System.nanoTime() - lastRebuildNanos > rebuildIntervalNanos) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Builds a fresh segment from the employees table and swaps it in. Delta rows
+     * applied before the read started are in it and get dropped; later ones stay
+     * and keep masking the new segment. Returns false if a rebuild was already running.
+     */
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long sequenceBefore = sequence.get();
+            Segment fresh = transactionTemplate.execute(status -> {
+                try (Stream<EmployeeSuggestRow> rows = employeeRepository.streamSuggestRows()) {
+                    return build(rows.map(Row::of).iterator());
+                }
+            });
+
+            install(fresh, sequenceBefore);
+            return true;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Swaps in a segment holding every write up to sequenceBefore; package-private for the JMH benchmark
+    void install(Segment fresh, long sequenceBefore) {
+        lock.lock();
+        try {
+            segment = fresh;
+            deltaRows.entrySet().removeIf(entry -> {
+                DeltaRow delta = entry.getValue();
+                if (delta.sequence() > sequenceBefore) {
+                    return false;
+                }
+                if (delta.row() != null) {
+                    removeKeys(delta.row());
+                }
+                return true;
+            });
+        } finally {
+            lock.unlock();
+        }
+        lastRebuildNanos = System.nanoTime();
+    }
+
+    Segment build(Iterator<Row> rows) {
+        Segment.Builder builder = new Segment.Builder();
+        while (rows.hasNext()) {
+            if (builder.size() == maxEntries) {
+                System.out.println("Typeahead index full at " + maxEntries
+                        + " employees (ems.employees.suggest.max-entries); later ids are not suggested");
+                break;
+            }
+            builder.add(rows.next());
+        }
+        return builder.build();
+    }
+
+    // -------------------- KEYS --------------------
+
+    // Offsets where a name word starts, at most MAX_NAME_KEYS of them
+    static int[] nameKeyStarts(String name) {
+        int[] starts = new int[MAX_NAME_KEYS];
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0; i < name.length() && count < MAX_NAME_KEYS; i++) {
+            boolean space = Character.isWhitespace(name.charAt(i));
+            if (!space && !inWord) {
+                starts[count++] = i;
+            }
+            inWord = !space;
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    // Char-by-char, so offsets in the lower-cased text match the original (String.toLowerCase may not)
+    static String lower(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    record Row(long id, String name, String email, String designation) {
+
+        static Row of(Employee employee) {
+            return new Row(employee.getId(), nullToEmpty(employee.getName()),
+                    nullToEmpty(employee.getEmail()), nullToEmpty(employee.getDesignation()));
+        }
+
+        static Row of(EmployeeSuggestRow row) {
+            return new Row(row.getId(), nullToEmpty(row.getName()),
+                    nullToEmpty(row.getEmail()), nullToEmpty(row.getDesignation()));
+        }
+
+        private static String nullToEmpty(String value) {
+            return value == null ? "" : value;
+        }
+
+        EmployeeSuggestionDto toDto() {
+            return new EmployeeSuggestionDto(id, name, email, designation);
+        }
+    }
+
+    private record DeltaRow(Row row, long sequence) {
+    }
+
+    /**
+     * Immutable, compact snapshot. Per employee: id, name and email back to back in
+     * one char pool, and an interned designation code. Keys are
+     * (ordinal &lt;&lt; 32 | start offset) longs sorted by their lower-cased text, which runs
+     * from the offset to the end of that name or email.
+     */
+    static final class Segment {
+
+        static final Segment EMPTY = new Builder().build();
+
+        private final long[] ids;
+        private final char[] text;
+        private final int[] nameStart;     // size + 1 entries; the last is text.length
+        private final int[] emailStart;    // an email ends where the next name starts
+        private final int[] designationCode;
+        private final String[] designations;
+        private final long[] keys;
+
+        private Segment(long[] ids, char[] text, int[] nameStart, int[] emailStart,
+                        int[] designationCode, String[] designations, long[] keys) {
+            this.ids = ids;
+            this.text = text;
+            this.nameStart = nameStart;
+            this.emailStart = emailStart;
+            this.designationCode = designationCode;
+            this.designations = designations;
+            this.keys = keys;
+            sort(0, keys.length - 1);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        int keyCount() {
+            return keys.length;
+        }
+
+        int ordinal(int key) {
+            return (int) (keys[key] >>> 32);
+        }
+
+        long id(int ordinal) {
+            return ids[ordinal];
+        }
+
+        long memoryBytes() {
+            return 2L * text.length + 8L * ids.length + 4L * (nameStart.length + emailStart.length
+                    + designationCode.length) + 8L * keys.length;
+        }
+
+        EmployeeSuggestionDto toDto(int ordinal) {
+            int name = nameStart[ordinal];
+            int email = emailStart[ordinal];
+            return new EmployeeSuggestionDto(ids[ordinal],
+                    new String(text, name, email - name),
+                    new String(text, email, nameStart[ordinal + 1] - email),
+                    designations[designationCode[ordinal]]);
+        }
+
+        private int start(long key) {
+            return (int) key;
+        }
+
+        private int end(long key) {
+            int ordinal = (int) (key >>> 32);
+            return start(key) < emailStart[ordinal] ? emailStart[ordinal] : nameStart[ordinal + 1];
+        }
+
+        // Key text vs a lower-cased string, which may carry a delta key's "\0id" tail
+        int compare(int key, String other) {
+            int end = other.indexOf(KEY_END);
+            return compare(keys[key], other, end < 0 ? other.length() : end);
+        }
+
+        private int compare(long key, String other, int otherLength) {
+            int start = start(key);
+            int length = end(key) - start;
+            int common = Math.min(length, otherLength);
+            for (int i = 0; i < common; i++) {
+                char a = Character.toLowerCase(text[start + i]);
+                char b = other.charAt(i);
+                if (a != b) {
+                    return Character.compare(a, b);
+                }
+            }
+            return Integer.compare(length, otherLength);
+        }
+
+        boolean startsWith(int key, String prefix) {
+            long k = keys[key];
+            int start = start(k);
+            if (end(k) - start < prefix.length()) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (Character.toLowerCase(text[start + i]) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // First key whose text is >= prefix
+        int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(keys[mid], prefix, prefix.length()) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Text first, then the key itself, so equal names come out in id (insertion) order
+        private int compareKeys(long a, long b) {
+            int startA = start(a);
+            int startB = start(b);
+            int lengthA = end(a) - startA;
+            int lengthB = end(b) - startB;
+            int common = Math.min(lengthA, lengthB);
+            for (int i = 0; i < common; i++) {
+                char x = Character.toLowerCase(text[startA + i]);
+                char y = Character.toLowerCase(text[startB + i]);
+                if (x != y) {
+                    return Character.compare(x, y);
+                }
+            }
+            int byLength = Integer.compare(lengthA, lengthB);
+            return byLength != 0 ? byLength : Long.compare(a, b);
+        }
+
+        // Quicksort on the primitive keys (no boxing for millions of entries); recurses into
+        // the smaller side so the stack stays O(log n)
+        private void sort(int low, int high) {
+            while (high - low > 16) {
+                long pivot = keys[low + ((high - low) >>> 1)];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (compareKeys(keys[i], pivot) < 0) {
+                        i++;
+                    }
+                    while (compareKeys(keys[j], pivot) > 0) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        long swap = keys[i];
+                        keys[i++] = keys[j];
+                        keys[j--] = swap;
+                    }
+                }
+                if (j - low < high - i) {
+                    sort(low, j);
+                    low = i;
+                } else {
+                    sort(i, high);
+                    high = j;
+                }
+            }
+            for (int i = low + 1; i <= high; i++) {
+                long key = keys[i];
+                int j = i - 1;
+                while (j >= low && compareKeys(keys[j], key) > 0) {
+                    keys[j + 1] = keys[j];
+                    j--;
+                }
+                keys[j + 1] = key;
+            }
+        }
+
+        static final class Builder {
+
+            private long[] ids = new long[16];
+            private char[] text = new char[256];
+            private int[] nameStart = new int[17];
+            private int[] emailStart = new int[16];
+            private int[] designationCode = new int[16];
+            private long[] keys = new long[64];
+            private int size;
+            private int textLength;
+            private int keyCount;
+            private final Map<String, Integer> designationCodes = new HashMap<>();
+            private final List<String> designations = new ArrayList<>();
+
+            int size() {
+                return size;
+            }
+
+            void add(Row row) {
+                if (size == ids.length) {
+                    int capacity = size * 2;
+                    ids = Arrays.copyOf(ids, capacity);
+                    nameStart = Arrays.copyOf(nameStart, capacity + 1);
+                    emailStart = Arrays.copyOf(emailStart, capacity);
+                    designationCode = Arrays.copyOf(designationCode, capacity);
+                }
+                int ordinal = size++;
+                ids[ordinal] = row.id();
+
+                nameStart[ordinal] = textLength;
+                append(row.name());
+                emailStart[ordinal] = textLength;
+                append(row.email());
+
+                designationCode[ordinal] = designationCodes.computeIfAbsent(row.designation(), designation -> {
+                    designations.add(designation);
+                    return designations.size() - 1;
+                });
+
+                for (int start : nameKeyStarts(row.name())) {
+                    addKey(ordinal, nameStart[ordinal] + start);
+                }
+                if (!row.email().isEmpty()) {
+                    addKey(ordinal, emailStart[ordinal]);
+                }
+            }
+
+            private void append(String value) {
+                if (textLength + value.length() > text.length) {
+                    text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + value.length()));
+                }
+                value.getChars(0, value.length(), text, textLength);
+                textLength += value.length();
+            }
+
+            private void addKey(int ordinal, int start) {
+                if (keyCount == keys.length) {
+                    keys = Arrays.copyOf(keys, keyCount * 2);
+                }
+                keys[keyCount++] = ((long) ordinal << 32) | start;
+            }
+
+            Segment build() {
+                int[] starts = Arrays.copyOf(nameStart, size + 1);
+                starts[size] = textLength;
+                return new Segment(
+                        Arrays.copyOf(ids, size),
+                        Arrays.copyOf(text, textLength),
+                        starts,
+                        Arrays.copyOf(emailStart, size),
+                        Arrays.copyOf(designationCode, size),
+                        designations.toArray(new String[0]),
+                        Arrays.copyOf(keys, keyCount));
+            }
+        }
+    }
+}
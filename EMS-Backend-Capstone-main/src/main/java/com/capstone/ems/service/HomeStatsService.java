@@ -0,0 +1,244 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.dto.HomeStatsDto;
+import com.capstone.ems.model.Employee;
+import com.capstone.ems.repo.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Running counters behind the public landing-page stats.
+ *
+ * EmployeeServiceImpl reports every create / update / delete, so {@link #snapshot()}
+ * never touches the employees table. A periodic reconciliation against SQL aggregates
+ * corrects any drift (rolled-back transactions, writes from other instances, etc.).
+ */
+@Service
+public class HomeStatsService {
+
+    static final int JOINER_WINDOW_DAYS = 30;
+
+    private final EmployeeRepository employeeRepository;
+    private final Clock clock;
+
+    private final AtomicLong totalEmployees = new AtomicLong();
+    private final AtomicLong salaryCents = new AtomicLong();
+
+    // Bumped on every mutation so a reconciliation can tell whether it raced with one
+    private final AtomicLong mutationVersion = new AtomicLong();
+
+    // Guards all counter mutations and the reconciliation swap; reads stay lock-free except the ring.
+    // A j.u.c. lock rather than synchronized so waiting virtual threads don't pin their carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Ring of per-day joiner counts; slot = epochDay % size, tagged with the day it holds
+    private final long[] joinerDays = new long[JOINER_WINDOW_DAYS];
+    private final long[] joinerCounts = new long[JOINER_WINDOW_DAYS];
+
+    @Autowired
+    public HomeStatsService(EmployeeRepository employeeRepository) {
+        this(employeeRepository, Clock.systemDefaultZone());
+    }
+
+    HomeStatsService(EmployeeRepository employeeRepository, Clock clock) {
+        this.employeeRepository = employeeRepository;
+        this.clock = clock;
+    }
+
+    // -------------------- READ PATH --------------------
+
+    public HomeStatsDto snapshot() {
+        long total = totalEmployees.get();
+        BigDecimal totalSalary = BigDecimal.valueOf(salaryCents.get(), 2);
+
+        BigDecimal avgSalary = (total > 0)
+                ? totalSalary.divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return new HomeStatsDto(total, recentJoiners(), avgSalary);
+    }
+
+    private long recentJoiners() {
+        long today = LocalDate.now(clock).toEpochDay();
+        long sum = 0;
+        lock.lock();
+        try {
+            for (int i = 0; i < JOINER_WINDOW_DAYS; i++) {
+                if (today - joinerDays[i] < JOINER_WINDOW_DAYS && joinerDays[i] <= today) {
+                    sum += joinerCounts[i];
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return sum;
+    }
+
+    // -------------------- WRITE PATH (called by EmployeeServiceImpl) --------------------
+    // Applied after commit when a transaction is active, so rolled-back writes never count
+
+    public void onEmployeeCreated(Employee employee) {
+        long cents = toCents(employee.getSalary());
+        LocalDateTime createdAt = employee.getCreatedAt();
+        afterCommit(() -> {
+            lock.lock();
+            try {
+                mutationVersion.incrementAndGet();
+                totalEmployees.incrementAndGet();
+                salaryCents.addAndGet(cents);
+                adjustJoiners(createdAt, 1);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    public void onEmployeeUpdated(BigDecimal oldSalary, BigDecimal newSalary) {
+        long delta = toCents(newSalary) - toCents(oldSalary);
+        afterCommit(() -> {
+            lock.lock();
+            try {
+                mutationVersion.incrementAndGet();
+                salaryCents.addAndGet(delta);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    public void onEmployeeDeleted(Employee employee) {
+        long cents = toCents(employee.getSalary());
+        LocalDateTime createdAt = employee.getCreatedAt();
+        afterCommit(() -> {
+            lock.lock();
+            try {
+                mutationVersion.incrementAndGet();
+                totalEmployees.decrementAndGet();
+                salaryCents.addAndGet(-cents);
+                adjustJoiners(createdAt, -1);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void adjustJoiners(LocalDateTime createdAt, long delta) {
+        if (createdAt == null) {
+            return;
+        }
+        long day = createdAt.toLocalDate().toEpochDay();
+        long today = LocalDate.now(clock).toEpochDay();
+        if (today - day >= JOINER_WINDOW_DAYS || day > today) {
+            return;
+        }
+
+        // Caller holds the lock
+        int slot = (int) Math.floorMod(day, (long) JOINER_WINDOW_DAYS);
+        if (joinerDays[slot] != day) {
+            // Slot still holds a day that has fallen out of the window; recycle it
+            joinerDays[slot] = day;
+            joinerCounts[slot] = 0;
+        }
+        joinerCounts[slot] = Math.max(0, joinerCounts[slot] + delta);
+    }
+
+    // -------------------- RECONCILIATION --------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${ems.stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${ems.stats.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Replaces the counters with fresh SQL aggregates. If a mutation lands while the
+     * aggregates are being computed the result is discarded; the next run will catch up.
+     */
+    public boolean reconcile() {
+        long versionBefore = mutationVersion.get();
+        LocalDate today = LocalDate.now(clock);
+        LocalDate firstDay = today.minusDays(JOINER_WINDOW_DAYS - 1);
+
+        List<Object[]> totals = employeeRepository.aggregateHeadcountAndSalary();
+        List<Object[]> joinersPerDay = employeeRepository.countJoinersPerDaySince(firstDay.atStartOfDay());
+
+        long[] days = new long[JOINER_WINDOW_DAYS];
+        long[] counts = new long[JOINER_WINDOW_DAYS];
+        for (Object[] row : joinersPerDay) {
+            long day = toLocalDate(row[0]).toEpochDay();
+            int slot = (int) Math.floorMod(day, (long) JOINER_WINDOW_DAYS);
+            days[slot] = day;
+            counts[slot] = ((Number) row[1]).longValue();
+        }
+
+        Object[] row = totals.isEmpty() ? new Object[]{0L, BigDecimal.ZERO} : totals.get(0);
+        long total = ((Number) row[0]).longValue();
+        BigDecimal salarySum = row[1] == null ? BigDecimal.ZERO : new BigDecimal(row[1].toString());
+
+        lock.lock();
+        try {
+            if (mutationVersion.get() != versionBefore) {
+                return false;
+            }
+            totalEmployees.set(total);
+            salaryCents.set(toCents(salarySum));
+            System.arraycopy(days, 0, joinerDays, 0, JOINER_WINDOW_DAYS);
+            System.arraycopy(counts, 0, joinerCounts, 0, JOINER_WINDOW_DAYS);
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        return LocalDate.parse(value.toString());
+    }
+
+    private static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+}
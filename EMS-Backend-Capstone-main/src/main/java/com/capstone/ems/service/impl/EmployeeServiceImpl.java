@@ -1,43 +1,110 @@
 package com.capstone.ems.service.impl;
 
 import com.capstone.ems.dto.EmployeeDto;
+import com.capstone.ems.dto.EmployeePageDto;
+import com.capstone.ems.dto.EmployeeSearchHitDto;
+import com.capstone.ems.dto.EmployeeSearchPageDto;
+import com.capstone.ems.dto.EmployeeSuggestionDto;
+import com.capstone.ems.dto.HighlightDto;
 import com.capstone.ems.exception.BadRequestException;
 import com.capstone.ems.exception.NotFoundException;
 import com.capstone.ems.model.Employee;
 import com.capstone.ems.model.UserEntity;
 import com.capstone.ems.repo.EmployeeRepository;
+import com.capstone.ems.repo.EmployeeSearchMatch;
 import com.capstone.ems.repo.UserRepository;
-import com.capstone.ems.service.EmailService; 
+import com.capstone.ems.security.UserStateCache;
+import com.capstone.ems.service.DefaultCredentials;
+import com.capstone.ems.service.EmailOutboxService;
 import com.capstone.ems.service.EmployeeService;
+import com.capstone.ems.service.EmployeeSuggestIndex;
+import com.capstone.ems.service.GatewayCacheInvalidator;
+import com.capstone.ems.service.HomeStatsService;
 
-import jakarta.transaction.Transactional;
-
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter; 
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+    private static final int DEFAULT_MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int DEFAULT_MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int DEFAULT_MAX_SEARCH_RESULTS = 1000;
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int DEFAULT_MAX_SUGGEST_LIMIT = 20;
+    private static final int MAX_SUGGEST_QUERY_LENGTH = 100;
+
+    // Shorter queries carry too few trigrams to be selective; longer ones are not names
+    private static final int MIN_SEARCH_QUERY_LENGTH = 2;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 100;
+
+    // Shortest prefix of a query word the highlighter falls back to for typo matches
+    private static final int MIN_HIGHLIGHT_PREFIX = 3;
+
+    // Columns the paged listing may be sorted (and therefore seeked) on
+    private static final Set<String> SORTABLE_COLUMNS = Set.of("id", "name", "email", "designation", "salary");
+
     private final EmployeeRepository employeeRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EmailOutboxService emailOutboxService;
+    private final HomeStatsService homeStatsService;
+    private final UserStateCache userStateCache;
+    private final GatewayCacheInvalidator gatewayCacheInvalidator;
+    private final EmployeeSuggestIndex suggestIndex;
+    private final TransactionTemplate transactionTemplate;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository,
+                               UserRepository userRepository,
+                               PasswordEncoder passwordEncoder,
+                               EmailOutboxService emailOutboxService,
+                               HomeStatsService homeStatsService,
+                               UserStateCache userStateCache,
+                               GatewayCacheInvalidator gatewayCacheInvalidator,
+                               EmployeeSuggestIndex suggestIndex,
+                               PlatformTransactionManager transactionManager) {
         this.employeeRepository = employeeRepository;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.emailOutboxService = emailOutboxService;
+        this.homeStatsService = homeStatsService;
+        this.userStateCache = userStateCache;
+        this.gatewayCacheInvalidator = gatewayCacheInvalidator;
+        this.suggestIndex = suggestIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Autowired
-    private UserRepository userRepository;
+    @Value("${ems.employees.page.max-size:" + DEFAULT_MAX_PAGE_SIZE + "}")
+    private int maxPageSize = DEFAULT_MAX_PAGE_SIZE;
 
-    @Autowired
-    private PasswordEncoder passwordEncoder;
+    @Value("${ems.employees.search.max-size:" + DEFAULT_MAX_SEARCH_PAGE_SIZE + "}")
+    private int maxSearchPageSize = DEFAULT_MAX_SEARCH_PAGE_SIZE;
 
-    
-    @Autowired
-    private EmailService emailService;
+    // Deepest result reachable by paging; keeps LIMIT + OFFSET (and the KNN scan) short
+    @Value("${ems.employees.search.max-results:" + DEFAULT_MAX_SEARCH_RESULTS + "}")
+    private int maxSearchResults = DEFAULT_MAX_SEARCH_RESULTS;
+
+    @Value("${ems.employees.suggest.max-limit:" + DEFAULT_MAX_SUGGEST_LIMIT + "}")
+    private int maxSuggestLimit = DEFAULT_MAX_SUGGEST_LIMIT;
 
     private EmployeeDto toDto(Employee employee) {
         if (employee == null) return null;
@@ -63,7 +130,9 @@ public class EmployeeServiceImpl implements EmployeeService {
         return employee;
     }
 
+    // Read-only: served by the replica when one is configured, and Hibernate skips dirty checking
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDto> getAllEmployees() {
         return employeeRepository.findAll().stream()
                 .map(this::toDto)
@@ -71,6 +140,235 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public EmployeePageDto getEmployeePage(String cursor,
+                                           Integer size,
+                                           String designation,
+                                           String namePrefix,
+                                           String sortBy,
+                                           String sortDir) {
+
+        String column = sortBy == null ? "id" : sortBy;
+        if (!SORTABLE_COLUMNS.contains(column)) {
+            throw new BadRequestException("Unsupported sort column: " + sortBy);
+        }
+        boolean ascending = sortDir == null || !sortDir.equalsIgnoreCase("desc");
+
+        // Server-enforced ceiling, regardless of what the client asks for
+        int pageSize = (size == null || size < 1) ? maxPageSize : Math.min(size, maxPageSize);
+
+        Object lastSortValue = null;
+        Long lastId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            if (!parts[0].equals(column) || !parts[1].equals(ascending ? "asc" : "desc")) {
+                throw new BadRequestException("Cursor does not match the requested sort order");
+            }
+            lastId = parseCursorId(parts[2]);
+            lastSortValue = parseSortValue(column, parts[3]);
+        }
+
+        // Fetch one extra row to know whether another page exists without a COUNT(*)
+        List<Employee> rows = employeeRepository.findPageAfter(
+                designation, namePrefix, column, ascending, lastSortValue, lastId, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Employee> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Employee last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(column, ascending, sortValueOf(column, last), last.getId());
+        }
+
+        List<EmployeeDto> items = page.stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+
+        return new EmployeePageDto(items, pageSize, hasMore, nextCursor);
+    }
+
+    // -------------------- CURSOR HELPERS --------------------
+    // Cursor = base64url("sortBy|dir|id|value"); the value goes last so it may contain '|'
+
+    private String encodeCursor(String column, boolean ascending, String value, Long id) {
+        String raw = column + "|" + (ascending ? "asc" : "desc") + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private Long parseCursorId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private Object parseSortValue(String column, String value) {
+        switch (column) {
+            case "id":
+                return null;
+            case "salary":
+                try {
+                    return new BigDecimal(value);
+                } catch (NumberFormatException e) {
+                    throw new BadRequestException("Invalid cursor");
+                }
+            default:
+                return value;
+        }
+    }
+
+    private String sortValueOf(String column, Employee employee) {
+        switch (column) {
+            case "name":
+                return employee.getName();
+            case "email":
+                return employee.getEmail();
+            case "designation":
+                return employee.getDesignation();
+            case "salary":
+                return employee.getSalary().toPlainString();
+            default:
+                return "";
+        }
+    }
+
+    // Typeahead: served from the in-memory index, so no transaction and no connection
+    @Override
+    public List<EmployeeSuggestionDto> suggestEmployees(String query, Integer limit) {
+        String q = query == null ? "" : query.strip();
+        if (q.isEmpty()) {
+            return List.of();
+        }
+        if (q.length() > MAX_SUGGEST_QUERY_LENGTH) {
+            throw new BadRequestException("Suggest query must be at most " + MAX_SUGGEST_QUERY_LENGTH + " characters");
+        }
+        int k = (limit == null || limit < 1) ? DEFAULT_SUGGEST_LIMIT : Math.min(limit, maxSuggestLimit);
+        return suggestIndex.suggest(q, k);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeSearchPageDto searchEmployees(String query, int page, Integer size) {
+        String q = query == null ? "" : query.trim().replaceAll("\\s+", " ");
+        if (q.length() < MIN_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at least " + MIN_SEARCH_QUERY_LENGTH + " characters");
+        }
+        if (q.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        if (page < 0) {
+            throw new BadRequestException("Page index must not be negative");
+        }
+
+        int pageSize = (size == null || size < 1) ? DEFAULT_SEARCH_PAGE_SIZE : Math.min(size, maxSearchPageSize);
+        long offset = (long) page * pageSize;
+        if (offset >= maxSearchResults) {
+            throw new BadRequestException("Only the first " + maxSearchResults + " matches can be paged through; refine the query");
+        }
+        int limit = (int) Math.min(pageSize, maxSearchResults - offset);
+
+        // One extra row tells whether another page exists, without counting every match
+        List<EmployeeSearchMatch> matches = employeeRepository.searchRanked(q, limit + 1, (int) offset);
+        boolean hasMore = matches.size() > limit && offset + limit < maxSearchResults;
+        if (matches.size() > limit) {
+            matches = matches.subList(0, limit);
+        }
+
+        Map<Long, Employee> employees = employeeRepository
+                .findAllById(matches.stream().map(EmployeeSearchMatch::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        List<String> terms = List.of(q.toLowerCase(Locale.ROOT).split(" "));
+        List<EmployeeSearchHitDto> items = new ArrayList<>(matches.size());
+        for (EmployeeSearchMatch match : matches) {
+            Employee employee = employees.get(match.getId());
+            if (employee == null) {
+                continue; // deleted between the two queries
+            }
+            items.add(new EmployeeSearchHitDto(toDto(employee), match.getScore(), highlight(employee, terms)));
+        }
+        return new EmployeeSearchPageDto(items, page, pageSize, hasMore);
+    }
+
+    // -------------------- SEARCH HIGHLIGHTING --------------------
+    // Spans where each query word occurs in name / email / designation. A word found nowhere
+    // (a typo the trigram match forgave) falls back to its longest prefix that is found.
+
+    static List<HighlightDto> highlight(Employee employee, List<String> terms) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("name", employee.getName());
+        fields.put("email", employee.getEmail());
+        fields.put("designation", employee.getDesignation());
+
+        Map<String, List<int[]>> spans = new LinkedHashMap<>();
+        for (String term : terms) {
+            int shortest = Math.min(term.length(), MIN_HIGHLIGHT_PREFIX);
+            for (int length = term.length(); length >= shortest; length--) {
+                if (addOccurrences(fields, term.substring(0, length), spans)) {
+                    break;
+                }
+            }
+        }
+
+        List<HighlightDto> highlights = new ArrayList<>();
+        spans.forEach((field, ranges) -> {
+            ranges.sort(Comparator.comparingInt(range -> range[0]));
+            int[] current = null;
+            for (int[] range : ranges) {
+                if (current != null && range[0] <= current[1]) {
+                    current[1] = Math.max(current[1], range[1]);
+                    continue;
+                }
+                if (current != null) {
+                    highlights.add(new HighlightDto(field, current[0], current[1]));
+                }
+                current = range.clone();
+            }
+            if (current != null) {
+                highlights.add(new HighlightDto(field, current[0], current[1]));
+            }
+        });
+        return highlights;
+    }
+
+    private static boolean addOccurrences(Map<String, String> fields, String part, Map<String, List<int[]>> spans) {
+        boolean found = false;
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            String value = field.getValue();
+            if (value == null) {
+                continue;
+            }
+            String lower = value.toLowerCase(Locale.ROOT);
+            if (lower.length() != value.length()) {
+                continue; // offsets would not line up with the original text
+            }
+            for (int at = lower.indexOf(part); at >= 0; at = lower.indexOf(part, at + part.length())) {
+                spans.computeIfAbsent(field.getKey(), key -> new ArrayList<>()).add(new int[] {at, at + part.length()});
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public EmployeeDto getEmployeeById(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Employee not found with id: " + id));
@@ -83,39 +381,46 @@ public class EmployeeServiceImpl implements EmployeeService {
         
         Employee employee = toEntity(employeeDto);
         employee.setId(null);
-        Employee savedEmployee = employeeRepository.save(employee);
 
-        String username = employeeDto.getEmail().split("@")[0];
-
-        
-        int day = savedEmployee.getBirthDate().getDayOfMonth();
-        String datePart = String.format("%02d", day);
-        
-        String rawPassword = username + "$$" + datePart; 
+        String username = DefaultCredentials.username(employeeDto.getEmail());
+        String rawPassword = DefaultCredentials.password(username, employee.getBirthDate());
+        // Hash outside the transaction, so no pooled connection is held while BCrypt runs
         String encodedPassword = passwordEncoder.encode(rawPassword);
 
-        UserEntity user = new UserEntity();
-        user.setUsername(username);
-        user.setPasswordHash(encodedPassword);
-        user.setRole(employeeDto.getRole());
-        user.setEmployee(savedEmployee);
+        // Employee, user and queued welcome email commit together
+        Employee savedEmployee = transactionTemplate.execute(status -> {
+            Employee saved = employeeRepository.save(employee);
 
-        userRepository.save(user);
+            UserEntity user = new UserEntity();
+            user.setUsername(username);
+            user.setPasswordHash(encodedPassword);
+            user.setRole(employeeDto.getRole());
+            user.setEmployee(saved);
 
-        System.out.println("Auto-created user: " + username + " | Password: " + rawPassword);
+            userRepository.save(user);
 
-        // Send Email
-        emailService.sendWelcomeEmail(
-            savedEmployee.getEmail(), 
-            savedEmployee.getName(), 
-            username, 
-            rawPassword
-        );
+            homeStatsService.onEmployeeCreated(saved);
+            suggestIndex.onEmployeeSaved(saved);
+            gatewayCacheInvalidator.invalidateAfterCommit(
+                    GatewayCacheInvalidator.EMPLOYEES, GatewayCacheInvalidator.PUBLIC_STATS);
+
+            // Queue the welcome email; EmailOutboxDispatcher sends it after commit
+            emailOutboxService.enqueueWelcomeEmail(
+                saved.getEmail(), 
+                saved.getName(), 
+                username, 
+                rawPassword
+            );
+            return saved;
+        });
+
+        System.out.println("Auto-created user: " + username + " | Password: " + rawPassword);
 
         return toDto(savedEmployee);
     }
 
     @Override
+    @Transactional // Read and write on the primary; a lagging replica must not feed the email check
     public EmployeeDto updateEmployee(Long id, EmployeeDto employeeDto) {
         Employee existing = employeeRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Employee not found with id: " + id));
@@ -125,6 +430,8 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new BadRequestException("Email already in use: " + employeeDto.getEmail());
         }
 
+        BigDecimal previousSalary = existing.getSalary();
+
         existing.setName(employeeDto.getName());
         existing.setEmail(employeeDto.getEmail());
         existing.setDesignation(employeeDto.getDesignation());
@@ -132,6 +439,10 @@ public class EmployeeServiceImpl implements EmployeeService {
         existing.setBirthDate(employeeDto.getBirthDate()); 
 
         Employee updated = employeeRepository.save(existing);
+        homeStatsService.onEmployeeUpdated(previousSalary, updated.getSalary());
+        suggestIndex.onEmployeeSaved(updated);
+        gatewayCacheInvalidator.invalidateAfterCommit(
+                GatewayCacheInvalidator.EMPLOYEES, GatewayCacheInvalidator.PUBLIC_STATS);
         return toDto(updated);
     }
 
@@ -145,10 +456,17 @@ public class EmployeeServiceImpl implements EmployeeService {
         // 2. Find and Delete the associated User account first (The Child)
         userRepository.findByEmployeeId(id).ifPresent(user -> {
             userRepository.delete(user);
+            userStateCache.invalidate(user.getUsername());
             System.out.println("Deleted associated User account for Employee ID: " + id);
         });
 
         // 3. Now delete the Employee (The Parent)
         employeeRepository.delete(existing);
+
+        homeStatsService.onEmployeeDeleted(existing);
+        suggestIndex.onEmployeeDeleted(id);
+        gatewayCacheInvalidator.invalidateAfterCommit(
+                GatewayCacheInvalidator.EMPLOYEES, GatewayCacheInvalidator.PUBLIC_STATS,
+                GatewayCacheInvalidator.EXPERIENCE);
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+-- ================================
+-- V3 - Indexes backing the keyset-paginated employee listing
+-- ================================
+
+-- Seek on (sort column, id) for each sortable column; email already has its UNIQUE index
+CREATE INDEX IF NOT EXISTS idx_employees_name_id ON employees (name, id);
+CREATE INDEX IF NOT EXISTS idx_employees_salary_id ON employees (salary, id);
+CREATE INDEX IF NOT EXISTS idx_employees_designation_id ON employees (designation, id);
+
+-- Case-insensitive name-prefix filter (lower(name) LIKE 'abc%')
+CREATE INDEX IF NOT EXISTS idx_employees_name_lower_prefix ON employees (lower(name) text_pattern_ops);
@@ -0,0 +1,21 @@
+-- ================================
+-- V4 - Transactional outbox for account emails
+-- ================================
+
+-- Rows are written in the same transaction as the employee / user change and
+-- drained by EmailOutboxDispatcher. Status: PENDING -> SENDING -> SENT | FAILED
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP
+);
+
+-- Dispatcher polls for due rows: status IN (...) AND next_attempt_at <= now
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due ON email_outbox (status, next_attempt_at);
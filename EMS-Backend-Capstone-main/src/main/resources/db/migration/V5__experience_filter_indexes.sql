@@ -0,0 +1,10 @@
+-- ================================
+-- V5 - Indexes backing the experience filter endpoint
+-- (kept identical in the backend and experience service, like V1/V2)
+-- ================================
+
+-- employeeId filter and the per-employee lookups
+CREATE INDEX IF NOT EXISTS idx_experience_employee_id ON experience (employee_id);
+
+-- Case-insensitive tech stack match plus minYears range: lower(tech_stack) = ? AND years >= ?
+CREATE INDEX IF NOT EXISTS idx_experience_tech_stack_years ON experience (lower(tech_stack), years);
@@ -0,0 +1,10 @@
+-- ================================
+-- V6 - Pooled id allocation for batched inserts
+-- ================================
+
+-- Hibernate reserves 50 ids per nextval (pooled optimizer, allocationSize = 50),
+-- which lets it JDBC-batch inserts; IDENTITY forces one round trip per row.
+-- The BIGSERIAL column defaults keep working for plain SQL inserts.
+ALTER SEQUENCE IF EXISTS employees_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE IF EXISTS email_outbox_id_seq INCREMENT BY 50;
@@ -0,0 +1,25 @@
+-- ================================
+-- V8 - Trigram index behind /api/employees/search
+-- ================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- One index over name, email and designation together (the expression must match
+-- EmployeeRepository.SEARCH_TEXT exactly). GiST rather than GIN: it also serves the
+-- word-similarity distance (<<->) as an ordered KNN scan, so a ranked page reads only
+-- the best LIMIT + OFFSET rows instead of scoring and sorting every match.
+-- Built CONCURRENTLY so employee writes are not blocked while it builds; that cannot run
+-- inside a transaction, hence executeInTransaction=false in the .sql.conf next to this file.
+-- A failed concurrent build leaves an INVALID index that IF NOT EXISTS would skip: drop it first.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1
+               FROM pg_index i
+               JOIN pg_class c ON c.oid = i.indexrelid
+               WHERE c.relname = 'idx_employees_search_trgm' AND NOT i.indisvalid) THEN
+        DROP INDEX idx_employees_search_trgm;
+    END IF;
+END $$;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_search_trgm
+    ON employees USING gist ((name || ' ' || email || ' ' || designation) gist_trgm_ops);
@@ -0,0 +1,7 @@
+-- ================================
+-- V9 - Drop the bodies of emails the outbox gave up on
+-- ================================
+
+-- A FAILED row is never sent again, and its body holds the plaintext initial password.
+-- EmailOutboxService.markFailed clears it from now on; this clears rows that failed before.
+UPDATE email_outbox SET body = NULL WHERE status = 'FAILED' AND body IS NOT NULL;
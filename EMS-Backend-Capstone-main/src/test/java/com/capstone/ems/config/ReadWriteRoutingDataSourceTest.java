@@ -0,0 +1,160 @@
+package com.capstone.ems.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two embedded H2 databases stand in for primary and replica; each knows its own
+ * name, so every query shows where the routing sent it.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(5), 100, nanos::get);
+
+        // Defaults given up front, so the proxy never probes (and counts) a connection of its own
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy();
+        routing.setTargetDataSource(new ReadWriteRoutingDataSource(primary, replica, readYourWrites, registry));
+        routing.setDefaultAutoCommit(true);
+        routing.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        routing.afterPropertiesSet();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+
+        jdbc = new JdbcTemplate(routing);
+        writeTx = new TransactionTemplate(transactionManager);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static DataSource database(String role) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + role + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE db_role (name VARCHAR(20))");
+        jdbc.update("INSERT INTO db_role (name) VALUES (?)", role);
+        return dataSource;
+    }
+
+    private String whereAmI() {
+        return jdbc.queryForObject("SELECT name FROM db_role", String.class);
+    }
+
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() {
+        assertEquals("replica", readTx.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() {
+        assertEquals("primary", writeTx.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void noTransaction_UsesPrimary() {
+        assertEquals("primary", whereAmI());
+    }
+
+    @Test
+    void readOnlyJoiningWriteTransaction_StaysOnPrimary() {
+        assertEquals("primary", writeTx.execute(status -> readTx.execute(inner -> whereAmI())));
+    }
+
+    @Test
+    void afterCommittedWrite_SameUserReadsPrimaryUntilWindowEnds() {
+        signIn("jane");
+        writeTx.executeWithoutResult(status -> jdbc.update("UPDATE db_role SET name = name"));
+
+        assertEquals("primary", readTx.execute(status -> whereAmI()));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertEquals("replica", readTx.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void afterCommittedWrite_OtherUsersStillReadReplica() {
+        signIn("jane");
+        writeTx.executeWithoutResult(status -> jdbc.update("UPDATE db_role SET name = name"));
+
+        signIn("john");
+        assertEquals("replica", readTx.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void rolledBackWrite_DoesNotPin() {
+        signIn("jane");
+        writeTx.executeWithoutResult(status -> {
+            jdbc.update("UPDATE db_role SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readTx.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void anonymousWrite_DoesNotPin() {
+        writeTx.executeWithoutResult(status -> jdbc.update("UPDATE db_role SET name = name"));
+
+        signIn("jane");
+        assertEquals("replica", readTx.execute(status -> whereAmI()));
+    }
+
+    @Test
+    void zeroWindow_StickinessOff() {
+        ReadYourWritesTracker off = new ReadYourWritesTracker(Duration.ZERO, 100);
+        signIn("jane");
+
+        writeTx.executeWithoutResult(status -> off.recordWriteOnCommit());
+
+        assertFalse(off.isPinnedToPrimary());
+    }
+
+    @Test
+    void routes_CountedPerPool() {
+        readTx.execute(status -> whereAmI());
+        readTx.execute(status -> whereAmI());
+        writeTx.execute(status -> whereAmI());
+
+        assertEquals(2.0, registry.get("ems.datasource.routes").tag("route", "replica").counter().count());
+        assertEquals(1.0, registry.get("ems.datasource.routes").tag("route", "primary").counter().count());
+        assertEquals(0.0, registry.get("ems.datasource.routes").tag("route", "primary-pinned").counter().count());
+    }
+}
@@ -0,0 +1,113 @@
+package com.capstone.ems.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput of a blocking request shape (SMTP/HTTP-like wait, then a JDBC
+ * query on a 10-connection pool) on a 200-thread platform pool, as Tomcat
+ * runs by default, versus one virtual thread per request behind
+ * {@link ConcurrencyLimitingDataSource}. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class ThreadModeBenchmarkTest {
+
+    private static final int REQUESTS = 20_000;
+    private static final int POOL_SIZE = 10;
+    private static final long QUERY_MS = 2;
+    private static final long OTHER_IO_MS = 50;
+
+    @Test
+    void compareThroughput() throws Exception {
+        double platform = run("platform (200 threads)", Executors.newFixedThreadPool(200), fakePool());
+        double virtual = run("virtual + JDBC limiter", Executors.newVirtualThreadPerTaskExecutor(),
+                new ConcurrencyLimitingDataSource(fakePool(), POOL_SIZE, REQUESTS, 60_000));
+
+        System.out.printf("virtual / platform throughput: %.2fx%n", virtual / platform);
+        assertTrue(virtual > 0 && platform > 0);
+    }
+
+    private static double run(String label, ExecutorService executor, DataSource dataSource) throws Exception {
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        try (executor) {
+            List<Future<?>> futures = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(executor.submit(() -> handleRequest(dataSource, failures)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double throughput = REQUESTS / seconds;
+        System.out.printf("%-24s %,8.0f req/s  (%d failures)%n", label, throughput, failures.get());
+        assertEquals(0, failures.get());
+        return throughput;
+    }
+
+    private static void handleRequest(DataSource dataSource, AtomicInteger failures) {
+        try {
+            Thread.sleep(OTHER_IO_MS);
+            try (Connection connection = dataSource.getConnection()) {
+                connection.isValid(0);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures.incrementAndGet();
+        } catch (SQLException e) {
+            failures.incrementAndGet();
+        }
+    }
+
+    // Stand-in for Hikari: POOL_SIZE connections, each "query" blocks for QUERY_MS
+    private static DataSource fakePool() {
+        Semaphore connections = new Semaphore(POOL_SIZE, true);
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                try {
+                    connections.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException(e);
+                }
+                AtomicInteger closed = new AtomicInteger();
+                return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                        (proxy, method, args) -> switch (method.getName()) {
+                            case "isValid" -> {
+                                Thread.sleep(QUERY_MS);
+                                yield true;
+                            }
+                            case "close" -> {
+                                if (closed.getAndIncrement() == 0) {
+                                    connections.release();
+                                }
+                                yield null;
+                            }
+                            default -> null;
+                        });
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        };
+    }
+}
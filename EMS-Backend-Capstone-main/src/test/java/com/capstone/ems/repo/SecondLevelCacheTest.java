@@ -0,0 +1,206 @@
+package com.capstone.ems.repo;
+
+import com.capstone.ems.config.SecondLevelCacheConfig;
+import com.capstone.ems.dto.EmployeeDto;
+import com.capstone.ems.model.Employee;
+import com.capstone.ems.model.UserEntity;
+import com.capstone.ems.security.JwtUtil;
+import com.capstone.ems.security.UserStateCache;
+import com.capstone.ems.service.AuthService;
+import com.capstone.ems.service.EmailOutboxService;
+import com.capstone.ems.service.GatewayCacheInvalidator;
+import com.capstone.ems.service.EmployeeSuggestIndex;
+import com.capstone.ems.service.HomeStatsService;
+import com.capstone.ems.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Second-level cache against H2: repeat reads skip SQL, and the writes made by
+ * EmployeeServiceImpl and AuthService are visible to the next cached read.
+ * Each step commits on its own, as the services do outside these tests.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired private EmployeeRepository employeeRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Statistics statistics;
+    private EmployeeServiceImpl employeeService;
+    private AuthService authService;
+    private Long employeeId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "encoded:" + inv.getArgument(0));
+        employeeService = new EmployeeServiceImpl(employeeRepository, userRepository, passwordEncoder,
+                mock(EmailOutboxService.class), mock(HomeStatsService.class), mock(UserStateCache.class),
+                mock(GatewayCacheInvalidator.class), mock(EmployeeSuggestIndex.class), transactionManager);
+        authService = new AuthService(userRepository, employeeRepository, passwordEncoder, mock(JwtUtil.class),
+                mock(EmailOutboxService.class), mock(UserStateCache.class), transactionManager);
+
+        employeeId = tx.execute(status -> {
+            Employee employee = new Employee();
+            employee.setName("Jane Doe");
+            employee.setEmail("jane@ems.com");
+            employee.setDesignation("Developer");
+            employee.setSalary(new BigDecimal("50000.00"));
+            employee.setBirthDate(LocalDate.of(1990, 3, 5));
+            employee = employeeRepository.save(employee);
+
+            UserEntity user = new UserEntity();
+            user.setUsername("jane");
+            user.setPasswordHash("original-hash");
+            user.setRole("USER");
+            user.setEmployee(employee);
+            userRepository.save(user);
+            return employee.getId();
+        });
+
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            userRepository.deleteAll();
+            employeeRepository.deleteAll();
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findById_SecondLookup_NoSql() {
+        employeeRepository.findById(employeeId);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertTrue(employeeRepository.findById(employeeId).isPresent());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.EMPLOYEES).getHitCount());
+    }
+
+    @Test
+    void findByUsername_SecondLookup_ResolvedFromNaturalIdCache() {
+        userRepository.findByUsername("jane");
+        long statements = statistics.getPrepareStatementCount();
+
+        UserEntity user = userRepository.findByUsername("jane").orElseThrow();
+
+        // username -> id, the user row and its eager employee all come from the cache
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(employeeId, user.getEmployee().getId());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+        assertTrue(userRepository.existsByUsername("jane"));
+        assertFalse(userRepository.existsByUsername("nobody"));
+    }
+
+    @Test
+    void updateEmployee_CachedEmployeeRefreshed() {
+        employeeRepository.findById(employeeId);
+
+        EmployeeDto changes = new EmployeeDto(null, "Jane Smith", "jane@ems.com", "Lead",
+                new BigDecimal("65000.00"), LocalDate.of(1990, 3, 5));
+        employeeService.updateEmployee(employeeId, changes);
+
+        Employee cached = employeeRepository.findById(employeeId).orElseThrow();
+        assertEquals("Jane Smith", cached.getName());
+        assertEquals("Lead", cached.getDesignation());
+        assertEquals(0, new BigDecimal("65000.00").compareTo(cached.getSalary()));
+    }
+
+    @Test
+    void deleteEmployee_UserAndNaturalIdEvicted() {
+        userRepository.findByUsername("jane");
+        employeeRepository.findById(employeeId);
+
+        tx.executeWithoutResult(status -> employeeService.deleteEmployee(employeeId));
+
+        assertTrue(userRepository.findByUsername("jane").isEmpty());
+        assertFalse(userRepository.existsByUsername("jane"));
+        assertTrue(employeeRepository.findById(employeeId).isEmpty());
+        assertTrue(userRepository.findByEmployeeId(employeeId).isEmpty());
+    }
+
+    @Test
+    void resetCredentials_CachedUserSeesNewHash() {
+        assertEquals("original-hash", userRepository.findByUsername("jane").orElseThrow().getPasswordHash());
+
+        authService.resetCredentials(employeeId);
+
+        assertEquals("encoded:jane$$05", userRepository.findByUsername("jane").orElseThrow().getPasswordHash());
+    }
+
+    @Test
+    void forgotPassword_CachedUserSeesNewHash() {
+        userRepository.findByUsername("jane");
+
+        authService.forgotPassword("jane1990", "new-secret");
+
+        assertEquals("encoded:new-secret", userRepository.findByUsername("jane").orElseThrow().getPasswordHash());
+    }
+
+    @Test
+    void findByEmployeeId_QueryCacheInvalidatedByUserWrite() {
+        userRepository.findByEmployeeId(employeeId);
+        userRepository.findByEmployeeId(employeeId);
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        tx.executeWithoutResult(status -> userRepository.delete(userRepository.findByUsername("jane").orElseThrow()));
+
+        assertTrue(userRepository.findByEmployeeId(employeeId).isEmpty());
+    }
+
+    @Test
+    void metrics_RegionHitsMissesAndRatio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new SecondLevelCacheConfig().secondLevelCacheMetrics(entityManagerFactory).bindTo(registry);
+
+        employeeRepository.findById(employeeId);
+        employeeRepository.findById(employeeId);
+
+        assertEquals(1.0, registry.get("ems.l2cache.requests")
+                .tags("region", SecondLevelCacheConfig.EMPLOYEES, "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("ems.l2cache.requests")
+                .tags("region", SecondLevelCacheConfig.EMPLOYEES, "result", "miss").functionCounter().count());
+        assertEquals(0.5, registry.get("ems.l2cache.hit.ratio")
+                .tag("region", SecondLevelCacheConfig.EMPLOYEES).gauge().value(), 1e-9);
+    }
+}
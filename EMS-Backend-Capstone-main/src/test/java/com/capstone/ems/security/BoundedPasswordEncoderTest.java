@@ -0,0 +1,101 @@
+package com.capstone.ems.security;
+
+import com.capstone.ems.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_RoundTrip() {
+        encoder = new BoundedPasswordEncoder(4, 2, 8, 5000, new SimpleMeterRegistry());
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void encodeAll_LargerThanQueue_HashesEveryPasswordInOrder() {
+        // 20 passwords through 2 workers and a queue of 1: windows keep the batch under the limit
+        encoder = new BoundedPasswordEncoder(4, 2, 1, 5000, new SimpleMeterRegistry());
+        List<String> raw = IntStream.range(0, 20).mapToObj(i -> "pw" + i).toList();
+
+        List<String> hashes = encoder.encodeAll(raw);
+
+        assertEquals(20, hashes.size());
+        for (int i = 0; i < raw.size(); i++) {
+            assertTrue(encoder.matches(raw.get(i), hashes.get(i)));
+        }
+    }
+
+    @Test
+    void upgradeEncoding_TrueForWeakerCost() {
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+        encoder = new BoundedPasswordEncoder(5, 1, 8, 5000, new SimpleMeterRegistry());
+
+        assertTrue(encoder.upgradeEncoding(oldHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void queueFull_FailsFastWith503() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(blocking, 1, 1, 5000, registry);
+
+        // One on the worker, one in the queue; the third caller is refused
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        while (registry.get("ems.password.queue-depth").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("c"));
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("ems.password.rejected").counter().count());
+    }
+}
@@ -0,0 +1,68 @@
+package com.capstone.ems.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayHeaderVerifierTest {
+
+    private static final String SECRET = "gatewaySigningSecret";
+
+    private final GatewayHeaderVerifier verifier = new GatewayHeaderVerifier(true, SECRET);
+
+    @Test
+    void validSignature_ReturnsClaims() {
+        MockHttpServletRequest request = signedRequest("testuser", "USER", "10", futureExpiry());
+
+        Claims claims = verifier.verifiedClaims(request);
+
+        assertNotNull(claims);
+        assertEquals("testuser", claims.getSubject());
+        assertEquals("USER", claims.get("role", String.class));
+        assertEquals(10L, claims.get("employeeId", Long.class));
+    }
+
+    @Test
+    void tamperedRole_FallsBackToTokenParsing() {
+        MockHttpServletRequest request = signedRequest("testuser", "USER", "10", futureExpiry());
+        request.removeHeader(GatewayHeaderVerifier.ROLE);
+        request.addHeader(GatewayHeaderVerifier.ROLE, "ADMIN");
+
+        assertNull(verifier.verifiedClaims(request));
+    }
+
+    @Test
+    void expiredHeaders_FallBackToTokenParsing() {
+        String past = String.valueOf(System.currentTimeMillis() / 1000 - 60);
+        MockHttpServletRequest request = signedRequest("testuser", "USER", "10", past);
+
+        assertNull(verifier.verifiedClaims(request));
+    }
+
+    @Test
+    void disabled_IgnoresHeaders() {
+        GatewayHeaderVerifier disabled = new GatewayHeaderVerifier(false, SECRET);
+        MockHttpServletRequest request = signedRequest("testuser", "USER", "10", futureExpiry());
+
+        assertNull(disabled.verifiedClaims(request));
+    }
+
+    private MockHttpServletRequest signedRequest(String subject, String role, String employeeId, String expires) {
+        String issuedAt = String.valueOf(System.currentTimeMillis() / 1000);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(GatewayHeaderVerifier.SUBJECT, subject);
+        request.addHeader(GatewayHeaderVerifier.ROLE, role);
+        request.addHeader(GatewayHeaderVerifier.EMPLOYEE_ID, employeeId);
+        request.addHeader(GatewayHeaderVerifier.ISSUED_AT, issuedAt);
+        request.addHeader(GatewayHeaderVerifier.EXPIRES, expires);
+        request.addHeader(GatewayHeaderVerifier.SIGNATURE,
+                verifier.sign(GatewayHeaderVerifier.canonical(subject, role, employeeId, issuedAt, expires)));
+        return request;
+    }
+
+    private String futureExpiry() {
+        return String.valueOf(System.currentTimeMillis() / 1000 + 3600);
+    }
+}
@@ -0,0 +1,152 @@
+package com.capstone.ems.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+    private final String testSecret = "myTestSecretKeyThatIsLongEnoughForHS256_12345";
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(testSecret, 3600000);
+    }
+
+    @Test
+    void generateToken_RoundTrips() {
+        String token = jwtUtil.generateToken("testuser", "ADMIN", 7L);
+
+        assertEquals("testuser", jwtUtil.extractUsername(token));
+        assertEquals("ADMIN", jwtUtil.extractRole(token));
+        assertEquals(7L, jwtUtil.extractEmployeeId(token));
+    }
+
+    @Test
+    void extractUsername_Success() {
+        String token = createMockToken("testuser", "USER", 10L);
+        String username = jwtUtil.extractUsername(token);
+
+        assertEquals("testuser", username);
+    }
+
+    @Test
+    void extractRole_Success() {
+        String token = createMockToken("testuser", "USER", 10L);
+        String role = jwtUtil.extractRole(token);
+
+        assertEquals("USER", role);
+    }
+
+    @Test
+    void extractEmployeeId_Success() {
+        String token = createMockToken("testuser", "USER", 10L);
+        Long employeeId = jwtUtil.extractEmployeeId(token);
+
+        assertEquals(10L, employeeId);
+    }
+
+    @Test
+    void extractExpiration_Success() {
+        String token = createMockToken("testuser", "USER", 10L);
+        Date expiration = jwtUtil.extractExpiration(token);
+
+        assertNotNull(expiration);
+    }
+
+    @Test
+    void isTokenValid_ValidToken_ReturnsTrue() {
+        String token = createMockToken("testuser", "USER", 10L);
+        boolean valid = jwtUtil.isTokenValid(token);
+
+        assertTrue(valid);
+    }
+
+    @Test
+    void isTokenValid_ExpiredToken_ReturnsFalse() {
+        String expiredToken = createExpiredMockToken("testuser", "USER", 10L);
+        boolean valid = jwtUtil.isTokenValid(expiredToken);
+
+        assertFalse(valid);
+    }
+
+    @Test
+    void isTokenValid_InvalidToken_ReturnsFalse() {
+        String invalidToken = "invalid.token.here";
+        boolean valid = jwtUtil.isTokenValid(invalidToken);
+
+        assertFalse(valid);
+    }
+
+    @Test
+    void parseClaims_RepeatedToken_ServedFromCache() {
+        String token = createMockToken("testuser", "USER", 10L);
+
+        jwtUtil.extractUsername(token);
+        jwtUtil.extractRole(token);
+        jwtUtil.extractEmployeeId(token);
+
+        assertEquals(1, jwtUtil.claimsCache().stats().missCount());
+        assertEquals(2, jwtUtil.claimsCache().stats().hitCount());
+    }
+
+    @Test
+    void parseClaims_ForgedToken_NotCached() {
+        String forged = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(Keys.hmacShaKeyFor("someOtherSecretKeyThatIsLongEnoughForHS256".getBytes()))
+                .compact();
+
+        assertFalse(jwtUtil.isTokenValid(forged));
+        assertEquals(0, jwtUtil.claimsCache().estimatedSize());
+    }
+
+    @Test
+    void parseClaims_TimesSignatureChecksOnly() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JwtUtil timed = new JwtUtil(testSecret, 3600000, 100, registry);
+        String token = createMockToken("testuser", "USER", 10L);
+
+        timed.extractUsername(token);
+        timed.extractUsername(token);
+        timed.isTokenValid("not-a-jwt");
+
+        assertEquals(1, registry.get("ems.jwt.verify").tag("outcome", "valid").timer().count());
+        assertEquals(1, registry.get("ems.jwt.verify").tag("outcome", "invalid").timer().count());
+    }
+
+    private String createMockToken(String username, String role, Long employeeId) {
+        Key key = Keys.hmacShaKeyFor(testSecret.getBytes());
+
+        return Jwts.builder()
+                .setSubject(username)
+                .claim("role", role)
+                .claim("employeeId", employeeId)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000)) // +1 hour
+                .signWith(key)
+                .compact();
+    }
+
+    private String createExpiredMockToken(String username, String role, Long employeeId) {
+        Key key = Keys.hmacShaKeyFor(testSecret.getBytes());
+
+        return Jwts.builder()
+                .setSubject(username)
+                .claim("role", role)
+                .claim("employeeId", employeeId)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() - 3600000)) // already expired
+                .signWith(key)
+                .compact();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.capstone.ems.security;
+
+import com.capstone.ems.repo.UserRepository;
+import com.capstone.ems.service.GatewayCacheInvalidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStateCacheTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private GatewayCacheInvalidator gatewayCacheInvalidator;
+
+    @Test
+    void disabled_NeverQueries() {
+        UserStateCache cache = new UserStateCache(userRepository, gatewayCacheInvalidator, false, 30000, 3600000);
+
+        assertTrue(cache.isActive("ghost", new Date()));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void enabled_CachesExistenceLookup() {
+        UserStateCache cache = new UserStateCache(userRepository, gatewayCacheInvalidator, true, 30000, 3600000);
+        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+
+        assertTrue(cache.isActive("testuser", new Date()));
+        assertTrue(cache.isActive("testuser", new Date()));
+
+        verify(userRepository, times(1)).existsByUsername("testuser");
+    }
+
+    @Test
+    void enabled_DeletedUserRejected() {
+        UserStateCache cache = new UserStateCache(userRepository, gatewayCacheInvalidator, true, 30000, 3600000);
+        when(userRepository.existsByUsername("gone")).thenReturn(false);
+
+        assertFalse(cache.isActive("gone", new Date()));
+    }
+
+    @Test
+    void invalidate_RejectsTokensIssuedBeforeCredentialChange() {
+        UserStateCache cache = new UserStateCache(userRepository, gatewayCacheInvalidator, true, 30000, 3600000);
+        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+        Date issuedEarlier = new Date(System.currentTimeMillis() - 60_000);
+
+        cache.invalidate("testuser");
+
+        assertFalse(cache.isActive("testuser", issuedEarlier));
+        assertTrue(cache.isActive("testuser", new Date(System.currentTimeMillis() + 2_000)));
+    }
+
+    @Test
+    void invalidate_PushesMarkToGateway() {
+        UserStateCache cache = new UserStateCache(userRepository, gatewayCacheInvalidator, true, 30000, 3600000);
+        long before = Instant.now().getEpochSecond();
+
+        cache.invalidate("testuser");
+
+        verify(gatewayCacheInvalidator).revokeAfterCommit(eq("testuser"), longThat(mark -> mark >= before));
+    }
+
+    @Test
+    void invalidate_AcceptsTokenIssuedInTheSameSecond() {
+        UserStateCache cache = new UserStateCache(userRepository, gatewayCacheInvalidator, true, 30000, 3600000);
+        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+
+        cache.invalidate("testuser");
+        // What a JWT's iat carries for a login right after the reset
+        Date issuedAt = Date.from(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+        assertTrue(cache.isActive("testuser", issuedAt));
+    }
+}
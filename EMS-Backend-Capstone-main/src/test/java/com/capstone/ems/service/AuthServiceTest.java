@@ -3,19 +3,23 @@ package com.capstone.ems.service;
 import com.capstone.ems.dto.AuthRequest;
 import com.capstone.ems.dto.AuthResponse;
 import com.capstone.ems.dto.CreateUserRequest;
+import com.capstone.ems.exception.ServiceUnavailableException;
 import com.capstone.ems.model.Employee;
 import com.capstone.ems.model.UserEntity;
 import com.capstone.ems.repo.EmployeeRepository;
 import com.capstone.ems.repo.UserRepository;
 import com.capstone.ems.security.JwtUtil;
+import com.capstone.ems.security.UserStateCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
@@ -33,7 +37,9 @@ class AuthServiceTest {
     @Mock private EmployeeRepository employeeRepository;
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private JwtUtil jwtUtil;
-    @Mock private EmailService emailService;
+    @Mock private EmailOutboxService emailOutboxService;
+    @Mock private UserStateCache userStateCache;
+    @Mock private PlatformTransactionManager transactionManager;
 
     @InjectMocks private AuthService authService;
 
@@ -93,6 +99,37 @@ class AuthServiceTest {
         verify(jwtUtil).generateToken(eq("admin"), eq("ADMIN"), eq(1L));
     }
 
+    @Test
+    void loginWithRole_OutdatedHash_IsRehashed() {
+        AuthRequest request = new AuthRequest("testuser", "correctpass");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("correctpass", "$2a$10$...")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$...")).thenReturn(true);
+        when(passwordEncoder.encode("correctpass")).thenReturn("$2a$12$rehashed");
+
+        authService.loginWithRole(request, "USER");
+
+        assertEquals("$2a$12$rehashed", testUser.getPasswordHash());
+        verify(userRepository).save(testUser);
+        verify(userStateCache, never()).invalidate(anyString());
+    }
+
+    @Test
+    void loginWithRole_OutdatedHash_HashingPoolBusy_LogsInWithoutRehash() {
+        AuthRequest request = new AuthRequest("testuser", "correctpass");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("correctpass", "$2a$10$...")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$...")).thenReturn(true);
+        when(passwordEncoder.encode("correctpass")).thenThrow(new ServiceUnavailableException("Server is busy, please retry shortly"));
+        when(jwtUtil.generateToken("testuser", "USER", 1L)).thenReturn("jwt-token");
+
+        AuthResponse response = authService.loginWithRole(request, "USER");
+
+        assertEquals("jwt-token", response.getToken());
+        assertEquals("$2a$10$...", testUser.getPasswordHash());
+        verify(userRepository, never()).save(any(UserEntity.class));
+    }
+
     @Test
     void loginWithRole_InvalidCredentials_ThrowsUnauthorized() {
         AuthRequest request = new AuthRequest("testuser", "wrongpass");
@@ -198,6 +235,7 @@ class AuthServiceTest {
     void resetCredentials_Success() {
         testEmployee.setEmail("test@ems.com");
         testEmployee.setBirthDate(LocalDate.of(1990, 1, 1)); // Day 1
+        testUser.setUsername("test"); // the account derived from test@ems.com
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
         when(userRepository.findByUsername("test")).thenReturn(Optional.of(testUser));
         when(passwordEncoder.encode("test$$01")).thenReturn("encodedDefault");
@@ -205,7 +243,25 @@ class AuthServiceTest {
         authService.resetCredentials(1L);
 
         verify(passwordEncoder).encode(eq("test$$01"));
-        verify(emailService).sendResetNotification(eq("test@ems.com"), eq("Test Employee"), eq("test"), eq("test$$01"));
+        verify(userStateCache).invalidate("test");
+        verify(emailOutboxService).enqueueResetNotification(eq("test@ems.com"), eq("Test Employee"), eq("test"), eq("test$$01"));
+    }
+
+    @Test
+    void resetCredentials_HashesBeforeTransaction() {
+        testUser.setUsername("test");
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+        when(userRepository.findByUsername("test")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.encode("test$$01")).thenReturn("encodedDefault");
+
+        authService.resetCredentials(1L);
+
+        InOrder inOrder = inOrder(passwordEncoder, transactionManager, userRepository);
+        inOrder.verify(passwordEncoder).encode("test$$01");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).save(testUser);
+        inOrder.verify(transactionManager).commit(any());
+        assertEquals("encodedDefault", testUser.getPasswordHash());
     }
 
     @Test
@@ -0,0 +1,105 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.model.EmailOutbox;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock private EmailOutboxService outboxService;
+
+    private final EmailService emailService = new EmailService();
+
+    private JavaMailSenderImpl smtpSender;
+
+    @BeforeEach
+    void setUp() {
+        smtpSender = new JavaMailSenderImpl();
+        smtpSender.setHost("localhost");
+        smtpSender.setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @Test
+    void dispatchBatch_SendsWholeBatchAndMarksSent() throws Exception {
+        when(outboxService.claimBatch(50)).thenReturn(List.of(
+                mail(1L, "one@ems.com", "First"),
+                mail(2L, "two@ems.com", "Second")));
+
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(outboxService, emailService, smtpSender);
+        int claimed = dispatcher.dispatchBatch();
+
+        assertEquals(2, claimed);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("First", received[0].getSubject());
+        assertTrue(GreenMailUtil.getBody(received[1]).contains("Body of Second"));
+
+        verify(outboxService).markSent(argThat((Collection<Long> ids) -> ids.containsAll(List.of(1L, 2L))));
+        verify(outboxService, never()).markFailed(anyLong(), any());
+    }
+
+    @Test
+    void dispatchBatch_PartialFailure_ReschedulesOnlyFailedMessage() {
+        JavaMailSender failingSender = mock(JavaMailSender.class);
+        doAnswer(invocation -> {
+            SimpleMailMessage[] messages = (SimpleMailMessage[]) invocation.getRawArguments()[0];
+            throw new MailSendException(Map.of(messages[0], new RuntimeException("550 mailbox unavailable")));
+        }).when(failingSender).send(any(SimpleMailMessage[].class));
+
+        when(outboxService.claimBatch(50)).thenReturn(List.of(mail(1L, "one@ems.com", "Only")));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(outboxService, emailService, failingSender, registry);
+        dispatcher.dispatchBatch();
+
+        verify(outboxService).markFailed(1L, "550 mailbox unavailable");
+        verify(outboxService).markSent(argThat(Collection::isEmpty));
+        assertEquals(1, registry.get("ems.mail.send").tag("outcome", "failure").timer().count());
+        assertEquals(1.0, registry.get("ems.mail.messages").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void dispatchPending_StopsWhenOutboxIsDrained() {
+        when(outboxService.claimBatch(50)).thenReturn(List.of());
+
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(outboxService, emailService, smtpSender);
+        ReflectionTestUtils.setField(dispatcher, "maxBatchesPerRun", 5);
+        dispatcher.dispatchPending();
+
+        verify(outboxService, times(1)).claimBatch(50);
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    private EmailOutbox mail(Long id, String to, String subject) {
+        EmailOutbox mail = new EmailOutbox(to, subject, "Body of " + subject, LocalDateTime.now());
+        mail.setId(id);
+        return mail;
+    }
+}
@@ -0,0 +1,115 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.model.EmailOutbox;
+import com.capstone.ems.repo.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.SimpleMailMessage;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 30, 12, 0);
+
+    @Mock private EmailOutboxRepository outboxRepository;
+    @Mock private EmailService emailService;
+
+    private EmailOutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE);
+        outboxService = new EmailOutboxService(outboxRepository, emailService, clock);
+    }
+
+    @Test
+    void enqueueWelcomeEmail_PersistsRenderedMessage() {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo("test@ems.com");
+        message.setSubject("Welcome");
+        message.setText("Hello");
+        when(emailService.buildWelcomeEmail("test@ems.com", "Test", "test", "test$$01")).thenReturn(message);
+
+        outboxService.enqueueWelcomeEmail("test@ems.com", "Test", "test", "test$$01");
+
+        ArgumentCaptor<EmailOutbox> captor = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(outboxRepository).save(captor.capture());
+        EmailOutbox saved = captor.getValue();
+        assertEquals("test@ems.com", saved.getRecipient());
+        assertEquals("Welcome", saved.getSubject());
+        assertEquals(EmailOutbox.Status.PENDING, saved.getStatus());
+        assertEquals(NOW, saved.getNextAttemptAt());
+    }
+
+    @Test
+    void claimBatch_MarksSendingWithLease() {
+        EmailOutbox mail = new EmailOutbox("a@ems.com", "S", "B", NOW);
+        when(outboxRepository.lockDueBatch(NOW, 10)).thenReturn(List.of(mail));
+
+        List<EmailOutbox> batch = outboxService.claimBatch(10);
+
+        assertEquals(1, batch.size());
+        assertEquals(EmailOutbox.Status.SENDING, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertEquals(NOW.plusMinutes(2), mail.getNextAttemptAt());
+    }
+
+    @Test
+    void markFailed_BacksOffExponentially() {
+        EmailOutbox mail = new EmailOutbox("a@ems.com", "S", "B", NOW);
+        mail.setAttempts(3);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(mail));
+
+        outboxService.markFailed(1L, "timeout");
+
+        assertEquals(EmailOutbox.Status.PENDING, mail.getStatus());
+        assertEquals(NOW.plusMinutes(2), mail.getNextAttemptAt()); // 30s * 2^2
+        assertEquals("timeout", mail.getLastError());
+        assertEquals("B", mail.getBody()); // still needed for the retry
+    }
+
+    @Test
+    void markFailed_GivesUpAfterMaxAttempts() {
+        EmailOutbox mail = new EmailOutbox("a@ems.com", "S", "secret credentials", NOW);
+        mail.setAttempts(8);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(mail));
+
+        outboxService.markFailed(1L, "rejected");
+
+        assertEquals(EmailOutbox.Status.FAILED, mail.getStatus());
+        assertNull(mail.getBody());
+    }
+
+    @Test
+    void markSent_ClearsBody() {
+        EmailOutbox mail = new EmailOutbox("a@ems.com", "S", "secret credentials", NOW);
+        when(outboxRepository.findAllById(List.of(1L))).thenReturn(List.of(mail));
+
+        outboxService.markSent(List.of(1L));
+
+        assertEquals(EmailOutbox.Status.SENT, mail.getStatus());
+        assertNull(mail.getBody());
+        assertEquals(NOW, mail.getSentAt());
+    }
+
+    @Test
+    void backoff_IsCapped() {
+        assertEquals(30_000, outboxService.backoffMs(1));
+        assertEquals(3_600_000, outboxService.backoffMs(40));
+    }
+}
@@ -0,0 +1,95 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.exception.BadRequestException;
+import com.capstone.ems.model.Employee;
+import com.capstone.ems.repo.EmployeeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeExportServiceTest {
+
+    @Mock private EmployeeRepository employeeRepository;
+    @Mock private EntityManager entityManager;
+
+    private EmployeeExportService exportService;
+    private Employee first;
+    private Employee second;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new EmployeeExportService(employeeRepository, new ObjectMapper().findAndRegisterModules(), 100);
+        ReflectionTestUtils.setField(exportService, "entityManager", entityManager);
+
+        first = employee(1L, "Test Employee", "test@ems.com", "Developer");
+        second = employee(2L, "Doe, \"JD\" John", "jd@ems.com", "=cmd");
+    }
+
+    @Test
+    void export_Csv_EscapesFields() throws Exception {
+        when(employeeRepository.streamFiltered(isNull(), isNull(), eq(100))).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(EmployeeExportService.Format.CSV, null, null, false, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,name,email,designation,salary,birthDate", lines[0]);
+        assertEquals("1,Test Employee,test@ems.com,Developer,50000,1990-01-01", lines[1]);
+        assertEquals("2,\"Doe, \"\"JD\"\" John\",jd@ems.com,'=cmd,50000,1990-01-01", lines[2]);
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void export_NdjsonGzip_OneObjectPerLine() throws Exception {
+        when(employeeRepository.streamFiltered(eq("Developer"), eq("te"), eq(100))).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(EmployeeExportService.Format.NDJSON, "Developer", "te", true, out);
+
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"email\":\"test@ems.com\""));
+        assertTrue(lines[1].contains("\"id\":2"));
+    }
+
+    @Test
+    void formatFrom_Unknown_ThrowsBadRequest() {
+        assertEquals(EmployeeExportService.Format.CSV, EmployeeExportService.Format.from("CSV"));
+        assertThrows(BadRequestException.class, () -> EmployeeExportService.Format.from("xlsx"));
+    }
+
+    private Employee employee(Long id, String name, String email, String designation) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setEmail(email);
+        employee.setDesignation(designation);
+        employee.setSalary(new BigDecimal("50000"));
+        employee.setBirthDate(LocalDate.of(1990, 1, 1));
+        return employee;
+    }
+}
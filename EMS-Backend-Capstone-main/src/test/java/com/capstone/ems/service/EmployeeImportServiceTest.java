@@ -0,0 +1,218 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.dto.ImportReportDto;
+import com.capstone.ems.dto.ImportRowResultDto;
+import com.capstone.ems.exception.BadRequestException;
+import com.capstone.ems.model.Employee;
+import com.capstone.ems.model.UserEntity;
+import com.capstone.ems.repo.EmployeeRepository;
+import com.capstone.ems.repo.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceTest {
+
+    private static final String HEADER = "name,email,designation,salary,birthDate,role\n";
+
+    @Mock private EmployeeRepository employeeRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private PasswordEncoder passwordEncoder;
+    @Mock private EmailOutboxService emailOutboxService;
+    @Mock private HomeStatsService homeStatsService;
+    @Mock private GatewayCacheInvalidator gatewayCacheInvalidator;
+    @Mock private EmployeeSuggestIndex suggestIndex;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private EmployeeImportService importService;
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        importService = new EmployeeImportService(employeeRepository, userRepository, passwordEncoder,
+                emailOutboxService, homeStatsService, gatewayCacheInvalidator, suggestIndex,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().findAndRegisterModules(), transactionManager, 2, 100);
+
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "hashed:" + inv.getArgument(0));
+        lenient().when(employeeRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Employee> employees = inv.getArgument(0);
+            employees.forEach(e -> e.setId(ids.incrementAndGet()));
+            return employees;
+        });
+    }
+
+    @Test
+    void importCsv_ValidRows_CreatedInChunks() {
+        String csv = HEADER
+                + "Ann Lee,ann@ems.com,Developer,50000,1990-01-05,USER\n"
+                + "\"Doe, John\",john@ems.com,Tester,40000,1991-02-17,USER\n"
+                + "Kim Park,kim@ems.com,Manager,90000,1985-12-30,ADMIN\n";
+
+        ImportReportDto report = importService.importEmployees(EmployeeImportService.Format.CSV, stream(csv));
+
+        assertEquals(3, report.getCreated());
+        assertEquals(0, report.getFailed());
+        assertEquals("john", report.getRows().get(1).getUsername());
+        // chunk size 2 -> two insert transactions
+        verify(employeeRepository, times(2)).saveAll(anyList());
+        verify(userRepository, times(2)).saveAll(anyList());
+        verify(emailOutboxService).enqueueWelcomeEmail("john@ems.com", "Doe, John", "john", "john$$17");
+        verify(homeStatsService, times(3)).onEmployeeCreated(any(Employee.class));
+        verify(gatewayCacheInvalidator, times(2)).invalidateAfterCommit(
+                GatewayCacheInvalidator.EMPLOYEES, GatewayCacheInvalidator.PUBLIC_STATS);
+    }
+
+    @Test
+    void importCsv_UsersGetHashedDefaultPassword() {
+        String csv = HEADER + "Ann Lee,ann@ems.com,Developer,50000,1990-01-05,USER\n";
+
+        importService.importEmployees(EmployeeImportService.Format.CSV, stream(csv));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserEntity>> users = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).saveAll(users.capture());
+        UserEntity user = users.getValue().get(0);
+        assertEquals("ann", user.getUsername());
+        assertEquals("hashed:ann$$05", user.getPasswordHash());
+        assertEquals("USER", user.getRole());
+        assertEquals(1L, user.getEmployee().getId());
+    }
+
+    @Test
+    void importCsv_InvalidAndDuplicateRows_ReportedPerRow() {
+        when(employeeRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@ems.com"));
+        String csv = HEADER
+                + "Ann Lee,ann@ems.com,Developer,50000,1990-01-05,USER\n"
+                + ",bad-email,Developer,abc,1990-01-05,USER\n"
+                + "Ann Again,ann@ems.com,Developer,50000,1990-01-05,USER\n"
+                + "Old Timer,taken@ems.com,Developer,50000,1970-03-03,USER\n"
+                + "No Date,nodate@ems.com,Developer,50000,,USER\n";
+
+        ImportReportDto report = importService.importEmployees(EmployeeImportService.Format.CSV, stream(csv));
+
+        assertEquals(5, report.getTotalRows());
+        assertEquals(1, report.getCreated());
+        List<ImportRowResultDto> rows = report.getRows();
+        assertEquals(ImportRowResultDto.Status.CREATED, rows.get(0).getStatus());
+        assertEquals(List.of("salary: not a number"), rows.get(1).getErrors());
+        assertEquals(List.of("email: duplicated earlier in the file"), rows.get(2).getErrors());
+        assertEquals(List.of("email: already in use"), rows.get(3).getErrors());
+        assertEquals(List.of("birthDate: Date of Birth is required"), rows.get(4).getErrors());
+        assertEquals(5, rows.get(4).getRow());
+    }
+
+    @Test
+    void importCsv_MissingColumn_ThrowsBadRequest() {
+        String csv = "name,email,salary\nAnn,ann@ems.com,1\n";
+
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> importService.importEmployees(EmployeeImportService.Format.CSV, stream(csv)));
+        assertEquals("CSV header is missing columns: designation, birthDate, role", ex.getMessage());
+    }
+
+    @Test
+    void importCsv_ChunkFailsToCommit_RowsReportedFailedAndImportContinues() {
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .doAnswer(inv -> {
+                    List<Employee> employees = inv.getArgument(0);
+                    employees.forEach(e -> e.setId(ids.incrementAndGet()));
+                    return employees;
+                })
+                .when(employeeRepository).saveAll(anyList());
+        String csv = HEADER
+                + "A One,a@ems.com,Dev,1,1990-01-01,USER\n"
+                + "B Two,b@ems.com,Dev,1,1990-01-01,USER\n"
+                + "C Three,c@ems.com,Dev,1,1990-01-01,USER\n";
+
+        ImportReportDto report = importService.importEmployees(EmployeeImportService.Format.CSV, stream(csv));
+
+        assertEquals(1, report.getCreated());
+        assertEquals(2, report.getFailed());
+        assertEquals(ImportRowResultDto.Status.FAILED, report.getRows().get(0).getStatus());
+        assertEquals(ImportRowResultDto.Status.CREATED, report.getRows().get(2).getStatus());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void importJson_ArrayOfEmployees() {
+        String json = "[{\"name\":\"Ann Lee\",\"email\":\"ann@ems.com\",\"designation\":\"Dev\","
+                + "\"salary\":50000,\"birthDate\":\"1990-01-05\",\"role\":\"USER\"},"
+                + "{\"name\":\"Bad Date\",\"email\":\"bad@ems.com\",\"designation\":\"Dev\","
+                + "\"salary\":1,\"birthDate\":\"05/01/1990\",\"role\":\"USER\"}]";
+
+        ImportReportDto report = importService.importEmployees(EmployeeImportService.Format.JSON, stream(json));
+
+        assertEquals(1, report.getCreated());
+        assertEquals(ImportRowResultDto.Status.FAILED, report.getRows().get(1).getStatus());
+        assertEquals("bad@ems.com", report.getRows().get(1).getEmail());
+    }
+
+    @Test
+    void importJson_TruncatedAfterRows_ReportsProgress() {
+        String json = "[{\"name\":\"Ann Lee\",\"email\":\"ann@ems.com\",\"designation\":\"Dev\","
+                + "\"salary\":50000,\"birthDate\":\"1990-01-05\",\"role\":\"USER\"},{\"name\":";
+
+        ImportReportDto report = importService.importEmployees(EmployeeImportService.Format.JSON, stream(json));
+
+        assertEquals(1, report.getCreated());
+        assertNotNull(report.getError());
+    }
+
+    @Test
+    void import_MoreRowsThanLimit_Truncated() {
+        importService = new EmployeeImportService(employeeRepository, userRepository, passwordEncoder,
+                emailOutboxService, homeStatsService, gatewayCacheInvalidator, suggestIndex,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().findAndRegisterModules(), transactionManager, 50, 2);
+        StringBuilder csv = new StringBuilder(HEADER);
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            emails.add("user" + i + "@ems.com");
+            csv.append("User ").append(i).append(",user").append(i).append("@ems.com,Dev,1,1990-01-01,USER\n");
+        }
+
+        ImportReportDto report = importService.importEmployees(EmployeeImportService.Format.CSV, stream(csv.toString()));
+
+        assertTrue(report.isTruncated());
+        assertEquals(2, report.getCreated());
+        verify(employeeRepository).findExistingEmails(emails.subList(0, 2));
+    }
+
+    @Test
+    void parseCsvLine_HandlesQuotesAndEscapedQuotes() {
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""),
+                EmployeeImportService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    @Test
+    void format_FromContentType() {
+        assertEquals(EmployeeImportService.Format.CSV, EmployeeImportService.Format.from("text/csv; charset=UTF-8"));
+        assertEquals(EmployeeImportService.Format.JSON, EmployeeImportService.Format.from("application/json"));
+        assertThrows(BadRequestException.class, () -> EmployeeImportService.Format.from("text/plain"));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
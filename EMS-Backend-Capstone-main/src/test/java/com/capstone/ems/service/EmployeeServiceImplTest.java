@@ -1,21 +1,28 @@
 package com.capstone.ems.service;
 
 import com.capstone.ems.dto.EmployeeDto;
+import com.capstone.ems.dto.EmployeePageDto;
+import com.capstone.ems.dto.EmployeeSearchHitDto;
+import com.capstone.ems.dto.EmployeeSearchPageDto;
+import com.capstone.ems.dto.HighlightDto;
 import com.capstone.ems.exception.BadRequestException;
 import com.capstone.ems.exception.NotFoundException;
 import com.capstone.ems.model.Employee;
 import com.capstone.ems.model.UserEntity;
 import com.capstone.ems.repo.EmployeeRepository;
+import com.capstone.ems.repo.EmployeeSearchMatch;
 import com.capstone.ems.repo.UserRepository;
-import com.capstone.ems.service.EmailService;
+import com.capstone.ems.security.UserStateCache;
 import com.capstone.ems.service.impl.EmployeeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -33,7 +40,12 @@ class EmployeeServiceImplTest {
     @Mock private EmployeeRepository employeeRepository;
     @Mock private UserRepository userRepository;
     @Mock private PasswordEncoder passwordEncoder;
-    @Mock private EmailService emailService;
+    @Mock private EmailOutboxService emailOutboxService;
+    @Mock private HomeStatsService homeStatsService;
+    @Mock private UserStateCache userStateCache;
+    @Mock private GatewayCacheInvalidator gatewayCacheInvalidator;
+    @Mock private EmployeeSuggestIndex suggestIndex;
+    @Mock private PlatformTransactionManager transactionManager;
 
     @InjectMocks private EmployeeServiceImpl employeeServiceImpl;
 
@@ -71,6 +83,147 @@ class EmployeeServiceImplTest {
         verify(employeeRepository).findAll();
     }
 
+    @Test
+    void getEmployeePage_HasMore_ReturnsCursor() {
+        Employee second = new Employee();
+        second.setId(2L);
+        second.setName("Second Employee");
+        second.setSalary(new BigDecimal("60000"));
+        when(employeeRepository.findPageAfter(isNull(), isNull(), eq("id"), eq(true), isNull(), isNull(), eq(2)))
+                .thenReturn(Arrays.asList(testEmployee, second));
+
+        EmployeePageDto page = employeeServiceImpl.getEmployeePage(null, 1, null, null, "id", "asc");
+
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void getEmployeePage_WithCursor_SeeksAfterLastRow() {
+        when(employeeRepository.findPageAfter(any(), any(), eq("salary"), eq(false), any(), any(), anyInt()))
+                .thenReturn(Arrays.asList(testEmployee, testEmployee));
+        String cursor = employeeServiceImpl.getEmployeePage(null, 1, null, null, "salary", "desc").getNextCursor();
+
+        when(employeeRepository.findPageAfter(isNull(), isNull(), eq("salary"), eq(false),
+                eq(new BigDecimal("50000")), eq(1L), eq(2)))
+                .thenReturn(List.of());
+
+        EmployeePageDto page = employeeServiceImpl.getEmployeePage(cursor, 1, null, null, "salary", "desc");
+
+        assertTrue(page.getItems().isEmpty());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getEmployeePage_SizeAboveMax_IsClamped() {
+        when(employeeRepository.findPageAfter(any(), any(), any(), anyBoolean(), any(), any(), eq(201)))
+                .thenReturn(List.of(testEmployee));
+
+        EmployeePageDto page = employeeServiceImpl.getEmployeePage(null, 10_000, null, null, "id", "asc");
+
+        assertEquals(200, page.getSize());
+    }
+
+    @Test
+    void getEmployeePage_UnknownSortColumn_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> employeeServiceImpl.getEmployeePage(null, 10, null, null, "password", "asc"));
+    }
+
+    @Test
+    void getEmployeePage_CursorForOtherSort_ThrowsBadRequest() {
+        when(employeeRepository.findPageAfter(any(), any(), any(), anyBoolean(), any(), any(), anyInt()))
+                .thenReturn(Arrays.asList(testEmployee, testEmployee));
+        String cursor = employeeServiceImpl.getEmployeePage(null, 1, null, null, "name", "asc").getNextCursor();
+
+        assertThrows(BadRequestException.class,
+                () -> employeeServiceImpl.getEmployeePage(cursor, 1, null, null, "id", "asc"));
+    }
+
+    @Test
+    void searchEmployees_KeepsRankOrderAndHighlightsMatches() {
+        Employee second = new Employee();
+        second.setId(2L);
+        second.setName("Testa Rossi");
+        second.setEmail("rossi@ems.com");
+        second.setDesignation("Tester");
+        when(employeeRepository.searchRanked("Test", 21, 0))
+                .thenReturn(List.of(match(2L, 0.9), match(1L, 0.8)));
+        when(employeeRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testEmployee, second));
+
+        EmployeeSearchPageDto page = employeeServiceImpl.searchEmployees("  Test ", 0, null);
+
+        assertEquals(List.of(2L, 1L), page.getItems().stream().map(hit -> hit.getEmployee().getId()).toList());
+        assertEquals(0.9, page.getItems().get(0).getScore());
+        assertEquals(20, page.getSize());
+        assertFalse(page.isHasMore());
+
+        List<HighlightDto> highlights = page.getItems().get(1).getHighlights();
+        assertEquals(2, highlights.size());
+        assertSpan(highlights.get(0), "name", 0, 4);
+        assertSpan(highlights.get(1), "email", 0, 4);
+    }
+
+    @Test
+    void searchEmployees_TypoFallsBackToPrefixHighlight() {
+        when(employeeRepository.searchRanked("developr", 21, 0)).thenReturn(List.of(match(1L, 0.7)));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(testEmployee));
+
+        EmployeeSearchHitDto hit = employeeServiceImpl.searchEmployees("developr", 0, null).getItems().get(0);
+
+        assertEquals(1, hit.getHighlights().size());
+        assertSpan(hit.getHighlights().get(0), "designation", 0, 7);
+    }
+
+    @Test
+    void searchEmployees_ExtraRow_HasMore() {
+        when(employeeRepository.searchRanked("test", 2, 1))
+                .thenReturn(List.of(match(1L, 0.9), match(2L, 0.8)));
+        when(employeeRepository.findAllById(List.of(1L))).thenReturn(List.of(testEmployee));
+
+        EmployeeSearchPageDto page = employeeServiceImpl.searchEmployees("test", 1, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(1, page.getPage());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void searchEmployees_RowDeletedBetweenQueries_Skipped() {
+        when(employeeRepository.searchRanked("test", 21, 0)).thenReturn(List.of(match(7L, 0.9), match(1L, 0.8)));
+        when(employeeRepository.findAllById(List.of(7L, 1L))).thenReturn(List.of(testEmployee));
+
+        EmployeeSearchPageDto page = employeeServiceImpl.searchEmployees("test", 0, null);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(1L, page.getItems().get(0).getEmployee().getId());
+    }
+
+    @Test
+    void searchEmployees_InvalidInput_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> employeeServiceImpl.searchEmployees(" a ", 0, null));
+        assertThrows(BadRequestException.class, () -> employeeServiceImpl.searchEmployees("x".repeat(101), 0, null));
+        assertThrows(BadRequestException.class, () -> employeeServiceImpl.searchEmployees("test", -1, null));
+        // 50 per page (clamped) -> page 20 starts at the 1000-result ceiling
+        assertThrows(BadRequestException.class, () -> employeeServiceImpl.searchEmployees("test", 20, 500));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private static EmployeeSearchMatch match(Long id, double score) {
+        return new EmployeeSearchMatch() {
+            @Override public Long getId() { return id; }
+            @Override public Double getScore() { return score; }
+        };
+    }
+
+    private static void assertSpan(HighlightDto highlight, String field, int start, int end) {
+        assertEquals(field, highlight.getField());
+        assertEquals(start, highlight.getStart());
+        assertEquals(end, highlight.getEnd());
+    }
+
     @Test
     void getEmployeeById_Success() {
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
@@ -101,7 +254,25 @@ class EmployeeServiceImplTest {
         assertEquals(1L, result.getId());
         verify(employeeRepository).save(any(Employee.class));
         verify(userRepository).save(any(UserEntity.class));
-        verify(emailService).sendWelcomeEmail(eq("test@ems.com"), eq("Test Employee"), eq("test"), eq("test$$01"));
+        verify(emailOutboxService).enqueueWelcomeEmail(eq("test@ems.com"), eq("Test Employee"), eq("test"), eq("test$$01"));
+        verify(homeStatsService).onEmployeeCreated(testEmployee);
+        verify(gatewayCacheInvalidator).invalidateAfterCommit(
+                GatewayCacheInvalidator.EMPLOYEES, GatewayCacheInvalidator.PUBLIC_STATS);
+    }
+
+    @Test
+    void createEmployee_HashesBeforeTransaction() {
+        when(employeeRepository.save(any(Employee.class))).thenReturn(testEmployee);
+        when(passwordEncoder.encode("test$$01")).thenReturn("encodedPass");
+
+        employeeServiceImpl.createEmployee(testDto);
+
+        InOrder inOrder = inOrder(passwordEncoder, transactionManager, employeeRepository, emailOutboxService);
+        inOrder.verify(passwordEncoder).encode("test$$01");
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(employeeRepository).save(any(Employee.class));
+        inOrder.verify(emailOutboxService).enqueueWelcomeEmail(anyString(), anyString(), anyString(), anyString());
+        inOrder.verify(transactionManager).commit(any());
     }
 
     @Test
@@ -114,6 +285,7 @@ class EmployeeServiceImplTest {
 
         assertEquals("Test Employee", result.getName());
         verify(employeeRepository, times(1)).save(testEmployee);
+        verify(homeStatsService).onEmployeeUpdated(new BigDecimal("50000"), new BigDecimal("50000"));
     }
 
     @Test
@@ -140,13 +312,19 @@ class EmployeeServiceImplTest {
     void deleteEmployee_Success_WithUser() {
         UserEntity associatedUser = new UserEntity();
         associatedUser.setId(1L);
+        associatedUser.setUsername("test");
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
         when(userRepository.findByEmployeeId(1L)).thenReturn(Optional.of(associatedUser));
 
         employeeServiceImpl.deleteEmployee(1L);
 
         verify(userRepository).delete(associatedUser);
+        verify(userStateCache).invalidate("test");
         verify(employeeRepository).delete(testEmployee);
+        verify(homeStatsService).onEmployeeDeleted(testEmployee);
+        verify(gatewayCacheInvalidator).invalidateAfterCommit(
+                GatewayCacheInvalidator.EMPLOYEES, GatewayCacheInvalidator.PUBLIC_STATS,
+                GatewayCacheInvalidator.EXPERIENCE);
     }
 
     @Test
@@ -156,7 +334,9 @@ class EmployeeServiceImplTest {
 
         employeeServiceImpl.deleteEmployee(1L);
 
-        verifyNoInteractions(userRepository);
+        // The lookup is how deleteEmployee finds out there is no user; nothing else may touch the repository
+        verify(userRepository).findByEmployeeId(1L);
+        verifyNoMoreInteractions(userRepository);
         verify(employeeRepository).delete(testEmployee);
     }
 
@@ -0,0 +1,182 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.dto.EmployeeSuggestionDto;
+import com.capstone.ems.model.Employee;
+import com.capstone.ems.repo.EmployeeRepository;
+import com.capstone.ems.repo.EmployeeSuggestRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSuggestIndexTest {
+
+    @Mock private EmployeeRepository employeeRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private EmployeeSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EmployeeSuggestIndex(employeeRepository, transactionManager, registry, 1000, 100, 300_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private record Row(Long getId, String getName, String getEmail, String getDesignation)
+            implements EmployeeSuggestRow {
+    }
+
+    private void load(Row... rows) {
+        when(employeeRepository.streamSuggestRows()).thenReturn(Stream.of(rows));
+        assertTrue(index.rebuild());
+    }
+
+    private static Employee employee(long id, String name, String email) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setName(name);
+        employee.setEmail(email);
+        employee.setDesignation("Engineer");
+        return employee;
+    }
+
+    private List<Long> ids(String query, int limit) {
+        return index.suggest(query, limit).stream().map(EmployeeSuggestionDto::getId).toList();
+    }
+
+    @Test
+    void suggest_MatchesAnyNameWordOrEmail_IgnoringCase() {
+        load(new Row(1L, "Mary Ann Smith", "mary@corp.com", "Engineer"),
+             new Row(2L, "John Doe", "jdoe@corp.com", "Manager"));
+
+        assertEquals(List.of(1L), ids("ann", 10));
+        assertEquals(List.of(1L), ids("SMI", 10));
+        assertEquals(List.of(2L), ids("jdoe@", 10));
+        assertEquals(List.of(), ids("corp", 10));
+
+        EmployeeSuggestionDto hit = index.suggest("john", 10).get(0);
+        assertEquals("John Doe", hit.getName());
+        assertEquals("jdoe@corp.com", hit.getEmail());
+        assertEquals("Manager", hit.getDesignation());
+    }
+
+    @Test
+    void suggest_EachEmployeeOnce_TopKInKeyOrder() {
+        load(new Row(1L, "Sam Sample", "sam@corp.com", "Engineer"),
+             new Row(2L, "Sally", "sally@corp.com", "Engineer"),
+             new Row(3L, "Sam", "s.x@corp.com", "Engineer"));
+
+        // "sally" < "sam" < "sam sample": employee 1 also matches through "sample" and "sam@", but is listed once
+        assertEquals(List.of(2L, 3L, 1L), ids("sa", 10));
+        assertEquals(List.of(2L, 3L), ids("sa", 2));
+        assertEquals(List.of(), ids(" ", 10));
+    }
+
+    @Test
+    void writes_VisibleBeforeRebuild() {
+        load(new Row(1L, "Alice Adams", "alice@corp.com", "Engineer"),
+             new Row(2L, "Bob Brown", "bob@corp.com", "Engineer"));
+
+        index.onEmployeeSaved(employee(1L, "Alicia Keys", "alicia@corp.com"));
+        index.onEmployeeSaved(employee(3L, "Alan Ames", "alan@corp.com"));
+        index.onEmployeeDeleted(2L);
+
+        assertEquals(List.of(3L, 1L), ids("al", 10));
+        assertEquals(List.of(), ids("adams", 10));
+        assertEquals(List.of(), ids("bob", 10));
+        assertEquals("Alicia Keys", index.suggest("keys", 1).get(0).getName());
+    }
+
+    @Test
+    void rebuild_FoldsDeltaIntoSegment() {
+        load(new Row(1L, "Alice Adams", "alice@corp.com", "Engineer"));
+        index.onEmployeeSaved(employee(2L, "Alan Ames", "alan@corp.com"));
+        assertEquals(1.0, registry.get("ems.suggest.delta").gauge().value());
+
+        load(new Row(1L, "Alice Adams", "alice@corp.com", "Engineer"),
+             new Row(2L, "Alan Ames", "alan@corp.com", "Engineer"));
+
+        assertEquals(0.0, registry.get("ems.suggest.delta").gauge().value());
+        assertEquals(2.0, registry.get("ems.suggest.entries").gauge().value());
+        assertEquals(List.of(2L, 1L), ids("al", 10));
+    }
+
+    @Test
+    void rolledBackWrite_NeverIndexed() {
+        load(new Row(1L, "Alice Adams", "alice@corp.com", "Engineer"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.onEmployeeSaved(employee(2L, "Alan Ames", "alan@corp.com"));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(List.of(1L), ids("al", 10));
+    }
+
+    @Test
+    void build_StopsAtMaxEntries() {
+        index = new EmployeeSuggestIndex(employeeRepository, transactionManager, new SimpleMeterRegistry(), 2, 100, 300_000);
+        load(new Row(1L, "Ann One", "one@corp.com", "Engineer"),
+             new Row(2L, "Ann Two", "two@corp.com", "Engineer"),
+             new Row(3L, "Ann Three", "three@corp.com", "Engineer"));
+
+        assertEquals(List.of(1L, 2L), ids("ann", 10));
+    }
+
+    @Test
+    void suggest_AgreesWithLinearScan() {
+        Random random = new Random(42);
+        String[] words = {"ana", "anders", "andy", "ben", "bea", "berta", "carl", "cara", "carlo", "dan"};
+        List<Row> rows = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+            rows.add(new Row(id, Character.toUpperCase(name.charAt(0)) + name.substring(1),
+                    words[random.nextInt(words.length)] + id + "@corp.com", "Engineer"));
+        }
+        load(rows.toArray(new Row[0]));
+
+        for (String prefix : List.of("a", "an", "and", "car", "carlo", "b", "be", "dan1", "zzz")) {
+            List<Long> expected = rows.stream()
+                    .filter(row -> matches(row, prefix))
+                    .map(Row::getId)
+                    .sorted()
+                    .toList();
+            List<Long> actual = new ArrayList<>(ids(prefix, 500));
+            actual.sort(Comparator.naturalOrder());
+            assertEquals(expected, actual, prefix);
+        }
+    }
+
+    private static boolean matches(Row row, String prefix) {
+        if (row.getEmail().startsWith(prefix)) {
+            return true;
+        }
+        for (String word : row.getName().toLowerCase().split(" ")) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
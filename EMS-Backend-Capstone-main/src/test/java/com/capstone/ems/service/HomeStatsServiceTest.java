@@ -0,0 +1,96 @@
+package com.capstone.ems.service;
+
+import com.capstone.ems.dto.HomeStatsDto;
+import com.capstone.ems.model.Employee;
+import com.capstone.ems.repo.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HomeStatsServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 30);
+
+    @Mock private EmployeeRepository employeeRepository;
+
+    private HomeStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atTime(12, 0).atZone(ZONE).toInstant(), ZONE);
+        statsService = new HomeStatsService(employeeRepository, clock);
+    }
+
+    @Test
+    void snapshot_Empty_ReturnsZeros() {
+        HomeStatsDto stats = statsService.snapshot();
+
+        assertEquals(0, stats.getTotalEmployees());
+        assertEquals(0, stats.getNewJoinees());
+        assertEquals(BigDecimal.ZERO, stats.getAvgSalary());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void mutations_UpdateCountersWithoutQueries() {
+        Employee recent = employee("50000", TODAY.minusDays(2).atStartOfDay());
+        Employee old = employee("70000", TODAY.minusDays(45).atStartOfDay());
+
+        statsService.onEmployeeCreated(recent);
+        statsService.onEmployeeCreated(old);
+        statsService.onEmployeeUpdated(new BigDecimal("70000"), new BigDecimal("80000"));
+
+        HomeStatsDto stats = statsService.snapshot();
+        assertEquals(2, stats.getTotalEmployees());
+        assertEquals(1, stats.getNewJoinees());
+        assertEquals(new BigDecimal("65000.00"), stats.getAvgSalary());
+
+        statsService.onEmployeeDeleted(recent);
+
+        stats = statsService.snapshot();
+        assertEquals(1, stats.getTotalEmployees());
+        assertEquals(0, stats.getNewJoinees());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void reconcile_ReplacesCountersWithAggregates() {
+        statsService.onEmployeeCreated(employee("10", TODAY.atStartOfDay()));
+        when(employeeRepository.aggregateHeadcountAndSalary())
+                .thenReturn(Collections.singletonList(new Object[]{3L, new BigDecimal("90000.00")}));
+        when(employeeRepository.countJoinersPerDaySince(any(LocalDateTime.class))).thenReturn(List.of(
+                new Object[]{TODAY, 1L},
+                new Object[]{java.sql.Date.valueOf(TODAY.minusDays(29)), 1L}
+        ));
+
+        assertTrue(statsService.reconcile());
+
+        HomeStatsDto stats = statsService.snapshot();
+        assertEquals(3, stats.getTotalEmployees());
+        assertEquals(2, stats.getNewJoinees());
+        assertEquals(new BigDecimal("30000.00"), stats.getAvgSalary());
+    }
+
+    private Employee employee(String salary, LocalDateTime createdAt) {
+        Employee employee = new Employee();
+        employee.setSalary(new BigDecimal(salary));
+        employee.setCreatedAt(createdAt);
+        return employee;
+    }
+}
@@ -0,0 +1,58 @@
+package com.capstone.experience.security;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token check: cachedClaims is a repeat token, verifySignature is
+ * the HMAC + JSON parse that the claims cache skips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsLongEnoughForHS256_12345";
+
+    private JwtUtil jwtUtil;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        jwtUtil = new JwtUtil(SECRET);
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        token = Jwts.builder()
+                .setSubject("benchmark.user")
+                .claim("role", "USER")
+                .claim("employeeId", 42L)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(key)
+                .compact();
+        jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public Object cachedClaims() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Object verifySignature() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
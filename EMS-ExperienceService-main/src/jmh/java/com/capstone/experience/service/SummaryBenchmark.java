@@ -0,0 +1,93 @@
+package com.capstone.experience.service;
+
+import com.capstone.experience.cache.ExperienceSummaryCache;
+import com.capstone.experience.cache.GatewayCacheInvalidator;
+import com.capstone.experience.dto.ExperienceBatchResponse;
+import com.capstone.experience.dto.ExperienceSummaryResponse;
+import com.capstone.experience.model.Experience;
+import com.capstone.experience.repo.ExperienceRepository;
+import com.capstone.experience.repo.ExperienceSummaryView;
+import com.capstone.experience.service.impl.ExperienceServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory summary returned by POST /api/experience/batch, per row
+ * count, and GET /api/experience/summary/me when the summary cache is warm.
+ * The repository is in memory, so only the service's own work is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SummaryBenchmark {
+
+    private static final String[] STACKS = {"Java", "Spring", "React", "SQL", "Docker", "AWS", "Python", "Kotlin"};
+
+    @Param({"10", "100", "1000"})
+    public int rows;
+
+    private ExperienceServiceImpl service;
+
+    private record Total(String getTechStack, Long getTotalYears) implements ExperienceSummaryView {
+    }
+
+    @Setup
+    public void setUp() {
+        List<Experience> experience = new ArrayList<>(rows);
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (int i = 0; i < rows; i++) {
+            Experience exp = new Experience();
+            exp.setId((long) i);
+            exp.setEmployeeId(2L);
+            exp.setTechStack(STACKS[i % STACKS.length]);
+            exp.setCompany("Company " + i);
+            exp.setYears(1 + i % 5);
+            experience.add(exp);
+            totals.merge(exp.getTechStack(), (long) exp.getYears(), Long::sum);
+        }
+        List<ExperienceSummaryView> summary = new ArrayList<>();
+        totals.forEach((techStack, years) -> summary.add(new Total(techStack, years)));
+
+        ExperienceRepository repository = (ExperienceRepository) Proxy.newProxyInstance(
+                ExperienceRepository.class.getClassLoader(), new Class<?>[]{ExperienceRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "saveAll" -> args[0];
+                    case "findByEmployeeId" -> experience;
+                    case "findExperienceSummaryByEmployeeId" -> summary;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        ExperienceSummaryCache cache = new ExperienceSummaryCache(10_000, 600_000, new SimpleMeterRegistry());
+        // Skill index reloads are dropped and the gateway purge is disabled: neither runs on the request thread
+        SkillIndex skillIndex = new SkillIndex(repository, null, new SimpleMeterRegistry(), 50, reload -> { });
+        GatewayCacheInvalidator gatewayCacheInvalidator = new GatewayCacheInvalidator("", "", 2000, 0, new ObjectMapper());
+        service = new ExperienceServiceImpl(repository, cache, gatewayCacheInvalidator, skillIndex);
+
+        // Warm employee 1; the batch benchmark edits employee 2, whose entry it evicts
+        service.getExperienceSummary(1L);
+    }
+
+    @Benchmark
+    public ExperienceBatchResponse batchSummary() {
+        return service.applyBatch(2L, List.of());
+    }
+
+    @Benchmark
+    public List<ExperienceSummaryResponse> cachedSummary() {
+        return service.getExperienceSummary(1L);
+    }
+}
@@ -0,0 +1,108 @@
+package com.capstone.experience.service;
+
+import com.capstone.experience.dto.TalentQuery;
+import com.capstone.experience.dto.TalentSearchResponse;
+import com.capstone.experience.repo.EmployeeSkillView;
+import com.capstone.experience.repo.ExperienceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.capstone.experience.dto.TalentQuery.and;
+import static com.capstone.experience.dto.TalentQuery.not;
+import static com.capstone.experience.dto.TalentQuery.or;
+import static com.capstone.experience.dto.TalentQuery.skill;
+
+/**
+ * POST /api/experience/talent/search against the skill index, per employee
+ * count (about three experience rows each).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TalentSearchBenchmark {
+
+    private static final String[] STACKS = {"Java", "Spring", "React", "SQL", "Docker", "AWS", "Python", "Kotlin",
+            "Go", "PHP", "Angular", "Node", "C#", "Rust", "Scala", "Swift"};
+
+    @Param({"100000", "500000"})
+    public int employees;
+
+    private SkillIndex index;
+    private TalentQuery twoSkills;
+    private TalentQuery mixed;
+
+    private record Total(Long getEmployeeId, String getTechStack, Long getTotalYears) implements EmployeeSkillView {
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<EmployeeSkillView> totals = new ArrayList<>();
+        for (long id = 1; id <= employees; id++) {
+            Map<String, Long> years = new HashMap<>();
+            for (int i = 1 + random.nextInt(5); i > 0; i--) {
+                years.merge(STACKS[random.nextInt(STACKS.length)], 1L + random.nextInt(12), Long::sum);
+            }
+            long employeeId = id;
+            years.forEach((techStack, total) -> totals.add(new Total(employeeId, techStack, total)));
+        }
+
+        // Loaded the way the service does it at startup: one rebuild from the aggregate query
+        ExperienceRepository repository = (ExperienceRepository) Proxy.newProxyInstance(
+                ExperienceRepository.class.getClassLoader(), new Class<?>[]{ExperienceRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("streamSkillTotals")) {
+                        return totals.stream();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        PlatformTransactionManager noTransactions = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+        index = new SkillIndex(repository, noTransactions, new SimpleMeterRegistry(), 50);
+        index.rebuild();
+
+        twoSkills = and(skill("Java", 3), skill("React", 2));
+        mixed = and(or(skill("Java", 5), skill("Kotlin", 3)), skill("SQL", 2), not(skill("PHP", 0)));
+    }
+
+    @Benchmark
+    public TalentSearchResponse twoSkills() {
+        return index.search(twoSkills, null, 100);
+    }
+
+    @Benchmark
+    public TalentSearchResponse orAndNot() {
+        return index.search(mixed, null, 100);
+    }
+}
@@ -0,0 +1,67 @@
+package com.capstone.experience.cache;
+
+import com.capstone.experience.dto.ExperienceSummaryResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Per-employee tech-stack summaries behind the /summary chart endpoints.
+ *
+ * ExperienceServiceImpl evicts an employee's entry after every add / update / delete
+ * commits; evicting earlier would let a concurrent reader reload the old totals.
+ * The TTL only bounds staleness from writes this service doesn't see, such as
+ * the cascade delete when the backend removes an employee.
+ */
+@Component
+public class ExperienceSummaryCache {
+
+    private final Cache<Long, List<ExperienceSummaryResponse>> summaries;
+
+    public ExperienceSummaryCache(@Value("${ems.experience.summary-cache.max-size:10000}") long maxSize,
+                                  @Value("${ems.experience.summary-cache.ttl-ms:600000}") long ttlMs,
+                                  MeterRegistry meterRegistry) {
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "experience.summary");
+    }
+
+    public List<ExperienceSummaryResponse> get(Long employeeId,
+                                               Function<Long, List<ExperienceSummaryResponse>> loader) {
+        // Stored as an immutable copy; callers share the cached instance
+        return summaries.get(employeeId, id -> List.copyOf(loader.apply(id)));
+    }
+
+    public void evict(Long employeeId) {
+        if (employeeId != null) {
+            summaries.invalidate(employeeId);
+        }
+    }
+
+    // Runs immediately when no transaction synchronization is active
+    public void evictAfterCommit(Long employeeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(employeeId);
+                }
+            });
+        } else {
+            evict(employeeId);
+        }
+    }
+}
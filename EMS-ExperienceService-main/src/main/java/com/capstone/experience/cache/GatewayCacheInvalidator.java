@@ -0,0 +1,160 @@
+package com.capstone.experience.cache;
+
+import com.capstone.experience.security.GatewaySignatures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells the API gateway to drop its cached copies of data this service just changed.
+ *
+ * The purge is sent after commit on a background thread, signed with
+ * GATEWAY_SIGNING_SECRET (the gateway's CacheInvalidationController checks it).
+ * It is best effort: if the call fails, the gateway entry simply lives until its TTL.
+ * Disabled when ems.gateway.url or the secret is blank.
+ *
+ * Other users read from the replica, which can still serve the old rows for a moment
+ * after commit; a gateway miss in that moment re-caches them for the full TTL. So the
+ * purge is sent again once ems.gateway.cache-invalidation.repeat-after-ms has passed
+ * (by default the read-your-writes window, the lag we already plan for). 0 sends it once.
+ */
+@Component
+public class GatewayCacheInvalidator {
+
+    public static final String EXPERIENCE = "/experience/api/experience";
+
+    static final String SIGNATURE_HEADER = "X-Cache-Signature";
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+    private final byte[] secret;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor repeater;
+    private final long repeatAfterMs;
+
+    public GatewayCacheInvalidator(@Value("${ems.gateway.url:}") String gatewayUrl,
+                                   @Value("${ems.gateway.cache-invalidation.secret:}") String secret,
+                                   @Value("${ems.gateway.cache-invalidation.timeout-ms:2000}") int timeoutMs,
+                                   @Value("${ems.gateway.cache-invalidation.repeat-after-ms:${ems.datasource.replica.read-your-writes-ms:5000}}") long repeatAfterMs,
+                                   ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.repeatAfterMs = repeatAfterMs;
+
+        if (gatewayUrl.isBlank() || secret.isBlank()) {
+            this.restClient = null;
+            this.executor = null;
+            this.repeater = null;
+            return;
+        }
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = RestClient.builder()
+                .baseUrl(gatewayUrl)
+                .requestFactory(requestFactory)
+                .build();
+
+        // One sender; if the gateway is down, drop the oldest purges rather than pile up threads
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000),
+                daemon("gateway-cache-invalidator"),
+                new ThreadPoolExecutor.DiscardOldestPolicy());
+        // Only holds the repeats until they are due, then hands them to the sender above
+        this.repeater = repeatAfterMs > 0 ? new ScheduledThreadPoolExecutor(1, daemon("gateway-cache-invalidator-repeat")) : null;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public boolean isEnabled() {
+        return restClient != null;
+    }
+
+    public void invalidateAfterCommit(String... prefixes) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<String> paths = List.of(prefixes);
+        Runnable send = () -> {
+            executor.execute(() -> send(paths));
+            if (repeater != null) {
+                repeater.schedule(() -> executor.execute(() -> send(paths)), repeatAfterMs, TimeUnit.MILLISECONDS);
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
+    }
+
+    void send(List<String> prefixes) {
+        try {
+            String body = body(prefixes, System.currentTimeMillis() / 1000);
+            restClient.post()
+                    .uri("/internal/cache/invalidate")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(SIGNATURE_HEADER, sign(body))
+                    .body(body)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RuntimeException e) {
+            System.err.println("Gateway cache invalidation failed for " + prefixes + ": " + e.getMessage());
+        }
+    }
+
+    String body(List<String> prefixes, long timestamp) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("prefixes", prefixes);
+        payload.put("timestamp", timestamp);
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    String sign(String body) {
+        return GatewaySignatures.sign(secret, body);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (repeater != null) {
+            repeater.shutdownNow();
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
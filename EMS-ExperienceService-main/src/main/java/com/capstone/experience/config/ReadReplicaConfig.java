@@ -0,0 +1,88 @@
+package com.capstone.experience.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Primary + read replica, only when ems.datasource.replica.url is set; otherwise
+ * Spring Boot's single pool stays in place. The primary pool takes the usual
+ * spring.datasource.* / spring.datasource.hikari.* settings, the replica its own
+ * ems.datasource.replica.* ones.
+ */
+@Configuration
+@ConditionalOnExpression("!'${ems.datasource.replica.url:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(environment.getRequiredProperty("ems.datasource.replica.url"))
+                .username(environment.getProperty("ems.datasource.replica.username", properties.determineUsername()))
+                .password(environment.getProperty("ems.datasource.replica.password", properties.determinePassword()))
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(environment.getProperty(
+                "ems.datasource.replica.maximum-pool-size", Integer.class, primary.getMaximumPoolSize()));
+        replica.setReadOnly(true);
+
+        // Boot only instruments a DataSource bean that unwraps to one Hikari pool; tag both pools ourselves
+        MicrometerMetricsTrackerFactory poolMetrics = new MicrometerMetricsTrackerFactory(meterRegistry);
+        primary.setMetricsTrackerFactory(poolMetrics);
+        replica.setMetricsTrackerFactory(poolMetrics);
+
+        // With virtual threads, limit each pool on its own: a burst of replica reads must not use up the primary's permits
+        DataSource primaryTarget = primary;
+        DataSource replicaTarget = replica;
+        if (VirtualThreadsConfig.enabled(environment)) {
+            ConcurrencyLimitingDataSource primaryLimited = VirtualThreadsConfig.limit(
+                    primary, "ems.jdbc.max-concurrency", primary.getMaximumPoolSize(), environment);
+            ConcurrencyLimitingDataSource replicaLimited = VirtualThreadsConfig.limit(
+                    replica, "ems.jdbc.replica.max-concurrency", replica.getMaximumPoolSize(), environment);
+            VirtualThreadsConfig.bindMetrics(primaryLimited, "primary", meterRegistry);
+            VirtualThreadsConfig.bindMetrics(replicaLimited, "replica", meterRegistry);
+            primaryTarget = primaryLimited;
+            replicaTarget = replicaLimited;
+        }
+
+        long windowMs = environment.getProperty("ems.datasource.replica.read-your-writes-ms", Long.class, 5000L);
+        long maxUsers = environment.getProperty("ems.datasource.replica.read-your-writes-max-users", Long.class, 10_000L);
+        ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofMillis(windowMs), maxUsers);
+
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryTarget, replicaTarget, readYourWrites, meterRegistry));
+    }
+
+    // The exposed bean is a proxy (and may be wrapped again), so close the pools here
+    @PreDestroy
+    void closePools() {
+        if (replica != null) {
+            replica.close();
+        }
+        if (primary != null) {
+            primary.close();
+        }
+    }
+}
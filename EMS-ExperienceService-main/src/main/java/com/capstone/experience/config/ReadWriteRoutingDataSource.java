@@ -0,0 +1,65 @@
+package com.capstone.experience.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out replica connections inside @Transactional(readOnly = true) work and
+ * primary connections for everything else (writes, no transaction, Flyway).
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager takes
+ * its connection before the read-only flag is bound, so the real choice has to
+ * wait for the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReadYourWritesTracker readYourWrites;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter pinnedRoutes;
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      DataSource replica,
+                                      ReadYourWritesTracker readYourWrites,
+                                      MeterRegistry meterRegistry) {
+        this.readYourWrites = readYourWrites;
+        this.primaryRoutes = routeCounter(meterRegistry, "primary");
+        this.replicaRoutes = routeCounter(meterRegistry, "replica");
+        this.pinnedRoutes = routeCounter(meterRegistry, "primary-pinned");
+
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        // No fallback: an unknown key is a bug, not a reason to write to the wrong database
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("ems.datasource.routes")
+                .description("Physical connections taken, by the pool they were routed to")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWriteOnCommit();
+            primaryRoutes.increment();
+            return Route.PRIMARY;
+        }
+        // Read-your-writes: this user just committed and the replica may lag behind
+        if (readYourWrites.isPinnedToPrimary()) {
+            pinnedRoutes.increment();
+            return Route.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return Route.REPLICA;
+    }
+}
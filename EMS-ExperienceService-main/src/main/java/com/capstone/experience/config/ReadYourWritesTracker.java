@@ -0,0 +1,74 @@
+package com.capstone.experience.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users committed a write in the last few seconds, so their
+ * read-only transactions stay on the primary until the replica has caught up.
+ * Per instance: a user's next request served by another instance is not pinned.
+ */
+public class ReadYourWritesTracker {
+
+    // null when the window is zero (stickiness off)
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maxUsers) {
+        this(window, maxUsers, Ticker.systemTicker());
+    }
+
+    ReadYourWritesTracker(Duration window, long maxUsers, Ticker ticker) {
+        this.recentWriters = window.isZero() || window.isNegative() ? null : Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(window)
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Called when a read-write transaction takes a primary connection: pins the
+     * current user once (and only if) that transaction commits.
+     */
+    void recordWriteOnCommit() {
+        if (recentWriters == null
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    boolean isPinnedToPrimary() {
+        if (recentWriters == null) {
+            return false;
+        }
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -1,13 +1,19 @@
 package com.capstone.experience.controller;
 
+import com.capstone.experience.dto.ExperienceBatchRequest;
+import com.capstone.experience.dto.ExperienceBatchResponse;
 import com.capstone.experience.dto.ExperienceRequest;
 import com.capstone.experience.dto.ExperienceResponse;
 import com.capstone.experience.dto.ExperienceSummaryResponse;
-import com.capstone.experience.security.JwtUtil;
+import com.capstone.experience.dto.TalentSearchRequest;
+import com.capstone.experience.dto.TalentSearchResponse;
+import com.capstone.experience.security.JwtPrincipal;
 import com.capstone.experience.service.ExperienceService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 
@@ -19,19 +25,9 @@ import java.util.List;
 public class ExperienceController {
 
     private final ExperienceService experienceService;
-    private final JwtUtil jwtUtil;
 
-    public ExperienceController(ExperienceService experienceService, JwtUtil jwtUtil) {
+    public ExperienceController(ExperienceService experienceService) {
         this.experienceService = experienceService;
-        this.jwtUtil = jwtUtil;
-    }
-
-    private Long getEmployeeIdFromToken(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return null;
-        }
-        String token = authHeader.substring(7);
-        return jwtUtil.extractEmployeeId(token);
     }
 
     // -------------------- USER / ADMIN : View own experience --------------------
@@ -39,9 +35,9 @@ public class ExperienceController {
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @GetMapping("/me")
     public ResponseEntity<List<ExperienceResponse>> getMyExperience(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        Long employeeId = getEmployeeIdFromToken(authHeader);
+        Long employeeId = principal.getEmployeeId();
         List<ExperienceResponse> list = experienceService.getByEmployee(employeeId);
         return ResponseEntity.ok(list);
     }
@@ -50,9 +46,9 @@ public class ExperienceController {
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @GetMapping("/summary/me")
     public ResponseEntity<List<ExperienceSummaryResponse>> getMySummary(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal JwtPrincipal principal) {
 
-        Long employeeId = getEmployeeIdFromToken(authHeader);
+        Long employeeId = principal.getEmployeeId();
         List<ExperienceSummaryResponse> summary = experienceService.getExperienceSummary(employeeId);
         return ResponseEntity.ok(summary);
     }
@@ -103,6 +99,15 @@ public class ExperienceController {
         return ResponseEntity.noContent().build();
     }
 
+    // Saves the whole experience editor in one request: adds, updates and deletes for one
+    // employee are applied together (or not at all); the response is the resulting list and summary
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/batch")
+    public ResponseEntity<ExperienceBatchResponse> batch(@Valid @RequestBody ExperienceBatchRequest request) {
+        ExperienceBatchResponse res = experienceService.applyBatch(request.getEmployeeId(), request.getOperations());
+        return ResponseEntity.ok(res);
+    }
+
     // -------------------- FILTER / SORT (for dashboard) --------------------
 
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
@@ -112,19 +117,44 @@ public class ExperienceController {
             @RequestParam(required = false) String techStack,
             @RequestParam(required = false) Integer minYears,
             @RequestParam(required = false, defaultValue = "id") String sortBy,
-            @RequestParam(required = false, defaultValue = "asc") String sortDir
+            @RequestParam(required = false, defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size
     ) {
+        Double minYearsValue = minYears != null ? minYears.doubleValue() : null;
+
+        // Paged when the caller asks for it; the body stays a plain list and the total goes in a header
+        if (page != null || size != null) {
+            Page<ExperienceResponse> result = experienceService.filterPage(
+                    employeeId, techStack, minYearsValue, sortBy, sortDir,
+                    page != null ? page : 0, size);
+            return ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(result.getTotalElements()))
+                    .body(result.getContent());
+        }
+
         List<ExperienceResponse> list =
                 experienceService.filter(
                         employeeId,
                         techStack,
-                        minYears != null ? minYears.doubleValue() : null,
+                        minYearsValue,
                         sortBy,
                         sortDir
                 );
         return ResponseEntity.ok(list);
     }
     
+    // -------------------- ADMIN: Talent search --------------------
+
+    // Employees matching an and / or / not combination of skills with minimum years, e.g.
+    // {"query": {"and": [{"techStack": "Java", "minYears": 3}, {"techStack": "React", "minYears": 2}]}}
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/talent/search")
+    public ResponseEntity<TalentSearchResponse> searchTalent(@Valid @RequestBody TalentSearchRequest request) {
+        TalentSearchResponse res = experienceService.searchTalent(request);
+        return ResponseEntity.ok(res);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
     public ResponseEntity<List<ExperienceResponse>> getAll() {
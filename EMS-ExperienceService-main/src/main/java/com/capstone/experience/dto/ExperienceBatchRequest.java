@@ -0,0 +1,21 @@
+package com.capstone.experience.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class ExperienceBatchRequest {
+
+    @NotNull(message = "Employee id is required")
+    private Long employeeId;
+
+    @NotNull(message = "Operations are required")
+    private List<@Valid @NotNull ExperienceOperation> operations;
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public List<ExperienceOperation> getOperations() { return operations; }
+    public void setOperations(List<ExperienceOperation> operations) { this.operations = operations; }
+}
@@ -0,0 +1,18 @@
+package com.capstone.experience.dto;
+
+import java.util.List;
+
+// The employee's experience and chart data after a batch, so the editor needs no follow-up reads
+public class ExperienceBatchResponse {
+
+    private List<ExperienceResponse> experience;
+    private List<ExperienceSummaryResponse> summary;
+
+    public ExperienceBatchResponse(List<ExperienceResponse> experience, List<ExperienceSummaryResponse> summary) {
+        this.experience = experience;
+        this.summary = summary;
+    }
+
+    public List<ExperienceResponse> getExperience() { return experience; }
+    public List<ExperienceSummaryResponse> getSummary() { return summary; }
+}
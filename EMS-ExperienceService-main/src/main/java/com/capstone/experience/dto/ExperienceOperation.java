@@ -0,0 +1,37 @@
+package com.capstone.experience.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+// One row change inside a batch: ADD needs the fields, UPDATE needs id + fields, DELETE needs only id
+public class ExperienceOperation {
+
+    public enum Type { ADD, UPDATE, DELETE }
+
+    @NotNull(message = "Operation type is required")
+    private Type op;
+
+    private Long id;
+
+    private String techStack;
+
+    private String company;
+
+    @Positive(message = "Years must be greater than zero")
+    private Integer years;
+
+    public Type getOp() { return op; }
+    public void setOp(Type op) { this.op = op; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTechStack() { return techStack; }
+    public void setTechStack(String techStack) { this.techStack = techStack; }
+
+    public String getCompany() { return company; }
+    public void setCompany(String company) { this.company = company; }
+
+    public Integer getYears() { return years; }
+    public void setYears(Integer years) { this.years = years; }
+}
@@ -0,0 +1,60 @@
+package com.capstone.experience.dto;
+
+import java.util.List;
+
+/**
+ * One node of a talent search: either a skill leaf ("techStack" with optional
+ * "minYears") or exactly one of "and", "or", "not". For example
+ * {"and": [{"techStack": "Java", "minYears": 3}, {"techStack": "React", "minYears": 2}]}.
+ */
+public class TalentQuery {
+
+    private String techStack;
+    private Integer minYears;
+    private List<TalentQuery> and;
+    private List<TalentQuery> or;
+    private TalentQuery not;
+
+    public TalentQuery() {
+    }
+
+    public static TalentQuery skill(String techStack, Integer minYears) {
+        TalentQuery query = new TalentQuery();
+        query.setTechStack(techStack);
+        query.setMinYears(minYears);
+        return query;
+    }
+
+    public static TalentQuery and(TalentQuery... children) {
+        TalentQuery query = new TalentQuery();
+        query.setAnd(List.of(children));
+        return query;
+    }
+
+    public static TalentQuery or(TalentQuery... children) {
+        TalentQuery query = new TalentQuery();
+        query.setOr(List.of(children));
+        return query;
+    }
+
+    public static TalentQuery not(TalentQuery child) {
+        TalentQuery query = new TalentQuery();
+        query.setNot(child);
+        return query;
+    }
+
+    public String getTechStack() { return techStack; }
+    public void setTechStack(String techStack) { this.techStack = techStack; }
+
+    public Integer getMinYears() { return minYears; }
+    public void setMinYears(Integer minYears) { this.minYears = minYears; }
+
+    public List<TalentQuery> getAnd() { return and; }
+    public void setAnd(List<TalentQuery> and) { this.and = and; }
+
+    public List<TalentQuery> getOr() { return or; }
+    public void setOr(List<TalentQuery> or) { this.or = or; }
+
+    public TalentQuery getNot() { return not; }
+    public void setNot(TalentQuery not) { this.not = not; }
+}
@@ -0,0 +1,23 @@
+package com.capstone.experience.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public class TalentSearchRequest {
+
+    @NotNull(message = "Query is required")
+    private TalentQuery query;
+
+    private Integer limit;
+
+    // Keyset cursor: return employee ids greater than this (the previous response's nextAfter)
+    private Long after;
+
+    public TalentQuery getQuery() { return query; }
+    public void setQuery(TalentQuery query) { this.query = query; }
+
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+
+    public Long getAfter() { return after; }
+    public void setAfter(Long after) { this.after = after; }
+}
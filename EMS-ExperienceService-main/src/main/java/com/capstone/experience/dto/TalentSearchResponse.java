@@ -0,0 +1,21 @@
+package com.capstone.experience.dto;
+
+import java.util.List;
+
+// Matching employee ids in ascending order; nextAfter is null on the last page
+public class TalentSearchResponse {
+
+    private long total;
+    private List<Long> employeeIds;
+    private Long nextAfter;
+
+    public TalentSearchResponse(long total, List<Long> employeeIds, Long nextAfter) {
+        this.total = total;
+        this.employeeIds = employeeIds;
+        this.nextAfter = nextAfter;
+    }
+
+    public long getTotal() { return total; }
+    public List<Long> getEmployeeIds() { return employeeIds; }
+    public Long getNextAfter() { return nextAfter; }
+}
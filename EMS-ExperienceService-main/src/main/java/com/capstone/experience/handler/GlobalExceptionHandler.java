@@ -0,0 +1,27 @@
+package com.capstone.experience.handler;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+/**
+ * Other errors map through @ResponseStatus on the exception classes; this only
+ * adds what an annotation can't, a Retry-After header. The body still comes from
+ * Spring Boot's error page, like every other error this service returns.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    // No database connection within the limit (pool exhausted / JDBC limiter full)
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public void handleDatabaseBusy(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Database is busy, please retry shortly");
+    }
+}
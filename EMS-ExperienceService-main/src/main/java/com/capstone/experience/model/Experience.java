@@ -8,7 +8,9 @@ import java.time.LocalDateTime;
 public class Experience {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (V7) so Hibernate can batch inserts
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "experience_seq")
+    @SequenceGenerator(name = "experience_seq", sequenceName = "experience_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "employee_id", nullable = false)
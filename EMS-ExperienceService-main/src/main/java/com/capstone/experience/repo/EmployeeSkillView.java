@@ -0,0 +1,13 @@
+package com.capstone.experience.repo;
+
+/**
+ * Row of the GROUP BY employee_id, tech_stack aggregate the skill index is built from.
+ */
+public interface EmployeeSkillView {
+
+    Long getEmployeeId();
+
+    String getTechStack();
+
+    Long getTotalYears();
+}
@@ -1,15 +1,31 @@
 package com.capstone.experience.repo;
 
 import com.capstone.experience.model.Experience;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface ExperienceRepository extends JpaRepository<Experience, Long> {
+public interface ExperienceRepository extends JpaRepository<Experience, Long>, JpaSpecificationExecutor<Experience> {
 
     List<Experience> findByEmployeeId(Long employeeId);
 
+    // Its own read-write transaction, so it runs on the primary: the summary cache and the skill
+    // index keep what this returns, and a lagging replica would put back totals a write just replaced
+    @Transactional
     @Query("SELECT e.techStack AS techStack, SUM(e.years) AS totalYears FROM Experience e WHERE e.employeeId = :employeeId GROUP BY e.techStack")
-    List<Object[]> findExperienceSummaryByEmployeeId(Long employeeId);
+    List<ExperienceSummaryView> findExperienceSummaryByEmployeeId(@Param("employeeId") Long employeeId);
+
+    // Skill index (re)build: per-employee totals aggregated in SQL and streamed off a cursor
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.employeeId AS employeeId, e.techStack AS techStack, SUM(e.years) AS totalYears " +
+           "FROM Experience e GROUP BY e.employeeId, e.techStack")
+    Stream<EmployeeSkillView> streamSkillTotals();
 }
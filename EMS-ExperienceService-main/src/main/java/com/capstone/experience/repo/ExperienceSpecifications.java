@@ -0,0 +1,49 @@
+package com.capstone.experience.repo;
+
+import com.capstone.experience.model.Experience;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Predicates for the experience filter, evaluated in SQL.
+ * Each one matches an index from V5__experience_filter_indexes.sql.
+ */
+public final class ExperienceSpecifications {
+
+    private ExperienceSpecifications() {
+    }
+
+    public static Specification<Experience> hasEmployeeId(Long employeeId) {
+        return (root, query, cb) -> cb.equal(root.get("employeeId"), employeeId);
+    }
+
+    // Matches the lower(tech_stack) expression index
+    public static Specification<Experience> techStackIs(String techStack) {
+        String value = techStack.toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("techStack")), value);
+    }
+
+    public static Specification<Experience> minYears(int years) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("years"), years);
+    }
+
+    /**
+     * ANDs together the filters that are present; no filters matches every row.
+     */
+    public static Specification<Experience> filter(Long employeeId, String techStack, Integer minYears) {
+        List<Specification<Experience>> specs = new ArrayList<>();
+        if (employeeId != null) {
+            specs.add(hasEmployeeId(employeeId));
+        }
+        if (techStack != null && !techStack.isBlank()) {
+            specs.add(techStackIs(techStack.trim()));
+        }
+        if (minYears != null) {
+            specs.add(minYears(minYears));
+        }
+        return Specification.allOf(specs);
+    }
+}
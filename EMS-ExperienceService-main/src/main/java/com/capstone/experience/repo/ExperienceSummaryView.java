@@ -0,0 +1,11 @@
+package com.capstone.experience.repo;
+
+/**
+ * Row of the per-employee GROUP BY tech_stack aggregate.
+ */
+public interface ExperienceSummaryView {
+
+    String getTechStack();
+
+    Long getTotalYears();
+}
@@ -1,5 +1,6 @@
 package com.capstone.experience.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,9 +19,11 @@ import java.util.List;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final GatewayHeaderVerifier gatewayHeaderVerifier;
 
-    public JwtAuthFilter(JwtUtil jwtUtil) {
+    public JwtAuthFilter(JwtUtil jwtUtil, GatewayHeaderVerifier gatewayHeaderVerifier) {
         this.jwtUtil = jwtUtil;
+        this.gatewayHeaderVerifier = gatewayHeaderVerifier;
     }
 
     @Override
@@ -39,18 +42,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         final String token = authHeader.substring(7);
 
         try {
-            if (!jwtUtil.isTokenValid(token)) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                return;
+            // Fast path: identity already verified and signed by the gateway
+            Claims claims = gatewayHeaderVerifier.verifiedClaims(request);
+            if (claims == null) {
+                // Single (cached) signature check; throws for expired or invalid tokens
+                claims = jwtUtil.parseClaims(token);
             }
-
-            String username = jwtUtil.extractUsername(token);
-            String role = jwtUtil.extractRole(token);
+            String username = claims.getSubject();
+            String role = claims.get("role", String.class);
+            JwtPrincipal principal = new JwtPrincipal(username, role, claims.get("employeeId", Long.class));
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                username,
+                                principal,
                                 null,
                                 List.of(new SimpleGrantedAuthority("ROLE_" + role))
                         );
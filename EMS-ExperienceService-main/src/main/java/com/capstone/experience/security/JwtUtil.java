@@ -1,63 +1,163 @@
 package com.capstone.experience.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
-    private final String secret;
+    private static final long DEFAULT_CACHE_SIZE = 10_000;
 
-    public JwtUtil(@Value("${JWT_SECRET}") String secret) {
-        this.secret = secret;
+    // Tokens without an exp claim are re-verified at least this often
+    private static final long MAX_CACHE_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+
+    // Built once; both are immutable and thread-safe
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    // SHA-256(token) -> verified claims, each entry expiring at the token's own exp
+    private final Cache<String, Claims> claimsCache;
+
+    // Signature checks only (cache hits are counted under cache.gets{cache=jwt.claims})
+    private final Timer verifyValid;
+    private final Timer verifyInvalid;
+
+    @Autowired
+    public JwtUtil(
+            @Value("${JWT_SECRET}") String secret,
+            @Value("${ems.jwt.cache.max-size:10000}") long cacheMaxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt.claims");
+        this.verifyValid = Timer.builder("ems.jwt.verify").tag("outcome", "valid").register(meterRegistry);
+        this.verifyInvalid = Timer.builder("ems.jwt.verify").tag("outcome", "invalid").register(meterRegistry);
+    }
+
+    public JwtUtil(String secret) {
+        this(secret, DEFAULT_CACHE_SIZE, new SimpleMeterRegistry());
     }
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    /**
+     * Returns the verified claims of a token, checking the signature only the first time
+     * a given token is seen. Throws the usual {@link io.jsonwebtoken.JwtException}
+     * subtypes for expired, malformed or forged tokens; failures are never cached.
+     */
+    public Claims parseClaims(String token) {
+        String key = digest(token);
+        Claims cached = claimsCache.getIfPresent(key);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+        long start = System.nanoTime();
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (RuntimeException e) {
+            verifyInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        verifyValid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        claimsCache.put(key, claims);
+        return claims;
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public Long extractEmployeeId(String token) {
+        return parseClaims(token).get("employeeId", Long.class);
     }
 
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
-    }
-
-    public Long extractEmployeeId(String token) {
-        return extractAllClaims(token).get("employeeId", Long.class);
+        return parseClaims(token).get("role", String.class);
     }
 
     public Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
+        return parseClaims(token).getExpiration();
     }
 
     public boolean isTokenExpired(String token) {
-        Date exp = extractExpiration(token);
-        return exp != null && exp.before(new Date());
+        return isExpired(parseClaims(token));
     }
 
     public boolean isTokenValid(String token) {
         try {
-            if (isTokenExpired(token)) return false;
-            extractUsername(token); // force valid parse
+            // The parser rejects expired tokens, so one successful parse is enough
+            parseClaims(token);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    Cache<String, Claims> claimsCache() {
+        return claimsCache;
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date exp = claims.getExpiration();
+        return exp != null && exp.before(new Date());
+    }
+
+    // Keeps raw bearer tokens out of the heap-resident cache
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date exp = claims.getExpiration();
+            long ttlMs = exp == null
+                    ? MAX_CACHE_TTL_MS
+                    : Math.max(0, exp.getTime() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.capstone.experience.service;
 
+import com.capstone.experience.dto.ExperienceBatchResponse;
+import com.capstone.experience.dto.ExperienceOperation;
 import com.capstone.experience.dto.ExperienceRequest;
 import com.capstone.experience.dto.ExperienceResponse;
 import com.capstone.experience.dto.ExperienceSummaryResponse;
+import com.capstone.experience.dto.TalentSearchRequest;
+import com.capstone.experience.dto.TalentSearchResponse;
+
+import org.springframework.data.domain.Page;
 
 import java.util.List;
 
@@ -14,6 +20,8 @@ public interface ExperienceService {
 
     void deleteExperience(Long employeeId, Long experienceId);
 
+    ExperienceBatchResponse applyBatch(Long employeeId, List<ExperienceOperation> operations);
+
     List<ExperienceResponse> getByEmployee(Long employeeId);
 
     List<ExperienceSummaryResponse> getExperienceSummary(Long employeeId);
@@ -23,6 +31,16 @@ public interface ExperienceService {
                                     Double minYears,
                                     String sortBy,
                                     String sortDir);
+
+    Page<ExperienceResponse> filterPage(Long employeeId,
+                                        String techStack,
+                                        Double minYears,
+                                        String sortBy,
+                                        String sortDir,
+                                        int page,
+                                        Integer size);
+
+    TalentSearchResponse searchTalent(TalentSearchRequest request);
     
     List<ExperienceResponse> getAllExperience();
 
@@ -0,0 +1,473 @@
+package com.capstone.experience.service;
+
+import com.capstone.experience.dto.TalentQuery;
+import com.capstone.experience.dto.TalentSearchResponse;
+import com.capstone.experience.exception.BadRequestException;
+import com.capstone.experience.repo.EmployeeSkillView;
+import com.capstone.experience.repo.ExperienceRepository;
+import com.capstone.experience.repo.ExperienceSummaryView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index for multi-skill talent searches ("at least 3 years of
+ * Java AND at least 2 of React AND NOT PHP").
+ *
+ * Per tech stack (case-insensitive) and years bucket, a compressed bitmap of the
+ * employees whose total years with that stack fall in the bucket; a query is
+ * bitmap AND / OR / ANDNOT, never a table scan. After every write commits, the
+ * employee's totals are re-read from the primary on a single background thread and
+ * swapped in: absolute values, so applying one twice (see rebuild) is harmless, and
+ * the last re-read always starts after the last commit. A periodic rebuild picks up
+ * changes this service doesn't make, such as the cascade delete when the backend
+ * removes an employee.
+ */
+@Service
+public class SkillIndex {
+
+    // Lower bound of each years bucket: single years up to 10, wider above; the last one is open
+    static final int[] BUCKETS = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 12, 15, 20, 25, 30};
+
+    // Roaring stores unsigned 32-bit values, which covers every realistic BIGSERIAL id
+    private static final long MAX_EMPLOYEE_ID = 0xFFFFFFFFL;
+
+    private final ExperienceRepository experienceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxTerms;
+
+    private State state = new State();
+    // Non-null while a rebuild runs: writes made meanwhile, re-applied to the fresh state before the swap
+    private Map<Long, Map<String, Integer>> replay;
+
+    // Queries share the read lock; writes and the swap take the write lock. Not synchronized,
+    // which would pin virtual threads.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Employees whose totals must be re-read. Drained by one thread, so re-reads and their
+    // applies never interleave, and off the request thread, which still holds its connection.
+    private final Set<Long> pendingReloads = ConcurrentHashMap.newKeySet();
+    private final Executor reloader;
+
+    @Autowired
+    public SkillIndex(ExperienceRepository experienceRepository,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry,
+                      @Value("${ems.experience.talent.max-terms:50}") int maxTerms) {
+        this(experienceRepository, transactionManager, meterRegistry, maxTerms,
+                new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "skill-index-reload");
+                            thread.setDaemon(true);
+                            return thread;
+                        }));
+    }
+
+    SkillIndex(ExperienceRepository experienceRepository,
+               PlatformTransactionManager transactionManager,
+               MeterRegistry meterRegistry,
+               int maxTerms,
+               Executor reloader) {
+        this.experienceRepository = experienceRepository;
+        // Read-write on purpose: routed to the primary, so a rebuild never sees a lagging replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxTerms = maxTerms;
+        this.reloader = reloader;
+
+        Gauge.builder("ems.talent.index.employees", this, index -> index.read(s -> s.everyone.getLongCardinality()))
+                .description("Employees with at least one indexed skill")
+                .register(meterRegistry);
+        Gauge.builder("ems.talent.index.skills", this, index -> index.read(s -> (long) s.skills.size()))
+                .description("Distinct tech stacks in the skill index")
+                .register(meterRegistry);
+        Gauge.builder("ems.talent.index.memory", this, index -> index.read(State::bitmapBytes))
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    // -------------------- QUERY --------------------
+
+    /**
+     * Employees matching the query, ascending, at most {@code limit} of them after
+     * {@code after} (exclusive; null for the first page). NOT is relative to every
+     * employee with at least one experience row.
+     */
+    public TalentSearchResponse search(TalentQuery query, Long after, int limit) {
+        validate(query, new int[1]);
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = evaluate(state, query);
+
+            List<Long> page = new ArrayList<>(Math.min(limit, 1024));
+            PeekableIntIterator ids = matches.getIntIterator();
+            if (after != null) {
+                if (after >= MAX_EMPLOYEE_ID) {
+                    return new TalentSearchResponse(matches.getLongCardinality(), List.of(), null);
+                }
+                ids.advanceIfNeeded((int) (Math.max(after, -1) + 1));
+            }
+            while (ids.hasNext() && page.size() < limit) {
+                page.add(Integer.toUnsignedLong(ids.next()));
+            }
+            Long nextAfter = ids.hasNext() && !page.isEmpty() ? page.get(page.size() - 1) : null;
+            return new TalentSearchResponse(matches.getLongCardinality(), page, nextAfter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void validate(TalentQuery node, int[] terms) {
+        if (node == null) {
+            throw new BadRequestException("Talent query must not be empty");
+        }
+        if (++terms[0] > maxTerms) {
+            throw new BadRequestException("Talent query may have at most " + maxTerms + " terms");
+        }
+        int kinds = (node.getTechStack() != null ? 1 : 0) + (node.getAnd() != null ? 1 : 0)
+                + (node.getOr() != null ? 1 : 0) + (node.getNot() != null ? 1 : 0);
+        if (kinds != 1) {
+            throw new BadRequestException("Each talent query term needs exactly one of techStack, and, or, not");
+        }
+        if (node.getTechStack() != null) {
+            if (node.getTechStack().isBlank()) {
+                throw new BadRequestException("Tech stack must not be blank");
+            }
+            if (node.getMinYears() != null && node.getMinYears() < 0) {
+                throw new BadRequestException("minYears must not be negative");
+            }
+        } else if (node.getNot() != null) {
+            validate(node.getNot(), terms);
+        } else {
+            List<TalentQuery> children = node.getAnd() != null ? node.getAnd() : node.getOr();
+            if (children.isEmpty()) {
+                throw new BadRequestException("and / or need at least one term");
+            }
+            for (TalentQuery child : children) {
+                validate(child, terms);
+            }
+        }
+    }
+
+    // Always returns a new bitmap; the state's own bitmaps are never handed out or modified here
+    private static RoaringBitmap evaluate(State state, TalentQuery node) {
+        if (node.getTechStack() != null) {
+            return state.atLeast(skillKey(node.getTechStack()),
+                    node.getMinYears() == null ? 0 : node.getMinYears());
+        }
+        if (node.getNot() != null) {
+            return RoaringBitmap.andNot(state.everyone, evaluate(state, node.getNot()));
+        }
+        if (node.getOr() != null) {
+            return FastAggregation.or(node.getOr().stream()
+                    .map(child -> evaluate(state, child))
+                    .toArray(RoaringBitmap[]::new));
+        }
+
+        // AND: intersect the positive terms, then subtract the negated ones (no detour through everyone)
+        List<RoaringBitmap> included = new ArrayList<>();
+        List<TalentQuery> excluded = new ArrayList<>();
+        for (TalentQuery child : node.getAnd()) {
+            if (child.getNot() != null) {
+                excluded.add(child.getNot());
+            } else {
+                included.add(evaluate(state, child));
+            }
+        }
+        RoaringBitmap result = included.isEmpty()
+                ? state.everyone.clone()
+                : FastAggregation.and(included.toArray(new RoaringBitmap[0]));
+        for (TalentQuery child : excluded) {
+            if (result.isEmpty()) {
+                break;
+            }
+            result.andNot(evaluate(state, child));
+        }
+        return result;
+    }
+
+    // -------------------- WRITE PATH (ExperienceServiceImpl) --------------------
+
+    /**
+     * Schedules a re-read of the employee's totals once the current transaction
+     * commits (right away outside one). The transaction's own view is not used: two
+     * concurrent writes for one employee each miss the other's rows.
+     */
+    public void onEmployeeChanged(Long employeeId) {
+        afterCommit(() -> {
+            if (pendingReloads.add(employeeId)) {
+                reloader.execute(this::reloadPending);
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void reloadPending() {
+        for (Long employeeId : pendingReloads) {
+            // Removed before the read: a commit landing meanwhile queues the employee again
+            pendingReloads.remove(employeeId);
+            try {
+                // Its own transaction on the primary (see ExperienceRepository)
+                Map<String, Integer> totals = new HashMap<>();
+                for (ExperienceSummaryView row : experienceRepository.findExperienceSummaryByEmployeeId(employeeId)) {
+                    totals.merge(skillKey(row.getTechStack()), row.getTotalYears().intValue(), Integer::sum);
+                }
+                apply(employeeId, totals);
+            } catch (RuntimeException e) {
+                // The next write or the periodic rebuild corrects it
+                System.err.println("Skill index: reload of employee " + employeeId + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void apply(Long employeeId, Map<String, Integer> totals) {
+        if (!indexable(employeeId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            state.replace(employeeId.intValue(), totals);
+            if (replay != null) {
+                replay.put(employeeId, totals);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reloader instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    // -------------------- REBUILD --------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${ems.experience.talent.rebuild-interval-ms:600000}",
+               initialDelayString = "${ems.experience.talent.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every employee's totals from the database and swaps the result in.
+     * Returns false if a rebuild was already running.
+     */
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            replay = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            State fresh = transactionTemplate.execute(status -> {
+                try (Stream<EmployeeSkillView> rows = experienceRepository.streamSkillTotals()) {
+                    return load(rows);
+                }
+            });
+
+            lock.writeLock().lock();
+            try {
+                replay.forEach((employeeId, totals) -> fresh.replace(employeeId.intValue(), totals));
+                state = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return true;
+        } finally {
+            // Also on failure, so writes stop being recorded for a swap that won't happen
+            lock.writeLock().lock();
+            try {
+                replay = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuilding.set(false);
+        }
+    }
+
+    // Rows come grouped by (employee, exact tech stack); stacks differing only in case are merged here
+    static State load(Stream<EmployeeSkillView> rows) {
+        Map<Long, Map<String, Integer>> employees = new HashMap<>();
+        rows.forEach(row -> {
+            if (indexable(row.getEmployeeId())) {
+                employees.computeIfAbsent(row.getEmployeeId(), id -> new HashMap<>())
+                        .merge(skillKey(row.getTechStack()), row.getTotalYears().intValue(), Integer::sum);
+            }
+        });
+        State fresh = new State();
+        employees.forEach((employeeId, totals) -> fresh.replace(employeeId.intValue(), totals));
+        fresh.compact();
+        return fresh;
+    }
+
+    private static boolean indexable(Long employeeId) {
+        if (employeeId == null || employeeId < 0 || employeeId > MAX_EMPLOYEE_ID) {
+            System.out.println("Skill index: employee id " + employeeId + " out of range, not indexed");
+            return false;
+        }
+        return true;
+    }
+
+    // Same normalization as ExperienceSpecifications.techStackIs
+    static String skillKey(String techStack) {
+        return techStack.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static int bucketOf(int years) {
+        int position = Arrays.binarySearch(BUCKETS, Math.max(years, 0));
+        return position >= 0 ? position : -position - 2;
+    }
+
+    private <T> T read(Function<State, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(state);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The index proper. Mutated only under the write lock (or before publication).
+     */
+    static final class State {
+
+        // skill -> bitmap per bucket (null until the first employee lands in it)
+        final Map<String, RoaringBitmap[]> skills = new HashMap<>();
+        // employee -> skill -> total years; tells replace() what to remove, and refines partial buckets
+        final Map<Integer, Map<String, Integer>> years = new HashMap<>();
+        final RoaringBitmap everyone = new RoaringBitmap();
+
+        void replace(int employee, Map<String, Integer> totals) {
+            Map<String, Integer> previous = years.remove(employee);
+            if (previous != null) {
+                previous.forEach((skill, total) -> {
+                    RoaringBitmap[] buckets = skills.get(skill);
+                    RoaringBitmap bucket = buckets[bucketOf(total)];
+                    bucket.remove(employee);
+                    if (bucket.isEmpty()) {
+                        buckets[bucketOf(total)] = null;
+                        if (Arrays.stream(buckets).allMatch(b -> b == null)) {
+                            skills.remove(skill);
+                        }
+                    }
+                });
+                everyone.remove(employee);
+            }
+            if (totals.isEmpty()) {
+                return;
+            }
+            years.put(employee, Map.copyOf(totals));
+            totals.forEach((skill, total) -> {
+                RoaringBitmap[] buckets = skills.computeIfAbsent(skill, s -> new RoaringBitmap[BUCKETS.length]);
+                int bucket = bucketOf(total);
+                if (buckets[bucket] == null) {
+                    buckets[bucket] = new RoaringBitmap();
+                }
+                buckets[bucket].add(employee);
+            });
+            everyone.add(employee);
+        }
+
+        // Employees with at least minYears of the skill: whole buckets above the threshold, plus
+        // the members of the bucket it falls inside that actually reach it
+        RoaringBitmap atLeast(String skill, int minYears) {
+            RoaringBitmap[] buckets = skills.get(skill);
+            if (buckets == null) {
+                return new RoaringBitmap();
+            }
+            int first = bucketOf(minYears);
+            RoaringBitmap result = new RoaringBitmap();
+            for (int i = first + (BUCKETS[first] == minYears ? 0 : 1); i < buckets.length; i++) {
+                if (buckets[i] != null) {
+                    result.or(buckets[i]);
+                }
+            }
+            if (BUCKETS[first] != minYears && buckets[first] != null) {
+                buckets[first].forEach((int employee) -> {
+                    if (years.get(employee).get(skill) >= minYears) {
+                        result.add(employee);
+                    }
+                });
+            }
+            return result;
+        }
+
+        void compact() {
+            everyone.runOptimize();
+            for (RoaringBitmap[] buckets : skills.values()) {
+                for (RoaringBitmap bucket : buckets) {
+                    if (bucket != null) {
+                        bucket.runOptimize();
+                    }
+                }
+            }
+        }
+
+        long bitmapBytes() {
+            long bytes = everyone.getLongSizeInBytes();
+            for (RoaringBitmap[] buckets : skills.values()) {
+                for (RoaringBitmap bucket : buckets) {
+                    if (bucket != null) {
+                        bytes += bucket.getLongSizeInBytes();
+                    }
+                }
+            }
+            return bytes;
+        }
+    }
+}
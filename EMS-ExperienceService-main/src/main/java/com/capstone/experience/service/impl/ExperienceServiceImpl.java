@@ -1,25 +1,70 @@
 package com.capstone.experience.service.impl;
 
+import com.capstone.experience.cache.ExperienceSummaryCache;
+import com.capstone.experience.cache.GatewayCacheInvalidator;
+import com.capstone.experience.dto.ExperienceBatchResponse;
+import com.capstone.experience.dto.ExperienceOperation;
 import com.capstone.experience.dto.ExperienceRequest;
 import com.capstone.experience.dto.ExperienceResponse;
 import com.capstone.experience.dto.ExperienceSummaryResponse;
+import com.capstone.experience.dto.TalentSearchRequest;
+import com.capstone.experience.dto.TalentSearchResponse;
+import com.capstone.experience.exception.BadRequestException;
 import com.capstone.experience.exception.NotFoundException;
 import com.capstone.experience.model.Experience;
 import com.capstone.experience.repo.ExperienceRepository;
+import com.capstone.experience.repo.ExperienceSpecifications;
 import com.capstone.experience.service.ExperienceService;
+import com.capstone.experience.service.SkillIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class ExperienceServiceImpl implements ExperienceService {
 
+    private static final int DEFAULT_MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_MAX_BATCH_OPERATIONS = 200;
+    private static final int DEFAULT_TALENT_LIMIT = 100;
+    private static final int DEFAULT_MAX_TALENT_LIMIT = 1000;
+
+    // Entity attributes the filter endpoint may sort on
+    private static final Set<String> SORTABLE_COLUMNS = Set.of("id", "employeeId", "techStack", "company", "years");
+
     private final ExperienceRepository experienceRepository;
+    private final ExperienceSummaryCache summaryCache;
+    private final GatewayCacheInvalidator gatewayCacheInvalidator;
+    private final SkillIndex skillIndex;
+
+    @Value("${ems.experience.filter.max-page-size:" + DEFAULT_MAX_PAGE_SIZE + "}")
+    private int maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+
+    @Value("${ems.experience.batch.max-operations:" + DEFAULT_MAX_BATCH_OPERATIONS + "}")
+    private int maxBatchOperations = DEFAULT_MAX_BATCH_OPERATIONS;
 
-    public ExperienceServiceImpl(ExperienceRepository experienceRepository) {
+    @Value("${ems.experience.talent.max-limit:" + DEFAULT_MAX_TALENT_LIMIT + "}")
+    private int maxTalentLimit = DEFAULT_MAX_TALENT_LIMIT;
+
+    public ExperienceServiceImpl(ExperienceRepository experienceRepository,
+                                 ExperienceSummaryCache summaryCache,
+                                 GatewayCacheInvalidator gatewayCacheInvalidator,
+                                 SkillIndex skillIndex) {
         this.experienceRepository = experienceRepository;
+        this.summaryCache = summaryCache;
+        this.gatewayCacheInvalidator = gatewayCacheInvalidator;
+        this.skillIndex = skillIndex;
     }
 
     private ExperienceResponse toResponse(Experience exp) {
@@ -33,6 +78,7 @@ public class ExperienceServiceImpl implements ExperienceService {
     }
 
     @Override
+    @Transactional
     public ExperienceResponse addExperience(Long employeeId, ExperienceRequest request) {
         Experience exp = new Experience();
         exp.setEmployeeId(employeeId);
@@ -41,10 +87,15 @@ public class ExperienceServiceImpl implements ExperienceService {
         exp.setYears(request.getYears());
 
         Experience saved = experienceRepository.save(exp);
+        summaryCache.evictAfterCommit(employeeId);
+        skillIndex.onEmployeeChanged(employeeId);
+        gatewayCacheInvalidator.invalidateAfterCommit(GatewayCacheInvalidator.EXPERIENCE);
         return toResponse(saved);
     }
 
+    // Ownership check and write in one primary transaction; a lagging replica must not decide it
     @Override
+    @Transactional
     public ExperienceResponse updateExperience(Long employeeId, Long experienceId, ExperienceRequest request) {
         Experience existing = experienceRepository.findById(experienceId)
                 .orElseThrow(() -> new NotFoundException("Experience not found: " + experienceId));
@@ -58,10 +109,14 @@ public class ExperienceServiceImpl implements ExperienceService {
         existing.setYears(request.getYears());
 
         Experience updated = experienceRepository.save(existing);
+        summaryCache.evictAfterCommit(employeeId);
+        skillIndex.onEmployeeChanged(employeeId);
+        gatewayCacheInvalidator.invalidateAfterCommit(GatewayCacheInvalidator.EXPERIENCE);
         return toResponse(updated);
     }
 
     @Override
+    @Transactional
     public void deleteExperience(Long employeeId, Long experienceId) {
         Experience existing = experienceRepository.findById(experienceId)
                 .orElseThrow(() -> new NotFoundException("Experience not found: " + experienceId));
@@ -71,9 +126,112 @@ public class ExperienceServiceImpl implements ExperienceService {
         }
 
         experienceRepository.delete(existing);
+        summaryCache.evictAfterCommit(employeeId);
+        skillIndex.onEmployeeChanged(employeeId);
+        gatewayCacheInvalidator.invalidateAfterCommit(GatewayCacheInvalidator.EXPERIENCE);
+    }
+
+    // All-or-nothing: one ownership lookup for every referenced row, then the deletes as a single
+    // statement and the inserts/updates flushed as JDBC batches at commit
+    @Override
+    @Transactional
+    public ExperienceBatchResponse applyBatch(Long employeeId, List<ExperienceOperation> operations) {
+        if (operations.size() > maxBatchOperations) {
+            throw new BadRequestException("A batch may contain at most " + maxBatchOperations + " operations");
+        }
+
+        Set<Long> referencedIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            validateOperation(i, operations.get(i), referencedIds);
+        }
+
+        Map<Long, Experience> owned = new LinkedHashMap<>();
+        if (!referencedIds.isEmpty()) {
+            experienceRepository.findAllById(referencedIds)
+                    .forEach(exp -> owned.put(exp.getId(), exp));
+        }
+        for (Long id : referencedIds) {
+            Experience existing = owned.get(id);
+            if (existing == null) {
+                throw new NotFoundException("Experience not found: " + id);
+            }
+            if (!existing.getEmployeeId().equals(employeeId)) {
+                throw new NotFoundException("Experience does not belong to this employee");
+            }
+        }
+
+        List<Experience> added = new ArrayList<>();
+        List<Experience> deleted = new ArrayList<>();
+        for (ExperienceOperation operation : operations) {
+            switch (operation.getOp()) {
+                case ADD -> {
+                    Experience exp = new Experience();
+                    exp.setEmployeeId(employeeId);
+                    apply(exp, operation);
+                    added.add(exp);
+                }
+                case UPDATE -> apply(owned.get(operation.getId()), operation);
+                case DELETE -> deleted.add(owned.get(operation.getId()));
+            }
+        }
+
+        if (!deleted.isEmpty()) {
+            experienceRepository.deleteAllInBatch(deleted);
+        }
+        experienceRepository.saveAll(added);
+
+        // The query flushes the pending inserts/updates first, so it sees the batch's result
+        List<Experience> current = experienceRepository.findByEmployeeId(employeeId);
+
+        summaryCache.evictAfterCommit(employeeId);
+        skillIndex.onEmployeeChanged(employeeId);
+        gatewayCacheInvalidator.invalidateAfterCommit(GatewayCacheInvalidator.EXPERIENCE);
+
+        return new ExperienceBatchResponse(
+                current.stream().map(this::toResponse).collect(Collectors.toList()),
+                summarize(current));
+    }
+
+    private static void validateOperation(int index, ExperienceOperation operation, Set<Long> referencedIds) {
+        String label = "Operation " + index + " (" + operation.getOp() + ")";
+        if (operation.getOp() != ExperienceOperation.Type.ADD) {
+            if (operation.getId() == null) {
+                throw new BadRequestException(label + ": id is required");
+            }
+            if (!referencedIds.add(operation.getId())) {
+                throw new BadRequestException(label + ": experience " + operation.getId() + " appears more than once");
+            }
+        }
+        if (operation.getOp() != ExperienceOperation.Type.DELETE) {
+            if (operation.getTechStack() == null || operation.getTechStack().isBlank()) {
+                throw new BadRequestException(label + ": tech stack is required");
+            }
+            if (operation.getYears() == null) {
+                throw new BadRequestException(label + ": years is required");
+            }
+        }
+    }
+
+    private static void apply(Experience exp, ExperienceOperation operation) {
+        exp.setTechStack(operation.getTechStack());
+        exp.setCompany(operation.getCompany());
+        exp.setYears(operation.getYears());
     }
 
+    // Same figures as the GROUP BY query, computed from rows already in hand
+    private static List<ExperienceSummaryResponse> summarize(List<Experience> rows) {
+        Map<String, Integer> totals = new LinkedHashMap<>();
+        for (Experience exp : rows) {
+            totals.merge(exp.getTechStack(), exp.getYears(), Integer::sum);
+        }
+        return totals.entrySet().stream()
+                .map(entry -> new ExperienceSummaryResponse(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    // Read-only: served by the replica when one is configured, and Hibernate skips dirty checking
     @Override
+    @Transactional(readOnly = true)
     public List<ExperienceResponse> getByEmployee(Long employeeId) {
         return experienceRepository.findByEmployeeId(employeeId)
                 .stream()
@@ -81,43 +239,83 @@ public class ExperienceServiceImpl implements ExperienceService {
                 .collect(Collectors.toList());
     }
 
+    // No transaction here so cache hits never touch a connection; the loader's query opens its own on the primary
     @Override
     public List<ExperienceSummaryResponse> getExperienceSummary(Long employeeId) {
-        return experienceRepository.findByEmployeeId(employeeId)
-                .stream()
-                .collect(Collectors.groupingBy(
-                        Experience::getTechStack,
-                        Collectors.summingInt(Experience::getYears)
-                ))
-                .entrySet()
+        return summaryCache.get(employeeId, this::loadSummary);
+    }
+
+    // GROUP BY tech_stack in SQL; only the aggregated rows come back
+    private List<ExperienceSummaryResponse> loadSummary(Long employeeId) {
+        return experienceRepository.findExperienceSummaryByEmployeeId(employeeId)
                 .stream()
-                .map(e -> new ExperienceSummaryResponse(e.getKey(), e.getValue()))
+                .map(row -> new ExperienceSummaryResponse(row.getTechStack(), row.getTotalYears().intValue()))
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ExperienceResponse> filter(Long employeeId,
                                            String techStack,
                                            Double minYears,
                                            String sortBy,
                                            String sortDir) {
 
-        Sort sort = sortDir.equalsIgnoreCase("desc") ?
-                Sort.by(sortBy).descending() :
-                Sort.by(sortBy).ascending();
-
-        List<Experience> experiences = experienceRepository.findAll(sort);
-
-        return experiences.stream()
-                .filter(exp -> employeeId == null || exp.getEmployeeId().equals(employeeId))
-                .filter(exp -> techStack == null || exp.getTechStack().equalsIgnoreCase(techStack))
-                .filter(exp -> minYears == null || exp.getYears() >= minYears)
+        return experienceRepository.findAll(toSpecification(employeeId, techStack, minYears), toSort(sortBy, sortDir))
+                .stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
-    
-    
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ExperienceResponse> filterPage(Long employeeId,
+                                               String techStack,
+                                               Double minYears,
+                                               String sortBy,
+                                               String sortDir,
+                                               int page,
+                                               Integer size) {
+
+        if (page < 0) {
+            throw new BadRequestException("Page index must not be negative");
+        }
+        // Server-enforced ceiling, regardless of what the client asks for
+        int pageSize = (size == null || size < 1) ? maxPageSize : Math.min(size, maxPageSize);
+
+        PageRequest pageable = PageRequest.of(page, pageSize, toSort(sortBy, sortDir));
+        return experienceRepository.findAll(toSpecification(employeeId, techStack, minYears), pageable)
+                .map(this::toResponse);
+    }
+
+    private Specification<Experience> toSpecification(Long employeeId, String techStack, Double minYears) {
+        // years is an integer column, so "at least 2.5 years" means at least 3
+        Integer minWholeYears = minYears != null ? (int) Math.ceil(minYears) : null;
+        return ExperienceSpecifications.filter(employeeId, techStack, minWholeYears);
+    }
+
+    private Sort toSort(String sortBy, String sortDir) {
+        String column = sortBy == null ? "id" : sortBy;
+        if (!SORTABLE_COLUMNS.contains(column)) {
+            throw new BadRequestException("Unsupported sort column: " + sortBy);
+        }
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        // Tie-break on id so pages are stable when the sort column has duplicates
+        Sort sort = Sort.by(direction, column);
+        return column.equals("id") ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    // Answered from the in-memory skill index; no transaction, no connection
+    @Override
+    public TalentSearchResponse searchTalent(TalentSearchRequest request) {
+        Integer size = request.getLimit();
+        int limit = (size == null || size < 1) ? DEFAULT_TALENT_LIMIT : Math.min(size, maxTalentLimit);
+        return skillIndex.search(request.getQuery(), request.getAfter(), limit);
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<ExperienceResponse> getAllExperience() {
         return experienceRepository.findAll()
                 .stream()
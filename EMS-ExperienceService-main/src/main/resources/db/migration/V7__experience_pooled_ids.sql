@@ -0,0 +1,8 @@
+-- ================================
+-- V7 - Pooled id allocation for experience rows
+-- (kept identical in the backend and experience service, like V1/V2/V5)
+-- ================================
+
+-- Same scheme as the backend's V6: Hibernate reserves 50 ids per nextval (allocationSize = 50)
+-- so a batch of experience inserts goes out as one JDBC batch.
+ALTER SEQUENCE IF EXISTS experience_id_seq INCREMENT BY 50;
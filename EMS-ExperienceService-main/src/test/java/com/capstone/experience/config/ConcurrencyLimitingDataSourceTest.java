@@ -0,0 +1,57 @@
+package com.capstone.experience.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitingDataSourceTest {
+
+    @Mock private DataSource target;
+    @Mock private Connection connection;
+
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(target.getConnection()).thenReturn(connection);
+        dataSource = new ConcurrencyLimitingDataSource(target, 1, 0, 50);
+    }
+
+    @Test
+    void closingConnection_ReturnsPermitOnce() throws SQLException {
+        Connection first = dataSource.getConnection();
+        assertEquals(0, dataSource.availablePermits());
+
+        first.close();
+        first.close();
+
+        assertEquals(1, dataSource.availablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void limitReached_FailsFast() throws SQLException {
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+    }
+
+    @Test
+    void targetFailure_ReleasesPermit() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        assertEquals(1, dataSource.availablePermits());
+    }
+}
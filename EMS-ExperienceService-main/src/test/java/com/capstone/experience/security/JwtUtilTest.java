@@ -78,6 +78,30 @@ class JwtUtilTest {
         assertFalse(valid);
     }
 
+    @Test
+    void parseClaims_RepeatedToken_ServedFromCache() {
+        String token = createMockToken("testuser", "USER", 10L);
+
+        jwtUtil.extractUsername(token);
+        jwtUtil.extractRole(token);
+        jwtUtil.extractEmployeeId(token);
+
+        assertEquals(1, jwtUtil.claimsCache().stats().missCount());
+        assertEquals(2, jwtUtil.claimsCache().stats().hitCount());
+    }
+
+    @Test
+    void parseClaims_ForgedToken_NotCached() {
+        String forged = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 3600000))
+                .signWith(Keys.hmacShaKeyFor("someOtherSecretKeyThatIsLongEnoughForHS256".getBytes()))
+                .compact();
+
+        assertFalse(jwtUtil.isTokenValid(forged));
+        assertEquals(0, jwtUtil.claimsCache().estimatedSize());
+    }
+
     private String createMockToken(String username, String role, Long employeeId) {
         Key key = Keys.hmacShaKeyFor(testSecret.getBytes());
 
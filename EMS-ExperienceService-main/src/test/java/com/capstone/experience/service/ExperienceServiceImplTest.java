@@ -1,19 +1,35 @@
 package com.capstone.experience.service;
 
+import com.capstone.experience.cache.ExperienceSummaryCache;
+import com.capstone.experience.cache.GatewayCacheInvalidator;
+import com.capstone.experience.dto.ExperienceBatchResponse;
+import com.capstone.experience.dto.ExperienceOperation;
 import com.capstone.experience.dto.ExperienceRequest;
 import com.capstone.experience.dto.ExperienceResponse;
 import com.capstone.experience.dto.ExperienceSummaryResponse;
+import com.capstone.experience.exception.BadRequestException;
 import com.capstone.experience.exception.NotFoundException;
 import com.capstone.experience.model.Experience;
 import com.capstone.experience.repo.ExperienceRepository;
+import com.capstone.experience.repo.ExperienceSummaryView;
 import com.capstone.experience.service.impl.ExperienceServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -30,6 +46,15 @@ class ExperienceServiceImplTest {
     @Mock
     private ExperienceRepository experienceRepository;
 
+    @Mock
+    private GatewayCacheInvalidator gatewayCacheInvalidator;
+
+    @Mock
+    private SkillIndex skillIndex;
+
+    @Spy
+    private ExperienceSummaryCache summaryCache = new ExperienceSummaryCache(100, 60_000, new SimpleMeterRegistry());
+
     @InjectMocks
     private ExperienceServiceImpl experienceService;
 
@@ -62,6 +87,9 @@ class ExperienceServiceImplTest {
         assertEquals(1L, response.getId());
         assertEquals("Java", response.getTechStack());
         verify(experienceRepository).save(any(Experience.class));
+        verify(skillIndex).onEmployeeChanged(10L);
+        // The index re-reads the totals itself after commit
+        verify(experienceRepository, never()).findByEmployeeId(anyLong());
     }
 
     @Test
@@ -104,6 +132,9 @@ class ExperienceServiceImplTest {
         experienceService.deleteExperience(10L, 1L);
 
         verify(experienceRepository).delete(testExperience);
+        verify(summaryCache).evict(10L);
+        verify(gatewayCacheInvalidator).invalidateAfterCommit(GatewayCacheInvalidator.EXPERIENCE);
+        verify(skillIndex).onEmployeeChanged(10L);
     }
 
     @Test
@@ -141,26 +172,22 @@ class ExperienceServiceImplTest {
 
     @Test
     void getExperienceSummary_Success() {
-        List<Experience> experiences = Arrays.asList(testExperience);
-        when(experienceRepository.findByEmployeeId(10L)).thenReturn(experiences);
+        when(experienceRepository.findExperienceSummaryByEmployeeId(10L))
+                .thenReturn(List.of(summaryRow("Java", 5L)));
 
         List<ExperienceSummaryResponse> summaries = experienceService.getExperienceSummary(10L);
 
         assertEquals(1, summaries.size());
         assertEquals("Java", summaries.get(0).getTechStack());
         assertEquals(5, summaries.get(0).getTotalYears());
-        verify(experienceRepository).findByEmployeeId(10L);
+        verify(experienceRepository).findExperienceSummaryByEmployeeId(10L);
+        verify(experienceRepository, never()).findByEmployeeId(anyLong());
     }
 
     @Test
     void getExperienceSummary_MultipleTechStacks() {
-        Experience exp2 = new Experience();
-        exp2.setId(2L);
-        exp2.setEmployeeId(10L);
-        exp2.setTechStack("Python");
-        exp2.setYears(3);
-        List<Experience> experiences = Arrays.asList(testExperience, exp2);
-        when(experienceRepository.findByEmployeeId(10L)).thenReturn(experiences);
+        when(experienceRepository.findExperienceSummaryByEmployeeId(10L))
+                .thenReturn(List.of(summaryRow("Java", 5L), summaryRow("Python", 3L)));
 
         List<ExperienceSummaryResponse> summaries = experienceService.getExperienceSummary(10L);
 
@@ -169,32 +196,98 @@ class ExperienceServiceImplTest {
         assertTrue(summaries.stream().anyMatch(s -> s.getTechStack().equals("Python") && s.getTotalYears() == 3));
     }
 
+    @Test
+    void getExperienceSummary_RepeatedCall_ServedFromCache() {
+        when(experienceRepository.findExperienceSummaryByEmployeeId(10L))
+                .thenReturn(List.of(summaryRow("Java", 5L)));
+
+        experienceService.getExperienceSummary(10L);
+        experienceService.getExperienceSummary(10L);
+
+        verify(experienceRepository, times(1)).findExperienceSummaryByEmployeeId(10L);
+    }
+
+    @Test
+    void getExperienceSummary_ReloadedAfterWrite() {
+        when(experienceRepository.findExperienceSummaryByEmployeeId(10L))
+                .thenReturn(List.of(summaryRow("Java", 5L)))
+                .thenReturn(List.of(summaryRow("Java", 10L)));
+        when(experienceRepository.save(any(Experience.class))).thenReturn(testExperience);
+
+        experienceService.getExperienceSummary(10L);
+        experienceService.addExperience(10L, testRequest);
+        List<ExperienceSummaryResponse> summaries = experienceService.getExperienceSummary(10L);
+
+        assertEquals(10, summaries.get(0).getTotalYears());
+        verify(summaryCache).evict(10L);
+        verify(gatewayCacheInvalidator).invalidateAfterCommit(GatewayCacheInvalidator.EXPERIENCE);
+        verify(experienceRepository, times(2)).findExperienceSummaryByEmployeeId(10L);
+    }
+
+    @Test
+    void addExperience_EvictsSummaryOnlyAfterCommit() {
+        when(experienceRepository.findExperienceSummaryByEmployeeId(10L))
+                .thenReturn(List.of(summaryRow("Java", 5L)));
+        when(experienceRepository.save(any(Experience.class))).thenReturn(testExperience);
+        experienceService.getExperienceSummary(10L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            experienceService.addExperience(10L, testRequest);
+            verify(summaryCache, never()).evict(10L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(summaryCache).evict(10L);
+    }
+
     @Test
     void filter_Success_WithAllParams() {
-        Experience exp2 = new Experience();
-        exp2.setId(2L);
-        exp2.setEmployeeId(10L);
-        exp2.setTechStack("Python");
-        exp2.setYears(3);
-        List<Experience> allExperiences = Arrays.asList(testExperience, exp2);
-        when(experienceRepository.findAll(any(Sort.class))).thenReturn(allExperiences);
+        when(experienceRepository.findAll(any(Specification.class), any(Sort.class)))
+                .thenReturn(List.of(testExperience));
 
         List<ExperienceResponse> responses = experienceService.filter(10L, "Java", 4.0, "years", "asc");
 
         assertEquals(1, responses.size());
         assertEquals("Java", responses.get(0).getTechStack());
-        verify(experienceRepository).findAll(any(Sort.class));
+        verify(experienceRepository).findAll(any(Specification.class),
+                eq(Sort.by(Sort.Direction.ASC, "years").and(Sort.by(Sort.Direction.ASC, "id"))));
+        verify(experienceRepository, never()).findAll(any(Sort.class));
     }
 
     @Test
     void filter_NoParams_ReturnsAll() {
         List<Experience> allExperiences = Arrays.asList(testExperience);
-        when(experienceRepository.findAll(any(Sort.class))).thenReturn(allExperiences);
+        when(experienceRepository.findAll(any(Specification.class), any(Sort.class))).thenReturn(allExperiences);
 
         List<ExperienceResponse> responses = experienceService.filter(null, null, null, "id", "asc");
 
         assertEquals(1, responses.size());
-        verify(experienceRepository).findAll(any(Sort.class));
+        verify(experienceRepository).findAll(any(Specification.class), eq(Sort.by(Sort.Direction.ASC, "id")));
+    }
+
+    @Test
+    void filter_UnknownSortColumn_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> experienceService.filter(null, null, null, "createdAt; drop table", "asc"));
+        verifyNoInteractions(experienceRepository);
+    }
+
+    @Test
+    void filterPage_CapsPageSize() {
+        ReflectionTestUtils.setField(experienceService, "maxPageSize", 50);
+        when(experienceRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testExperience)));
+
+        Page<ExperienceResponse> page = experienceService.filterPage(null, "java", null, "years", "desc", 2, 500);
+
+        assertEquals(1, page.getContent().size());
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(experienceRepository).findAll(any(Specification.class), captor.capture());
+        assertEquals(2, captor.getValue().getPageNumber());
+        assertEquals(50, captor.getValue().getPageSize());
     }
 
     @Test
@@ -208,4 +301,143 @@ class ExperienceServiceImplTest {
         assertEquals("Java", responses.get(0).getTechStack());
         verify(experienceRepository).findAll();
     }
-}
\ No newline at end of file
+
+    private ExperienceSummaryView summaryRow(String techStack, Long totalYears) {
+        return new ExperienceSummaryView() {
+            @Override
+            public String getTechStack() { return techStack; }
+
+            @Override
+            public Long getTotalYears() { return totalYears; }
+        };
+    }
+
+    // -------------------- BATCH --------------------
+
+    private static ExperienceOperation op(ExperienceOperation.Type type, Long id, String techStack, Integer years) {
+        ExperienceOperation operation = new ExperienceOperation();
+        operation.setOp(type);
+        operation.setId(id);
+        operation.setTechStack(techStack);
+        operation.setCompany("Test Corp");
+        operation.setYears(years);
+        return operation;
+    }
+
+    @Test
+    void applyBatch_AddUpdateDelete_OneOwnershipQuery() {
+        Experience toDelete = new Experience();
+        toDelete.setId(2L);
+        toDelete.setEmployeeId(10L);
+        toDelete.setTechStack("Go");
+        toDelete.setYears(1);
+        Experience added = new Experience();
+        added.setId(3L);
+        added.setEmployeeId(10L);
+        added.setTechStack("Java");
+        added.setYears(2);
+        when(experienceRepository.findAllById(anyIterable())).thenReturn(List.of(testExperience, toDelete));
+        when(experienceRepository.findByEmployeeId(10L)).thenReturn(List.of(testExperience, added));
+
+        ExperienceBatchResponse response = experienceService.applyBatch(10L, List.of(
+                op(ExperienceOperation.Type.ADD, null, "Java", 2),
+                op(ExperienceOperation.Type.UPDATE, 1L, "Java", 7),
+                op(ExperienceOperation.Type.DELETE, 2L, null, null)));
+
+        assertEquals(7, testExperience.getYears());
+        verify(experienceRepository, times(1)).findAllById(anyIterable());
+        verify(experienceRepository).deleteAllInBatch(List.of(toDelete));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Experience>> saved = ArgumentCaptor.forClass(List.class);
+        verify(experienceRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(10L, saved.getValue().get(0).getEmployeeId());
+        verify(experienceRepository, never()).save(any(Experience.class));
+
+        assertEquals(2, response.getExperience().size());
+        assertEquals(1, response.getSummary().size());
+        assertEquals("Java", response.getSummary().get(0).getTechStack());
+        assertEquals(9, response.getSummary().get(0).getTotalYears());
+        verify(summaryCache).evict(10L);
+        verify(gatewayCacheInvalidator).invalidateAfterCommit(GatewayCacheInvalidator.EXPERIENCE);
+        verify(skillIndex).onEmployeeChanged(10L);
+        // One read of the batch's result, for the response
+        verify(experienceRepository, times(1)).findByEmployeeId(10L);
+    }
+
+    @Test
+    void applyBatch_EvictsSummaryOnlyAfterCommit() {
+        when(experienceRepository.findByEmployeeId(10L)).thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            experienceService.applyBatch(10L, List.of(op(ExperienceOperation.Type.ADD, null, "Java", 2)));
+            verify(summaryCache, never()).evict(10L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(summaryCache).evict(10L);
+    }
+
+    @Test
+    void applyBatch_OnlyAdds_SkipsOwnershipQuery() {
+        when(experienceRepository.findByEmployeeId(10L)).thenReturn(List.of());
+
+        experienceService.applyBatch(10L, List.of(op(ExperienceOperation.Type.ADD, null, "Java", 2)));
+
+        verify(experienceRepository, never()).findAllById(anyIterable());
+        verify(experienceRepository, never()).deleteAllInBatch(anyIterable());
+    }
+
+    @Test
+    void applyBatch_RowOfAnotherEmployee_ThrowsNotFoundBeforeWriting() {
+        testExperience.setEmployeeId(99L);
+        when(experienceRepository.findAllById(anyIterable())).thenReturn(List.of(testExperience));
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> experienceService.applyBatch(10L, List.of(
+                        op(ExperienceOperation.Type.ADD, null, "Java", 2),
+                        op(ExperienceOperation.Type.DELETE, 1L, null, null))));
+
+        assertEquals("Experience does not belong to this employee", exception.getMessage());
+        verify(experienceRepository, never()).saveAll(anyIterable());
+        verify(experienceRepository, never()).deleteAllInBatch(anyIterable());
+    }
+
+    @Test
+    void applyBatch_MissingRow_ThrowsNotFound() {
+        when(experienceRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> experienceService.applyBatch(10L, List.of(op(ExperienceOperation.Type.DELETE, 5L, null, null))));
+        assertEquals("Experience not found: 5", exception.getMessage());
+    }
+
+    @Test
+    void applyBatch_SameRowTwice_ThrowsBadRequest() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> experienceService.applyBatch(10L, List.of(
+                        op(ExperienceOperation.Type.UPDATE, 1L, "Java", 3),
+                        op(ExperienceOperation.Type.DELETE, 1L, null, null))));
+        assertEquals("Operation 1 (DELETE): experience 1 appears more than once", exception.getMessage());
+        verifyNoInteractions(experienceRepository);
+    }
+
+    @Test
+    void applyBatch_UpdateWithoutYears_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> experienceService.applyBatch(10L, List.of(op(ExperienceOperation.Type.UPDATE, 1L, "Java", null))));
+    }
+
+    @Test
+    void applyBatch_TooManyOperations_ThrowsBadRequest() {
+        ReflectionTestUtils.setField(experienceService, "maxBatchOperations", 1);
+
+        assertThrows(BadRequestException.class,
+                () -> experienceService.applyBatch(10L, List.of(
+                        op(ExperienceOperation.Type.ADD, null, "Java", 1),
+                        op(ExperienceOperation.Type.ADD, null, "Go", 1))));
+    }
+}
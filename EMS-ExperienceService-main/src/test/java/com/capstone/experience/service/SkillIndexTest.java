@@ -0,0 +1,250 @@
+package com.capstone.experience.service;
+
+import com.capstone.experience.dto.TalentQuery;
+import com.capstone.experience.dto.TalentSearchResponse;
+import com.capstone.experience.exception.BadRequestException;
+import com.capstone.experience.model.Experience;
+import com.capstone.experience.repo.EmployeeSkillView;
+import com.capstone.experience.repo.ExperienceRepository;
+import com.capstone.experience.repo.ExperienceSummaryView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static com.capstone.experience.dto.TalentQuery.and;
+import static com.capstone.experience.dto.TalentQuery.not;
+import static com.capstone.experience.dto.TalentQuery.or;
+import static com.capstone.experience.dto.TalentQuery.skill;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SkillIndexTest {
+
+    @Mock private ExperienceRepository experienceRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private SkillIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Reloads run on the calling thread
+        index = new SkillIndex(experienceRepository, transactionManager, registry, 50, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private record Row(Long getEmployeeId, String getTechStack, Long getTotalYears) implements EmployeeSkillView {
+    }
+
+    private record Total(String getTechStack, Long getTotalYears) implements ExperienceSummaryView {
+    }
+
+    private static Experience exp(long employeeId, String techStack, int years) {
+        Experience exp = new Experience();
+        exp.setEmployeeId(employeeId);
+        exp.setTechStack(techStack);
+        exp.setYears(years);
+        return exp;
+    }
+
+    // A committed write: the index re-reads what the GROUP BY tech_stack query returns for these rows
+    private void employee(long employeeId, Experience... rows) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (Experience row : rows) {
+            totals.merge(row.getTechStack(), (long) row.getYears(), Long::sum);
+        }
+        List<ExperienceSummaryView> summary = new ArrayList<>();
+        totals.forEach((techStack, years) -> summary.add(new Total(techStack, years)));
+        when(experienceRepository.findExperienceSummaryByEmployeeId(employeeId)).thenReturn(summary);
+        index.onEmployeeChanged(employeeId);
+    }
+
+    private List<Long> ids(TalentQuery query) {
+        return index.search(query, null, 10_000).getEmployeeIds();
+    }
+
+    @Test
+    void search_MinYearsAcrossSkills() {
+        employee(1, exp(1, "Java", 3), exp(1, "React", 2));
+        employee(2, exp(2, "Java", 5), exp(2, "React", 1));
+        employee(3, exp(3, "java", 2), exp(3, "Java", 2), exp(3, "React", 4)); // totals add up, any case
+
+        assertEquals(List.of(1L, 3L), ids(and(skill("Java", 3), skill("REACT", 2))));
+        assertEquals(List.of(1L, 2L, 3L), ids(skill(" java ", null)));
+        assertEquals(List.of(2L), ids(skill("Java", 5)));
+        assertEquals(List.of(), ids(skill("Go", 0)));
+    }
+
+    @Test
+    void search_ThresholdInsideWideBucket_IsExact() {
+        employee(1, exp(1, "Java", 12));
+        employee(2, exp(2, "Java", 13));
+        employee(3, exp(3, "Java", 14));
+        employee(4, exp(4, "Java", 40));
+
+        assertEquals(List.of(2L, 3L, 4L), ids(skill("Java", 13)));
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(skill("Java", 12)));
+        assertEquals(List.of(4L), ids(skill("Java", 31)));
+    }
+
+    @Test
+    void search_OrAndNot() {
+        employee(1, exp(1, "Java", 3));
+        employee(2, exp(2, "Kotlin", 3));
+        employee(3, exp(3, "Java", 3), exp(3, "PHP", 1));
+        employee(4, exp(4, "PHP", 6));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(or(skill("Java", 1), skill("Kotlin", 1))));
+        assertEquals(List.of(1L), ids(and(skill("Java", 1), not(skill("PHP", 0)))));
+        // NOT on its own: everyone with some experience, minus the matches
+        assertEquals(List.of(1L, 2L), ids(not(skill("PHP", 0))));
+        assertEquals(List.of(1L, 2L, 3L), ids(and(not(skill("PHP", 5)))));
+    }
+
+    @Test
+    void search_PagesWithCursor() {
+        for (long id = 1; id <= 5; id++) {
+            employee(id, exp(id, "Java", 1));
+        }
+
+        TalentSearchResponse first = index.search(skill("Java", 1), null, 2);
+        assertEquals(5, first.getTotal());
+        assertEquals(List.of(1L, 2L), first.getEmployeeIds());
+        assertEquals(2L, first.getNextAfter());
+
+        TalentSearchResponse last = index.search(skill("Java", 1), 4L, 2);
+        assertEquals(List.of(5L), last.getEmployeeIds());
+        assertNull(last.getNextAfter());
+    }
+
+    @Test
+    void writes_ReplacePreviousSkills() {
+        employee(1, exp(1, "Java", 3), exp(1, "React", 2));
+
+        employee(1, exp(1, "Java", 1));
+        assertEquals(List.of(), ids(skill("Java", 2)));
+        assertEquals(List.of(), ids(skill("React", 0)));
+
+        employee(1);
+        assertEquals(List.of(), ids(skill("Java", 0)));
+        assertEquals(List.of(), ids(not(skill("Go", 0))));
+    }
+
+    @Test
+    void rolledBackWrite_NeverIndexed() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.onEmployeeChanged(1L);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(List.of(), ids(skill("Java", 0)));
+        verifyNoInteractions(experienceRepository);
+    }
+
+    @Test
+    void concurrentWrites_IndexedFromTotalsReadAfterBothCommits() {
+        List<Runnable> queued = new ArrayList<>();
+        index = new SkillIndex(experienceRepository, transactionManager, registry, 50, queued::add);
+
+        // Two transactions for the same employee, each blind to the other's row, commit before the reload runs
+        index.onEmployeeChanged(1L);
+        index.onEmployeeChanged(1L);
+        when(experienceRepository.findExperienceSummaryByEmployeeId(1L))
+                .thenReturn(List.of(new Total("Java", 5L), new Total("React", 2L)));
+        queued.forEach(Runnable::run);
+
+        assertEquals(1, queued.size());
+        verify(experienceRepository, times(1)).findExperienceSummaryByEmployeeId(1L);
+        assertEquals(List.of(1L), ids(and(skill("Java", 5), skill("React", 2))));
+    }
+
+    @Test
+    void rebuild_LoadsTotalsFromDatabase() {
+        employee(9, exp(9, "Java", 3)); // gone from the database, e.g. cascade-deleted with the employee
+        when(experienceRepository.streamSkillTotals()).thenReturn(Stream.of(
+                new Row(1L, "Java", 2L), new Row(1L, "JAVA", 2L), new Row(2L, "React", 5L)));
+
+        assertTrue(index.rebuild());
+
+        assertEquals(List.of(1L), ids(skill("Java", 4)));
+        assertEquals(List.of(2L), ids(skill("React", 5)));
+        assertEquals(2.0, registry.get("ems.talent.index.employees").gauge().value());
+        assertEquals(2.0, registry.get("ems.talent.index.skills").gauge().value());
+    }
+
+    @Test
+    void invalidQuery_Rejected() {
+        assertThrows(BadRequestException.class, () -> ids(null));
+        assertThrows(BadRequestException.class, () -> ids(new TalentQuery()));
+        assertThrows(BadRequestException.class, () -> ids(skill(" ", 1)));
+        assertThrows(BadRequestException.class, () -> ids(and()));
+
+        TalentQuery both = skill("Java", 1);
+        both.setNot(skill("PHP", 0));
+        assertThrows(BadRequestException.class, () -> ids(both));
+
+        TalentQuery[] terms = new TalentQuery[50];
+        for (int i = 0; i < terms.length; i++) {
+            terms[i] = skill("Java", i);
+        }
+        assertThrows(BadRequestException.class, () -> ids(or(terms)));
+    }
+
+    @Test
+    void search_AgreesWithLinearScan() {
+        Random random = new Random(42);
+        String[] stacks = {"Java", "React", "SQL", "Go", "PHP"};
+        List<Experience> all = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            List<Experience> rows = new ArrayList<>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                rows.add(exp(id, stacks[random.nextInt(stacks.length)], 1 + random.nextInt(35)));
+            }
+            employee(id, rows.toArray(new Experience[0]));
+            all.addAll(rows);
+        }
+
+        for (int minJava = 0; minJava <= 40; minJava += 3) {
+            int min = minJava;
+            TalentQuery query = and(skill("Java", min), or(skill("React", 2), not(skill("SQL", 0))));
+            List<Long> expected = new ArrayList<>();
+            for (long id = 1; id <= 2000; id++) {
+                long employeeId = id;
+                int java = total(all, employeeId, "Java");
+                boolean hasJava = all.stream().anyMatch(e -> e.getEmployeeId() == employeeId && e.getTechStack().equals("Java"));
+                boolean hasSql = all.stream().anyMatch(e -> e.getEmployeeId() == employeeId && e.getTechStack().equals("SQL"));
+                boolean react = total(all, employeeId, "React") >= 2;
+                if (hasJava && java >= min && (react || !hasSql)) {
+                    expected.add(id);
+                }
+            }
+            assertEquals(expected, ids(query), "minJava=" + min);
+        }
+    }
+
+    private static int total(List<Experience> all, long employeeId, String techStack) {
+        return all.stream()
+                .filter(e -> e.getEmployeeId() == employeeId && e.getTechStack().equals(techStack))
+                .mapToInt(Experience::getYears)
+                .sum();
+    }
+}
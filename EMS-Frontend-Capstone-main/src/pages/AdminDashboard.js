@@ -1,6 +1,6 @@
 import React, { useState, useEffect, useMemo, useCallback } from "react";
 import { useAuth } from "../auth/AuthProvider";
-import api, { experienceApi } from "../services/api";
+import api, { experienceApi, bffApi } from "../services/api";
 import Toast from "../components/Toast";
 import { Link } from "react-router-dom";
 import { 
@@ -25,6 +25,7 @@ export default function AdminDashboard() {
   const [employees, setEmployees] = useState([]);
   const [loading, setLoading] = useState(true);
   const [searchQuery, setSearchQuery] = useState("");
+  const [searchHits, setSearchHits] = useState(null); // server results while a query is active
   const [deleteLoading, setDeleteLoading] = useState(null);
   const [isSidebarOpen, setIsSidebarOpen] = useState(false);
   const [toast, setToast] = useState({ show: false, message: "", type: "success" });
@@ -93,12 +94,24 @@ export default function AdminDashboard() {
   };
 
   useEffect(() => { fetchEmployees(); }, []);
+
+  // Ranked server-side search once the query is 2+ characters, debounced while typing
+  useEffect(() => {
+    const q = searchQuery.trim();
+    if (q.length < 2) { setSearchHits(null); return; }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try { const res = await api.get("/api/employees/search", { params: { q, size: 50 } }); if (!cancelled) setSearchHits(res.data.items); }
+      catch (err) { if (!cancelled) setSearchHits(null); }
+    }, 250);
+    return () => { cancelled = true; clearTimeout(timer); };
+  }, [searchQuery]);
   const fetchEmployees = async () => { 
     setLoading(true); try { const res = await api.get("/api/employees"); setEmployees(res.data); } catch (err) { showToast("Failed to load data", "error"); } finally { setLoading(false); } 
   };
 
   // --- CRUD HANDLERS ---
-  const handleDelete = async (id) => { if (!window.confirm("Delete?")) return; setDeleteLoading(id); try { await api.delete(`/api/employees/${id}`); setEmployees(prev => prev.filter(emp => emp.id !== id)); showToast("Deleted", "success"); } catch (err) { showToast("Failed", "error"); } finally { setDeleteLoading(null); } };
+  const handleDelete = async (id) => { if (!window.confirm("Delete?")) return; setDeleteLoading(id); try { await api.delete(`/api/employees/${id}`); setEmployees(prev => prev.filter(emp => emp.id !== id)); setSearchHits(prev => prev && prev.filter(hit => hit.employee.id !== id)); showToast("Deleted", "success"); } catch (err) { showToast("Failed", "error"); } finally { setDeleteLoading(null); } };
   const handleResetCredentials = async () => { if(!editingId) return; if(!window.confirm("Reset password (username$$DD)?")) return; try { await api.post(`/auth/reset-credentials/${editingId}`); showToast("Reset Success", "success"); } catch (err) { showToast("Failed", "error"); } };
 
   const handleEditClick = async (e, employee) => { 
@@ -120,6 +133,7 @@ export default function AdminDashboard() {
         if (editingId) { 
             const res = await api.put(`/api/employees/${editingId}`, formData); 
             setEmployees(prev => prev.map(emp => emp.id === editingId ? res.data : emp)); 
+            setSearchHits(prev => prev && prev.map(hit => hit.employee.id === editingId ? { ...hit, employee: res.data, highlights: [] } : hit));
             showToast("Updated Successfully", "success"); 
             setView("list");
         } else { 
@@ -270,10 +284,11 @@ export default function AdminDashboard() {
       setPreviousView(fromView); 
       setView("employee-details");
       try {
-          const listRes = await experienceApi.get(`/api/experience/employee/${employee.id}`);
-          setEmployeeExperience(listRes.data);
-          const summaryRes = await experienceApi.get(`/api/experience/employee/summary/${employee.id}`);
-          setExperienceSummary(summaryRes.data);
+          // One round trip: the gateway fetches details, experience and summary in parallel
+          const res = await bffApi.get(`/employees/${employee.id}`);
+          if (res.data.employee) setSelectedEmployee(res.data.employee);
+          setEmployeeExperience(res.data.experience || []);
+          setExperienceSummary(res.data.summary || []);
       } catch (err) { 
           setEmployeeExperience([]); 
           setExperienceSummary([]);
@@ -286,7 +301,8 @@ export default function AdminDashboard() {
   };
 
   const displayedCandidates = resultLimit === "all" ? candidateResults : candidateResults.slice(0, parseInt(resultLimit));
-  const filteredEmployees = employees.filter(emp => emp.name.toLowerCase().includes(searchQuery.toLowerCase()) || emp.email.toLowerCase().includes(searchQuery.toLowerCase()));
+  const filteredEmployees = searchHits ? searchHits.map(hit => hit.employee) : employees.filter(emp => emp.name.toLowerCase().includes(searchQuery.toLowerCase()) || emp.email.toLowerCase().includes(searchQuery.toLowerCase()));
+  const highlightsById = new Map((searchHits || []).map(hit => [hit.employee.id, hit.highlights]));
 
   return (
     <div className="flex min-h-screen bg-gradient-to-b from-[#1E293B] via-[#111827] to-[#020617] font-sans text-slate-200 relative">
@@ -451,7 +467,7 @@ export default function AdminDashboard() {
                 <div className="overflow-auto flex-1 custom-scrollbar">
                   <table className="w-full text-left border-collapse min-w-[600px]">
                     <thead className="sticky top-0 bg-[#1E293B] z-10 shadow-sm"><tr><th className="p-4 text-xs font-semibold text-slate-400 uppercase rounded-tl-lg">Name</th><th className="p-4 text-xs font-semibold text-slate-400 uppercase">Email</th><th className="p-4 text-xs font-semibold text-slate-400 uppercase">Designation</th><th className="p-4 text-xs font-semibold text-slate-400 uppercase">Salary</th><th className="p-4 text-xs font-semibold text-slate-400 uppercase text-right rounded-tr-lg">Actions</th></tr></thead>
-                    <tbody className="divide-y divide-white/5 text-sm">{filteredEmployees.map((emp) => (<tr key={emp.id} onClick={() => openEmployeeDetails(emp, "list")} className="hover:bg-white/5 transition-colors group cursor-pointer"><td className="p-4 text-slate-200 font-medium">{emp.name}</td><td className="p-4 text-slate-400">{emp.email}</td><td className="p-4 text-slate-300">{emp.designation}</td><td className="p-4 text-emerald-400">₹{Number(emp.salary).toLocaleString()}</td><td className="p-4 text-right" onClick={(e) => e.stopPropagation()}><div className="flex items-center justify-end gap-3"><button onClick={(e) => handleEditClick(e, emp)} className="p-2 bg-indigo-500/10 text-indigo-400 hover:bg-indigo-500 hover:text-white rounded-lg border border-indigo-500/20"><FiEdit2 /></button><button onClick={() => handleDelete(emp.id)} className="p-2 bg-rose-500/10 text-rose-400 hover:bg-rose-500 hover:text-white rounded-lg border border-rose-500/20"><FiTrash2 /></button></div></td></tr>))}</tbody>
+                    <tbody className="divide-y divide-white/5 text-sm">{filteredEmployees.map((emp) => (<tr key={emp.id} onClick={() => openEmployeeDetails(emp, "list")} className="hover:bg-white/5 transition-colors group cursor-pointer"><td className="p-4 text-slate-200 font-medium"><Highlighted text={emp.name} field="name" highlights={highlightsById.get(emp.id)} /></td><td className="p-4 text-slate-400"><Highlighted text={emp.email} field="email" highlights={highlightsById.get(emp.id)} /></td><td className="p-4 text-slate-300"><Highlighted text={emp.designation} field="designation" highlights={highlightsById.get(emp.id)} /></td><td className="p-4 text-emerald-400">₹{Number(emp.salary).toLocaleString()}</td><td className="p-4 text-right" onClick={(e) => e.stopPropagation()}><div className="flex items-center justify-end gap-3"><button onClick={(e) => handleEditClick(e, emp)} className="p-2 bg-indigo-500/10 text-indigo-400 hover:bg-indigo-500 hover:text-white rounded-lg border border-indigo-500/20"><FiEdit2 /></button><button onClick={() => handleDelete(emp.id)} className="p-2 bg-rose-500/10 text-rose-400 hover:bg-rose-500 hover:text-white rounded-lg border border-rose-500/20"><FiTrash2 /></button></div></td></tr>))}</tbody>
                   </table>
                 </div>
              </div>
@@ -586,6 +602,14 @@ function TagInput({ label, placeholder, tags, setTags }) {
 }
 
 // Helper Components
+function Highlighted({ text, field, highlights }) {
+  const spans = (highlights || []).filter(h => h.field === field);
+  if (!text || spans.length === 0) return <>{text}</>;
+  const parts = []; let at = 0;
+  spans.forEach((h, i) => { if (h.start > at) parts.push(text.slice(at, h.start)); parts.push(<mark key={i} className="bg-indigo-500/30 text-inherit rounded px-0.5">{text.slice(h.start, h.end)}</mark>); at = h.end; });
+  if (at < text.length) parts.push(text.slice(at));
+  return <>{parts}</>;
+}
 function InputField({ label, value, onChange, icon, placeholder, type = "text" }) {
   const isDate = type === "date"; const inputType = isDate ? (value ? "date" : "text") : type;
   return (
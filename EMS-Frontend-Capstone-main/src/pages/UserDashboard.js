@@ -1,6 +1,6 @@
 import React, { useState, useEffect, useMemo } from "react";
 import { useAuth } from "../auth/AuthProvider";
-import api, { experienceApi } from "../services/api";
+import api, { bffApi } from "../services/api";
 import { Link } from "react-router-dom";
 import { 
   FiUsers, FiUser, FiLogOut, FiSearch, FiMail, FiInfo, FiLayers, 
@@ -50,16 +50,14 @@ export default function UserDashboard() {
       setEmployees(empRes.data);
 
       if (employeeId) {
-        const profileRes = await api.get("/api/profile/me");
-        setMyProfile(profileRes.data);
-        
-        try {
-            const expRes = await experienceApi.get("/api/experience/me");
-            setMyExperience(expRes.data);
-        } catch (e) {
+        // Profile + experience in one round trip; experience may be missing if that service is down
+        const meRes = await bffApi.get("/me");
+        setMyProfile(meRes.data.profile);
+
+        if (meRes.data.errors && meRes.data.errors.experience) {
             console.warn("Experience service unavailable or empty");
-            setMyExperience([]);
         }
+        setMyExperience(meRes.data.experience || []);
       }
     } catch (err) {
       console.error("Error fetching data", err);
@@ -14,6 +14,11 @@ export const experienceApi = axios.create({
   baseURL: `${GATEWAY_URL}/experience`, 
 });
 
+// Composite (backend-for-frontend) endpoints served by the gateway itself
+export const bffApi = axios.create({
+  baseURL: `${GATEWAY_URL}/bff`,
+});
+
 // --- Interceptors ---
 const attachToken = (config) => {
   const token = localStorage.getItem("token");
@@ -23,6 +28,7 @@ const attachToken = (config) => {
 
 api.interceptors.request.use(attachToken);
 experienceApi.interceptors.request.use(attachToken);
+bffApi.interceptors.request.use(attachToken);
 
 // Handle 401 (Logout)
 const handleAuthError = (error) => {
@@ -37,5 +43,6 @@ const handleAuthError = (error) => {
 
 api.interceptors.response.use((r) => r, handleAuthError);
 experienceApi.interceptors.response.use((r) => r, handleAuthError);
+bffApi.interceptors.response.use((r) => r, handleAuthError);
 
 export default api;
@@ -0,0 +1,52 @@
+package com.capstone.loadtest;
+
+import com.capstone.loadtest.client.GatewayClient;
+import com.capstone.loadtest.infra.EmbeddedDatabase;
+import com.capstone.loadtest.infra.ServiceStack;
+import com.capstone.loadtest.infra.SmtpStub;
+import com.capstone.loadtest.metrics.LoadReport;
+import com.capstone.loadtest.metrics.LoadStats;
+import com.capstone.loadtest.scenario.DataSeeder;
+import com.capstone.loadtest.scenario.OpenModelDriver;
+import com.capstone.loadtest.scenario.ScenarioMix;
+import com.capstone.loadtest.scenario.SeedData;
+
+import java.time.Duration;
+
+/**
+ * Boots the whole stack on an embedded database, seeds it, drives the dashboard scenarios
+ * at the configured arrival rate and exits with 1 when any endpoint breaks its budget.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load(args);
+        ScenarioMix mix = new ScenarioMix(config);
+        if (config.getInt("experience-per-employee") < 1
+                && Double.parseDouble(config.get("scenario.edit-experience.weight", "0")) > 0) {
+            throw new IllegalArgumentException("edit-experience needs experience-per-employee >= 1");
+        }
+
+        LoadReport report;
+        try (EmbeddedDatabase database = EmbeddedDatabase.start();
+             SmtpStub smtp = SmtpStub.start();
+             ServiceStack stack = ServiceStack.start(config, database, smtp)) {
+
+            GatewayClient client = new GatewayClient(stack.gatewayUrl(),
+                    Duration.ofMillis(config.getLong("request-timeout-ms")));
+            SeedData seed = new DataSeeder(client, config).seed();
+
+            OpenModelDriver driver = new OpenModelDriver(client, seed, mix, config.getInt("max-in-flight"));
+            long durationSeconds = config.getLong("duration-seconds");
+            LoadStats stats = driver.run(config.getDouble("rate"),
+                    Duration.ofSeconds(config.getLong("warmup-seconds")),
+                    Duration.ofSeconds(durationSeconds));
+
+            report = LoadReport.evaluate(config, stats, durationSeconds, smtp.receivedCount());
+        }
+
+        report.print();
+        report.write(config.getPath("report"));
+        System.exit(report.passed() ? 0 : 1);
+    }
+}
@@ -0,0 +1,80 @@
+package com.capstone.loadtest.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/** HTTP calls through the gateway, the way the React dashboard makes them. */
+public class GatewayClient {
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration timeout;
+
+    public GatewayClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public HttpResponse<String> exchange(String method, String path, String token, String contentType, String body)
+            throws IOException, InterruptedException {
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public HttpResponse<String> exchangeJson(String method, String path, String token, Object body)
+            throws IOException, InterruptedException {
+        return exchange(method, path, token, body == null ? null : "application/json", body == null ? null : toJson(body));
+    }
+
+    // For set-up calls: anything but 2xx aborts the run
+    public JsonNode call(String method, String path, String token, String contentType, String body)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = exchange(method, path, token, contentType, body);
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode()
+                    + ": " + response.body());
+        }
+        return response.body().isEmpty() ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+    }
+
+    public JsonNode callJson(String method, String path, String token, Object body)
+            throws IOException, InterruptedException {
+        return call(method, path, token, "application/json", toJson(body));
+    }
+
+    public String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.capstone.loadtest.infra;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+
+/** Throw-away Postgres shared by the backend and the experience service, as in production. */
+public class EmbeddedDatabase implements AutoCloseable {
+
+    public static final String NAME = "postgres";
+    public static final String USER = "postgres";
+    public static final String PASSWORD = "postgres";
+
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    public static EmbeddedDatabase start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                // Enough connections for two Hikari pools plus headroom
+                .setServerConfig("max_connections", "200")
+                .start();
+        System.out.println("Embedded Postgres listening on port " + postgres.getPort());
+        return new EmbeddedDatabase(postgres);
+    }
+
+    public int getPort() {
+        return postgres.getPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
@@ -0,0 +1,147 @@
+package com.capstone.loadtest.infra;
+
+import com.capstone.loadtest.LoadTestConfig;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Eureka, backend, experience service and gateway started from their packaged jars with
+ * the prod profile, wired to the embedded database and SMTP stub through the same
+ * environment variables Render sets. Stopped in reverse order on close.
+ */
+public class ServiceStack implements AutoCloseable {
+
+    private final List<ServiceProcess> processes = new ArrayList<>();
+    private ServiceProcess gateway;
+
+    private ServiceStack() {
+    }
+
+    public static ServiceStack start(LoadTestConfig config, EmbeddedDatabase database, SmtpStub smtp)
+            throws IOException, InterruptedException {
+
+        Path servicesDir = config.getPath("services-dir");
+        Path logsDir = config.getPath("logs-dir");
+        List<String> jvmArgs = Arrays.asList(config.get("service-jvm-args").trim().split("\\s+"));
+        Duration startupTimeout = Duration.ofSeconds(config.getLong("startup-timeout-seconds"));
+
+        int eurekaPort = Ports.free();
+        int backendPort = Ports.free();
+        int experiencePort = Ports.free();
+        int gatewayPort = Ports.free();
+        String eurekaUrl = "http://localhost:" + eurekaPort + "/eureka/";
+        String gatewayUrl = "http://localhost:" + gatewayPort;
+
+        // Fresh secrets per run, shared by all services
+        String jwtSecret = randomSecret();
+        String signingSecret = randomSecret();
+
+        Map<String, String> serviceEnv = new HashMap<>();
+        serviceEnv.put("DB_HOST", "localhost");
+        serviceEnv.put("DB_PORT", String.valueOf(database.getPort()));
+        serviceEnv.put("DB_NAME", EmbeddedDatabase.NAME);
+        serviceEnv.put("DB_USER", EmbeddedDatabase.USER);
+        serviceEnv.put("DB_PASS", EmbeddedDatabase.PASSWORD);
+        serviceEnv.put("JWT_SECRET", jwtSecret);
+        serviceEnv.put("GATEWAY_URL", gatewayUrl);
+        serviceEnv.put("GATEWAY_SIGNING_SECRET", signingSecret);
+        serviceEnv.put("TRUST_GATEWAY_HEADERS", "true");
+        serviceEnv.put("VIRTUAL_THREADS", config.get("virtual-threads"));
+        serviceEnv.put("EUREKA_DEFAULT_ZONE", eurekaUrl);
+        serviceEnv.put("MAIL_USER", "loadtest");
+        serviceEnv.put("MAIL_PASS", "loadtest");
+
+        List<String> serviceArgs = List.of(
+                "--spring.profiles.active=prod",
+                "--eureka.client.service-url.defaultZone=" + eurekaUrl,
+                "--spring.jpa.show-sql=false",
+                "--spring.mail.host=127.0.0.1",
+                "--spring.mail.port=" + smtp.getPort(),
+                "--spring.mail.properties.mail.smtp.auth=false",
+                "--spring.mail.properties.mail.smtp.starttls.enable=false");
+
+        ServiceStack stack = new ServiceStack();
+        try {
+            stack.launch("eureka", jar(servicesDir, "EMS-Eureka-Server"), eurekaPort, jvmArgs,
+                    Map.of(), List.of(), logsDir, startupTimeout);
+
+            // One at a time: both run Flyway against the shared schema history
+            stack.launch("backend", jar(servicesDir, "EMS-Backend-Capstone-main"), backendPort, jvmArgs,
+                    serviceEnv, serviceArgs, logsDir, startupTimeout);
+            stack.launch("experience", jar(servicesDir, "EMS-ExperienceService-main"), experiencePort, jvmArgs,
+                    serviceEnv, serviceArgs, logsDir, startupTimeout);
+
+            Map<String, String> gatewayEnv = new HashMap<>();
+            gatewayEnv.put("EUREKA_URL", eurekaUrl);
+            gatewayEnv.put("BACKEND_URL", "http://localhost:" + backendPort);
+            gatewayEnv.put("EXPERIENCE_URL", "http://localhost:" + experiencePort);
+            gatewayEnv.put("JWT_SECRET", jwtSecret);
+            gatewayEnv.put("GATEWAY_SIGNING_SECRET", signingSecret);
+            gatewayEnv.put("GATEWAY_CACHE_ENABLED", config.get("gateway-cache"));
+
+            // Every virtual user shares one IP, so the login rate limit would only measure 429s
+            stack.gateway = stack.launch("gateway", jar(servicesDir, "EMS-Api_Gateway-main"), gatewayPort, jvmArgs,
+                    gatewayEnv, List.of("--spring.profiles.active=prod", "--gateway.rate-limit.enabled=false"),
+                    logsDir, startupTimeout);
+            return stack;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stack.close();
+            throw e;
+        }
+    }
+
+    private ServiceProcess launch(String name, Path jar, int port, List<String> jvmArgs, Map<String, String> env,
+                                  List<String> args, Path logsDir, Duration timeout)
+            throws IOException, InterruptedException {
+        ServiceProcess process = ServiceProcess.start(name, jar, port, jvmArgs, env, args, logsDir);
+        processes.add(process);
+        process.awaitHealthy(timeout);
+        return process;
+    }
+
+    public String gatewayUrl() {
+        return gateway.url();
+    }
+
+    // The Boot-repackaged jar in <module>/target (not the -plain or .original one)
+    static Path jar(Path servicesDir, String module) throws IOException {
+        Path target = servicesDir.resolve(module).resolve("target");
+        if (Files.isDirectory(target)) {
+            try (Stream<Path> files = Files.list(target)) {
+                List<Path> jars = files
+                        .filter(p -> p.getFileName().toString().endsWith(".jar"))
+                        .filter(p -> !p.getFileName().toString().endsWith("-plain.jar"))
+                        .toList();
+                if (jars.size() == 1) {
+                    return jars.get(0);
+                }
+            }
+        }
+        throw new IllegalStateException("Expected one packaged jar in " + target
+                + "; run 'mvn package -DskipTests' in " + module + " first");
+    }
+
+    private static String randomSecret() {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            processes.get(i).close();
+        }
+    }
+}
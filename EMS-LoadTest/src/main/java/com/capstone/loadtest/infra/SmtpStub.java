@@ -0,0 +1,37 @@
+package com.capstone.loadtest.infra;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+
+/** In-process SMTP server; accepts any login and keeps the welcome / reset mails in memory. */
+public class SmtpStub implements AutoCloseable {
+
+    private final GreenMail greenMail;
+    private final int port;
+
+    private SmtpStub(GreenMail greenMail, int port) {
+        this.greenMail = greenMail;
+        this.port = port;
+    }
+
+    public static SmtpStub start() {
+        int port = Ports.free();
+        GreenMail greenMail = new GreenMail(new ServerSetup(port, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        greenMail.start();
+        System.out.println("SMTP stub listening on port " + port);
+        return new SmtpStub(greenMail, port);
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int receivedCount() {
+        return greenMail.getReceivedMessages().length;
+    }
+
+    @Override
+    public void close() {
+        greenMail.stop();
+    }
+}
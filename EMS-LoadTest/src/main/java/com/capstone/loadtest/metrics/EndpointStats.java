@@ -0,0 +1,78 @@
+package com.capstone.loadtest.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one endpoint. Latencies are measured from
+ * the scheduled arrival time, so time spent queued behind a slow server is included.
+ */
+public class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String endpoint;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorReasons = new ConcurrentHashMap<>();
+
+    public EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public void success(long latencyNanos) {
+        requests.increment();
+        recordLatency(latencyNanos);
+    }
+
+    // A request that was sent and failed still took this long: timeouts and resets belong in the tail
+    public void failure(long latencyNanos, String reason) {
+        count(reason);
+        recordLatency(latencyNanos);
+    }
+
+    // A request that was never sent (the client was saturated) has no latency to record
+    public void failure(String reason) {
+        count(reason);
+    }
+
+    private void count(String reason) {
+        requests.increment();
+        errors.increment();
+        errorReasons.computeIfAbsent(reason, r -> new LongAdder()).increment();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        latencies.recordValue(Math.min(micros, MAX_TRACKABLE_MICROS));
+    }
+
+    public EndpointSummary summarize(double seconds) {
+        long total = requests.sum();
+        long failed = errors.sum();
+        Map<String, Long> reasons = new TreeMap<>();
+        errorReasons.forEach((reason, count) -> reasons.put(reason, count.sum()));
+
+        return new EndpointSummary(
+                endpoint,
+                total,
+                failed,
+                total == 0 ? 0 : (double) failed / total,
+                seconds > 0 ? total / seconds : 0,
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getMaxValue()),
+                reasons);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
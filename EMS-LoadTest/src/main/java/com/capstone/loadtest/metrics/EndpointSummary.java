@@ -0,0 +1,14 @@
+package com.capstone.loadtest.metrics;
+
+import java.util.Map;
+
+public record EndpointSummary(String endpoint,
+                              long requests,
+                              long errors,
+                              double errorRate,
+                              double throughputPerSecond,
+                              double p50Ms,
+                              double p99Ms,
+                              double maxMs,
+                              Map<String, Long> errorReasons) {
+}
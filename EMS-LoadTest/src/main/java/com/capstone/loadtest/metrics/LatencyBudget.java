@@ -0,0 +1,34 @@
+package com.capstone.loadtest.metrics;
+
+import com.capstone.loadtest.LoadTestConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * p99 latency and error-rate ceiling for one endpoint:
+ * {@code budget.<endpoint>.*}, falling back to {@code budget.default.*}.
+ */
+public record LatencyBudget(double p99Ms, double maxErrorRate) {
+
+    public static LatencyBudget forEndpoint(LoadTestConfig config, String endpoint) {
+        return new LatencyBudget(
+                Double.parseDouble(config.get("budget." + endpoint + ".p99-ms", config.get("budget.default.p99-ms"))),
+                Double.parseDouble(config.get("budget." + endpoint + ".max-error-rate",
+                        config.get("budget.default.max-error-rate"))));
+    }
+
+    public List<String> violations(EndpointSummary summary) {
+        List<String> violations = new ArrayList<>();
+        if (summary.p99Ms() > p99Ms) {
+            violations.add(String.format(Locale.ROOT, "%s: p99 %.1f ms exceeds budget of %.1f ms",
+                    summary.endpoint(), summary.p99Ms(), p99Ms));
+        }
+        if (summary.errorRate() > maxErrorRate) {
+            violations.add(String.format(Locale.ROOT, "%s: error rate %.2f%% exceeds budget of %.2f%%",
+                    summary.endpoint(), summary.errorRate() * 100, maxErrorRate * 100));
+        }
+        return violations;
+    }
+}
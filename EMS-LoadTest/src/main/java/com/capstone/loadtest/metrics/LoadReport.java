@@ -0,0 +1,71 @@
+package com.capstone.loadtest.metrics;
+
+import com.capstone.loadtest.LoadTestConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/** Per-endpoint results of the measured phase, checked against the configured budgets. */
+public record LoadReport(Map<String, Object> settings,
+                         List<EndpointSummary> endpoints,
+                         int mailsReceived,
+                         List<String> violations) {
+
+    public static LoadReport evaluate(LoadTestConfig config, LoadStats stats, double measuredSeconds, int mailsReceived) {
+        List<EndpointSummary> endpoints = stats.summarize(measuredSeconds);
+        List<String> violations = new ArrayList<>();
+        for (EndpointSummary summary : endpoints) {
+            violations.addAll(LatencyBudget.forEndpoint(config, summary.endpoint()).violations(summary));
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", config.getDouble("rate"));
+        settings.put("durationSeconds", config.getLong("duration-seconds"));
+        settings.put("employees", config.getInt("employees"));
+        settings.put("experiencePerEmployee", config.getInt("experience-per-employee"));
+        settings.put("virtualThreads", config.getBoolean("virtual-threads"));
+        settings.put("gatewayCache", config.getBoolean("gateway-cache"));
+
+        return new LoadReport(settings, endpoints, mailsReceived, violations);
+    }
+
+    public boolean passed() {
+        return violations.isEmpty();
+    }
+
+    public void print() {
+        System.out.println();
+        System.out.printf("%-18s %9s %9s %8s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "max ms");
+        for (EndpointSummary e : endpoints) {
+            System.out.printf(Locale.ROOT, "%-18s %9d %9.1f %7.2f%% %10.1f %10.1f %10.1f%n",
+                    e.endpoint(), e.requests(), e.throughputPerSecond(), e.errorRate() * 100,
+                    e.p50Ms(), e.p99Ms(), e.maxMs());
+            e.errorReasons().forEach((reason, count) -> System.out.printf("    %s x%d%n", reason, count));
+        }
+        System.out.println("Mails received by the SMTP stub: " + mailsReceived);
+
+        if (passed()) {
+            System.out.println("All endpoints within budget");
+        } else {
+            System.err.println("Budget breached:");
+            violations.forEach(v -> System.err.println("  " + v));
+        }
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+        System.out.println("Report written to " + file);
+    }
+}
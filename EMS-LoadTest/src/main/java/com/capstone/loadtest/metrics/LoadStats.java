@@ -0,0 +1,22 @@
+package com.capstone.loadtest.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Per-endpoint statistics for one phase of the run (warm-up or measurement). */
+public class LoadStats {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public EndpointStats endpoint(String name) {
+        return endpoints.computeIfAbsent(name, EndpointStats::new);
+    }
+
+    public List<EndpointSummary> summarize(double seconds) {
+        return endpoints.values().stream()
+                .map(stats -> stats.summarize(seconds))
+                .sorted((a, b) -> a.endpoint().compareTo(b.endpoint()))
+                .toList();
+    }
+}
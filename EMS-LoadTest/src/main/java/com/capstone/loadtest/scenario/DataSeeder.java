@@ -0,0 +1,147 @@
+package com.capstone.loadtest.scenario;
+
+import com.capstone.loadtest.LoadTestConfig;
+import com.capstone.loadtest.client.GatewayClient;
+import com.capstone.loadtest.scenario.SeedData.SeededEmployee;
+import com.capstone.loadtest.scenario.SeedData.SeededExperience;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Seeds employees through the bulk import endpoint and their experience through the batch
+ * endpoint, then signs in a pool of users. Goes through the gateway like any client.
+ */
+public class DataSeeder {
+
+    // Stays under ems.employees.import.max-rows
+    private static final int IMPORT_ROWS_PER_UPLOAD = 5000;
+    private static final int EXPERIENCE_SEED_THREADS = 16;
+    private static final int USER_SESSIONS = 50;
+
+    private static final String[] DESIGNATIONS = {"Developer", "Tester", "Analyst", "Manager", "Designer"};
+    private static final String[] TECH_STACKS = {"Java", "Spring", "React", "SQL", "Docker", "AWS", "Python", "Kotlin"};
+
+    private final GatewayClient client;
+    private final int employeeCount;
+    private final int experiencePerEmployee;
+
+    public DataSeeder(GatewayClient client, LoadTestConfig config) {
+        this.client = client;
+        this.employeeCount = config.getInt("employees");
+        this.experiencePerEmployee = config.getInt("experience-per-employee");
+    }
+
+    public SeedData seed() throws IOException, InterruptedException, ExecutionException {
+        long started = System.nanoTime();
+        String adminToken = login("admin", "admin123", "admin");
+
+        List<SeededEmployee> employees = importEmployees(adminToken);
+        employees = addExperience(adminToken, employees);
+        List<String> userTokens = signInUsers(employees);
+
+        System.out.printf("Seeded %d employees with %d experience rows each in %.1fs%n",
+                employees.size(), experiencePerEmployee, (System.nanoTime() - started) / 1e9);
+        return new SeedData(adminToken, employees, userTokens);
+    }
+
+    private String login(String username, String password, String role) throws IOException, InterruptedException {
+        JsonNode response = client.callJson("POST", "/ems/auth/" + role + "/login", null,
+                Map.of("username", username, "password", password));
+        return response.path("token").asText();
+    }
+
+    private List<SeededEmployee> importEmployees(String adminToken) throws IOException, InterruptedException {
+        List<SeededEmployee> employees = new ArrayList<>(employeeCount);
+        for (int from = 0; from < employeeCount; from += IMPORT_ROWS_PER_UPLOAD) {
+            int to = Math.min(employeeCount, from + IMPORT_ROWS_PER_UPLOAD);
+
+            StringBuilder csv = new StringBuilder("name,email,designation,salary,birthDate,role\n");
+            for (int i = from; i < to; i++) {
+                csv.append("Load User ").append(i)
+                        .append(",loaduser").append(i).append("@ems.test,")
+                        .append(DESIGNATIONS[i % DESIGNATIONS.length]).append(',')
+                        .append(30_000 + (i % 100) * 1_000).append(',')
+                        .append(birthDate(i)).append(",USER\n");
+            }
+
+            JsonNode report = client.call("POST", "/ems/api/employees/import", adminToken, "text/csv", csv.toString());
+            if (report.path("failed").asInt() > 0) {
+                throw new IllegalStateException("Seed import rejected rows (run against a fresh database): " + report);
+            }
+            for (JsonNode row : report.path("rows")) {
+                int index = from + row.path("row").asInt() - 1;
+                String username = row.path("username").asText();
+                // Default password from the import: username + "$$" + two-digit day of birth
+                String password = username + "$$" + String.format("%02d", birthDate(index).getDayOfMonth());
+                employees.add(new SeededEmployee(row.path("employeeId").asLong(), username, password, List.of()));
+            }
+        }
+        return employees;
+    }
+
+    private List<SeededEmployee> addExperience(String adminToken, List<SeededEmployee> employees)
+            throws InterruptedException, ExecutionException {
+        if (experiencePerEmployee <= 0) {
+            return employees;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(EXPERIENCE_SEED_THREADS);
+        try {
+            List<Future<SeededEmployee>> futures = new ArrayList<>(employees.size());
+            for (SeededEmployee employee : employees) {
+                futures.add(pool.submit(() -> withExperience(adminToken, employee)));
+            }
+            List<SeededEmployee> seeded = new ArrayList<>(employees.size());
+            for (Future<SeededEmployee> future : futures) {
+                seeded.add(future.get());
+            }
+            return seeded;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private SeededEmployee withExperience(String adminToken, SeededEmployee employee)
+            throws IOException, InterruptedException {
+        List<Map<String, Object>> operations = new ArrayList<>();
+        for (int i = 0; i < experiencePerEmployee; i++) {
+            operations.add(Map.of(
+                    "op", "ADD",
+                    "techStack", TECH_STACKS[(int) ((employee.id() + i) % TECH_STACKS.length)],
+                    "company", "Company " + i,
+                    "years", 1 + i % 5));
+        }
+
+        JsonNode response = client.callJson("POST", "/experience/api/experience/batch", adminToken,
+                Map.of("employeeId", employee.id(), "operations", operations));
+
+        List<SeededExperience> experience = new ArrayList<>();
+        for (JsonNode row : response.path("experience")) {
+            experience.add(new SeededExperience(row.path("id").asLong(),
+                    row.path("techStack").asText(), row.path("company").asText()));
+        }
+        return new SeededEmployee(employee.id(), employee.username(), employee.password(), experience);
+    }
+
+    private List<String> signInUsers(List<SeededEmployee> employees) throws IOException, InterruptedException {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < Math.min(USER_SESSIONS, employees.size()); i++) {
+            SeededEmployee employee = employees.get(i);
+            tokens.add(login(employee.username(), employee.password(), "user"));
+        }
+        return tokens;
+    }
+
+    private static LocalDate birthDate(int index) {
+        return LocalDate.of(1970 + index % 30, 1 + index % 12, 1 + index % 28);
+    }
+}
@@ -0,0 +1,141 @@
+package com.capstone.loadtest.scenario;
+
+import com.capstone.loadtest.client.GatewayClient;
+import com.capstone.loadtest.metrics.EndpointStats;
+import com.capstone.loadtest.metrics.LoadStats;
+import com.capstone.loadtest.scenario.SeedData.SeededEmployee;
+import com.capstone.loadtest.scenario.SeedData.SeededExperience;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts scenarios at a fixed arrival rate regardless of how fast earlier ones complete
+ * (open workload model), each on its own virtual thread. Latency is measured from the
+ * scheduled start, so a backed-up server shows up in the percentiles instead of quietly
+ * lowering the offered load.
+ */
+public class OpenModelDriver {
+
+    private final GatewayClient client;
+    private final SeedData seed;
+    private final ScenarioMix mix;
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OpenModelDriver(GatewayClient client, SeedData seed, ScenarioMix mix, int maxInFlight) {
+        this.client = client;
+        this.seed = seed;
+        this.mix = mix;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /** Runs warm-up then measurement; returns the statistics of the measurement phase only. */
+    public LoadStats run(double ratePerSecond, Duration warmup, Duration duration) throws InterruptedException {
+        LoadStats warmupStats = new LoadStats();
+        LoadStats measuredStats = new LoadStats();
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        System.out.printf("Driving %.1f scenarios/s: %ds warm-up, %ds measured%n",
+                ratePerSecond, warmup.toSeconds(), duration.toSeconds());
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended - end >= 0) {
+                    break;
+                }
+                sleepUntil(intended);
+
+                LoadStats stats = intended - measureFrom < 0 ? warmupStats : measuredStats;
+                Scenario scenario = mix.pick(ThreadLocalRandom.current().nextDouble());
+
+                if (inFlight.incrementAndGet() > maxInFlight) {
+                    inFlight.decrementAndGet();
+                    stats.endpoint(scenario.endpoint()).failure("client saturated");
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        execute(scenario, intended, stats.endpoint(scenario.endpoint()));
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            // Let in-flight requests finish (bounded by the client's request timeout)
+            executor.awaitTermination(2, TimeUnit.MINUTES);
+        }
+        return measuredStats;
+    }
+
+    private void execute(Scenario scenario, long intendedStart, EndpointStats stats) {
+        try {
+            HttpResponse<String> response = send(scenario, ThreadLocalRandom.current());
+            long latency = System.nanoTime() - intendedStart;
+            if (response.statusCode() / 100 == 2) {
+                stats.success(latency);
+            } else {
+                stats.failure(latency, "HTTP " + response.statusCode());
+            }
+        } catch (HttpTimeoutException e) {
+            stats.failure(System.nanoTime() - intendedStart, "timeout");
+        } catch (IOException e) {
+            stats.failure(System.nanoTime() - intendedStart, e.getClass().getSimpleName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.failure(System.nanoTime() - intendedStart, "interrupted");
+        } catch (RuntimeException e) {
+            stats.failure(System.nanoTime() - intendedStart, e.getClass().getSimpleName());
+        }
+    }
+
+    private HttpResponse<String> send(Scenario scenario, ThreadLocalRandom random)
+            throws IOException, InterruptedException {
+        SeededEmployee employee = seed.employees().get(random.nextInt(seed.employees().size()));
+
+        switch (scenario) {
+            case LOGIN:
+                return client.exchangeJson("POST", "/ems/auth/user/login", null,
+                        Map.of("username", employee.username(), "password", employee.password()));
+            case LIST_EMPLOYEES:
+                String userToken = seed.userTokens().get(random.nextInt(seed.userTokens().size()));
+                return client.exchangeJson("GET", "/ems/api/employees?size=50", userToken, null);
+            case OPEN_EMPLOYEE:
+                return client.exchangeJson("GET", "/bff/employees/" + employee.id(), seed.adminToken(), null);
+            case EDIT_EXPERIENCE:
+                SeededExperience experience = employee.experience().get(random.nextInt(employee.experience().size()));
+                return client.exchangeJson("PUT", "/experience/api/experience/" + experience.id(), seed.adminToken(),
+                        Map.of("employeeId", employee.id(),
+                                "techStack", experience.techStack(),
+                                "company", experience.company(),
+                                "years", 1 + random.nextInt(10)));
+            default:
+                throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        }
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
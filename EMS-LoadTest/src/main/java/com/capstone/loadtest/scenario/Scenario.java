@@ -0,0 +1,24 @@
+package com.capstone.loadtest.scenario;
+
+/** Dashboard interactions driven by the load test; each is one request through the gateway. */
+public enum Scenario {
+
+    // POST /ems/auth/user/login as a seeded user
+    LOGIN("login"),
+    // GET /ems/api/employees?size=50 with a user token
+    LIST_EMPLOYEES("list-employees"),
+    // GET /bff/employees/{id}: employee + experience + summary, with the admin token
+    OPEN_EMPLOYEE("open-employee"),
+    // PUT /experience/api/experience/{id} with the admin token (editing is admin-only)
+    EDIT_EXPERIENCE("edit-experience");
+
+    private final String endpoint;
+
+    Scenario(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,48 @@
+package com.capstone.loadtest.scenario;
+
+import com.capstone.loadtest.LoadTestConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Picks scenarios in proportion to their {@code scenario.<endpoint>.weight}. */
+public class ScenarioMix {
+
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private final double[] cumulative;
+
+    public ScenarioMix(LoadTestConfig config) {
+        List<Double> weights = new ArrayList<>();
+        for (Scenario scenario : Scenario.values()) {
+            double weight = Double.parseDouble(config.get("scenario." + scenario.endpoint() + ".weight", "0"));
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for scenario " + scenario.endpoint());
+            }
+            if (weight > 0) {
+                scenarios.add(scenario);
+                weights.add(weight);
+            }
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("No scenario has a positive weight");
+        }
+
+        double total = weights.stream().mapToDouble(Double::doubleValue).sum();
+        cumulative = new double[weights.size()];
+        double running = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            running += weights.get(i) / total;
+            cumulative[i] = running;
+        }
+    }
+
+    /** @param random uniform in [0, 1) */
+    public Scenario pick(double random) {
+        for (int i = 0; i < cumulative.length; i++) {
+            if (random < cumulative[i]) {
+                return scenarios.get(i);
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+}
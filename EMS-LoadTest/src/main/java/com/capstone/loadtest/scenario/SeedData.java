@@ -0,0 +1,16 @@
+package com.capstone.loadtest.scenario;
+
+import java.util.List;
+
+/**
+ * What the seeder created: the admin token, one entry per employee and a pool of
+ * already-signed-in user tokens for the read scenarios.
+ */
+public record SeedData(String adminToken, List<SeededEmployee> employees, List<String> userTokens) {
+
+    public record SeededEmployee(long id, String username, String password, List<SeededExperience> experience) {
+    }
+
+    public record SeededExperience(long id, String techStack, String company) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.capstone.loadtest.metrics;
+
+import com.capstone.loadtest.LoadTestConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyBudgetTest {
+
+    private final LoadTestConfig config = LoadTestConfig.load(
+            "budget.default.p99-ms=200", "budget.default.max-error-rate=0.01", "budget.login.p99-ms=1000");
+
+    @Test
+    void forEndpoint_FallsBackToDefault() {
+        assertEquals(new LatencyBudget(1000, 0.01), LatencyBudget.forEndpoint(config, "login"));
+        assertEquals(new LatencyBudget(200, 0.01), LatencyBudget.forEndpoint(config, "list-employees"));
+    }
+
+    @Test
+    void violations_WithinBudget_None() {
+        EndpointSummary summary = summary("list-employees", 150.0, 0.0);
+
+        assertTrue(LatencyBudget.forEndpoint(config, "list-employees").violations(summary).isEmpty());
+    }
+
+    @Test
+    void violations_LatencyAndErrorsOverBudget_BothReported() {
+        EndpointSummary summary = summary("list-employees", 250.0, 0.05);
+
+        List<String> violations = LatencyBudget.forEndpoint(config, "list-employees").violations(summary);
+
+        assertEquals(List.of(
+                "list-employees: p99 250.0 ms exceeds budget of 200.0 ms",
+                "list-employees: error rate 5.00% exceeds budget of 1.00%"), violations);
+    }
+
+    @Test
+    void endpointStats_Summarize_ComputesRatesAndPercentiles() {
+        EndpointStats stats = new EndpointStats("open-employee");
+        for (int i = 1; i <= 99; i++) {
+            stats.success(i * 1_000_000L);
+        }
+        stats.failure(120_000_000L, "timeout");
+        stats.failure("client saturated");
+
+        EndpointSummary summary = stats.summarize(10);
+
+        assertEquals(101, summary.requests());
+        assertEquals(2, summary.errors());
+        assertEquals(2.0 / 101, summary.errorRate(), 1e-9);
+        assertEquals(10.1, summary.throughputPerSecond(), 1e-9);
+        assertEquals(50.0, summary.p50Ms(), 0.1);
+        // The timed-out request is in the latency tail
+        assertEquals(120.0, summary.maxMs(), 0.1);
+        assertEquals(Map.of("timeout", 1L, "client saturated", 1L), summary.errorReasons());
+    }
+
+    private static EndpointSummary summary(String endpoint, double p99Ms, double errorRate) {
+        return new EndpointSummary(endpoint, 1000, (long) (errorRate * 1000), errorRate, 100, p99Ms / 2, p99Ms,
+                p99Ms * 2, Map.of());
+    }
+}
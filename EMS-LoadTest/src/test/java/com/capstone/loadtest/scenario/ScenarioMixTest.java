@@ -0,0 +1,39 @@
+package com.capstone.loadtest.scenario;
+
+import com.capstone.loadtest.LoadTestConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioMixTest {
+
+    @Test
+    void pick_FollowsWeights() {
+        ScenarioMix mix = new ScenarioMix(LoadTestConfig.load(
+                "scenario.login.weight=1", "scenario.list-employees.weight=3",
+                "scenario.open-employee.weight=0", "scenario.edit-experience.weight=0"));
+
+        assertEquals(Scenario.LOGIN, mix.pick(0.0));
+        assertEquals(Scenario.LOGIN, mix.pick(0.24));
+        assertEquals(Scenario.LIST_EMPLOYEES, mix.pick(0.25));
+        assertEquals(Scenario.LIST_EMPLOYEES, mix.pick(0.999));
+    }
+
+    @Test
+    void pick_ZeroWeightScenarioNeverChosen() {
+        ScenarioMix mix = new ScenarioMix(LoadTestConfig.load(
+                "scenario.login.weight=0", "scenario.list-employees.weight=0",
+                "scenario.open-employee.weight=2", "scenario.edit-experience.weight=0"));
+
+        for (double r = 0; r < 1; r += 0.05) {
+            assertEquals(Scenario.OPEN_EMPLOYEE, mix.pick(r));
+        }
+    }
+
+    @Test
+    void constructor_NoPositiveWeight_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ScenarioMix(LoadTestConfig.load(
+                "scenario.login.weight=0", "scenario.list-employees.weight=0",
+                "scenario.open-employee.weight=0", "scenario.edit-experience.weight=0")));
+    }
+}